@@ -21,6 +21,7 @@ import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 
+import net.kaczmarzyk.spring.data.jpa.utils.ConversionResult;
 import net.kaczmarzyk.spring.data.jpa.utils.Converter;
 import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
 
@@ -44,7 +45,7 @@ import java.util.Objects;
  * @author Tomasz Kaczmarzyk
  * @author TP Diffenbach
  */
-public class Between<T> extends PathSpecification<T> {
+public class Between<T> extends PathSpecification<T> implements TypeMismatchAware<T> {
 
 	private static final long serialVersionUID = 1L;
 
@@ -62,16 +63,23 @@ public class Between<T> extends PathSpecification<T> {
         this.upperBoundaryStr = args[1];
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+		return toPredicateOrRejection(root, query, criteriaBuilder).getOrThrow();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public ConversionResult<Predicate> toPredicateOrRejection(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
 		Expression<Comparable<Object>> targetExpression = path(root);
 		Class<?> typeOnPath = targetExpression.getJavaType();
 		
-		Comparable<Object> lowerBoundary = (Comparable<Object>) converter.convert(lowerBoundaryStr, typeOnPath);
-		Comparable<Object> upperBoundary = (Comparable<Object>) converter.convert(upperBoundaryStr, typeOnPath);
+		ConversionResult<?> lowerBoundary = converter.tryConvert(lowerBoundaryStr, typeOnPath);
+		ConversionResult<?> upperBoundary = converter.tryConvert(upperBoundaryStr, typeOnPath);
 		
-		return criteriaBuilder.between(targetExpression, lowerBoundary, upperBoundary);
+		return lowerBoundary.flatMap(lower -> upperBoundary.map(upper -> withValues(criteriaBuilder, targetExpression,
+				(Comparable<Object>) lower, (Comparable<Object>) upper,
+				(l, u) -> criteriaBuilder.between(targetExpression, l, u))));
 	}
 
 	@Override
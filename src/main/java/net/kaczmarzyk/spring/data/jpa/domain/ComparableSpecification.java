@@ -24,6 +24,7 @@ import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 
+import net.kaczmarzyk.spring.data.jpa.utils.ConversionResult;
 import net.kaczmarzyk.spring.data.jpa.utils.Converter;
 import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
 
@@ -35,7 +36,7 @@ import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
  * @author Tomasz Kaczmarzyk
  * @author TP Diffenbach
  */
-public abstract class ComparableSpecification<T> extends PathSpecification<T> {
+public abstract class ComparableSpecification<T> extends PathSpecification<T> implements TypeMismatchAware<T> {
 
 	private static final long serialVersionUID = 1L;
 	
@@ -51,14 +52,19 @@ public abstract class ComparableSpecification<T> extends PathSpecification<T> {
 		this.converter = converter;
 	}
 	
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+		return toPredicateOrRejection(root, query, cb).getOrThrow();
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Override
+	public ConversionResult<Predicate> toPredicateOrRejection(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
 		Expression<?> rootPath = path(root);
 		Class<?> typeOnPath = rootPath.getJavaType();
 
-		return makePredicate(cb, (Expression<? extends Comparable>) rootPath, 
-				(Comparable) converter.convert(comparedTo, typeOnPath));
+		return converter.tryConvert(comparedTo, typeOnPath)
+				.map(value -> makePredicate(cb, (Expression<? extends Comparable>) rootPath, (Comparable) value));
 		
 		//  the line below actually works (!), if Y doesn't need to extend Comparable. --tpd
 		//return this.makePredicate(cb, rootPath.as(typeOnPath.asSubclass(typeOnPath)), 
@@ -23,10 +23,14 @@ import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import java.util.*;
 
-import static java.util.stream.Collectors.toList;
-
 /**
- * Helper for easier joining lists of specs with {@code AND} operator
+ * <p>Helper for easier joining lists of specs with {@code AND} operator</p>
+ *
+ * <p>Inner specs of nested conjunctions (e.g. resulting from nested annotations or from interface inheritance)
+ * are rendered as a single n-ary {@code AND} and equal specs are rendered only once (the flattened list of specs is computed
+ * once and reused for subsequent queries, e.g. for both the select and the count query of a page).
+ * Specs referencing a join with {@code JoinStrategy.EXISTS} are rendered into a correlated {@code EXISTS} subquery
+ * (see {@link SemiJoins}).</p>
  *
  * @author Tomasz Kaczmarzyk
  */
@@ -34,18 +38,9 @@ public class Conjunction<T> implements Specification<T>, FakeSpecWrapper<T> {
 
 	private static final long serialVersionUID = 1L;
 
-	private Collection<Specification<T>> innerSpecs;
-
-	/**
-	 * In case of paged search, method {@link #toPredicate(Root, CriteriaQuery, CriteriaBuilder)}
-	 * will be executed on the same object in two different contexts.
-	 *
-	 * The first time during standard search.
-	 * The second time during count(*) query which is executed for paging purposes.
-	 *
-	 * Fakes should be initialized in both.
-	 */
-	private Set<CriteriaQuery<?>> queriesWithInitializedFakes = new HashSet<>();
+	private final Collection<Specification<T>> innerSpecs;
+	private transient List<Specification<T>> conjuncts;
+	private transient int cachedHashCode;
 
 	@SafeVarargs
 	public Conjunction(Specification<T>... innerSpecs) {
@@ -54,40 +49,108 @@ public class Conjunction<T> implements Specification<T>, FakeSpecWrapper<T> {
 
 	public Conjunction(Collection<Specification<T>> innerSpecs) {
 		this.innerSpecs = innerSpecs;
+		this.cachedHashCode = calculateHashCode();
 	}
 
+	/**
+	 * In case of paged search, method {@link #toPredicate(Root, CriteriaQuery, CriteriaBuilder)}
+	 * will be executed on the same object in two different contexts.
+	 *
+	 * The first time during standard search.
+	 * The second time during count(*) query which is executed for paging purposes.
+	 *
+	 * Fakes should be initialized in both, but only once per query (which is tracked per query root by the query context
+	 * of each fake, so that the spec can be reused for any number of queries).
+	 */
 	@SuppressWarnings("unchecked")
 	@Override
 	public void initializeFakes(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
-		if (!queriesWithInitializedFakes.contains(query)) {
-			for (Specification<T> spec : innerSpecs) {
-				if (spec instanceof FakeSpecWrapper) {
-					((FakeSpecWrapper<T>) spec).initializeFakes(root, query, cb);
-				}
-				if (spec instanceof Fake) {
-					spec.toPredicate(root, query, cb);
-					continue;
-				}
+		for (Specification<T> spec : innerSpecs) {
+			if (spec instanceof FakeSpecWrapper) {
+				((FakeSpecWrapper<T>) spec).initializeFakes(root, query, cb);
+			}
+			if (spec instanceof Fake && !((Fake) spec).alreadyInitialized(root)) {
+				spec.toPredicate(root, query, cb);
 			}
 		}
-		queriesWithInitializedFakes.add(query);
 	}
 
 	@Override
 	public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
     	initializeFakes(root, query, cb);
 
-		return cb.and(
-				innerSpecs.stream()
-						.filter(spec -> !(spec instanceof Fake))
-						.map(spec -> spec.toPredicate(root, query, cb))
-						.filter(Objects::nonNull)
-						.collect(toList()).toArray(new Predicate[]{})
-		);
+		List<Predicate> predicates = SemiJoins.toPredicates(conjuncts(), root, query, cb, false);
+		applyDistinct(innerSpecs, root, query);
+		return cb.and(predicates.toArray(new Predicate[0]));
 	}
 
+	/**
+	 * Joins are evaluated lazily (only when used by some spec), so whether the query should be distinct
+	 * can be decided only after the predicates are rendered
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> void applyDistinct(Collection<Specification<T>> specs, Root<T> root, CriteriaQuery<?> query) {
+		for (Specification<T> spec : specs) {
+			if (spec instanceof Fake) {
+				((Fake) spec).applyDistinct(root, query);
+			} else if (spec instanceof Conjunction) {
+				applyDistinct(((Conjunction<T>) spec).innerSpecs, root, query);
+			}
+		}
+	}
+
+	Collection<Specification<T>> innerSpecs() {
+		return innerSpecs;
+	}
+
+	/**
+	 * The inner specs are not modified once the conjunction is resolved, so they are flattened only once
+	 * (concurrent first calls may flatten them more than once, with the same result)
+	 */
+	private List<Specification<T>> conjuncts() {
+		List<Specification<T>> result = conjuncts;
+		if (result == null) {
+			Set<Specification<T>> collected = new LinkedHashSet<>();
+			collectConjuncts(innerSpecs, collected);
+			result = new ArrayList<>(collected);
+			conjuncts = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Fakes are skipped, as they are already initialized by {@link #initializeFakes(Root, CriteriaQuery, CriteriaBuilder)}
+	 * (which also initializes fakes of nested conjunctions).
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> void collectConjuncts(Collection<Specification<T>> specs, Set<Specification<T>> conjuncts) {
+		for (Specification<T> spec : specs) {
+			if (spec instanceof Fake) {
+				continue;
+			}
+			if (spec.getClass() == Conjunction.class) {
+				collectConjuncts(((Conjunction<T>) spec).innerSpecs, conjuncts);
+			} else {
+				conjuncts.add(spec);
+			}
+		}
+	}
+
+	/**
+	 * The hash code of the inner specs is computed once, when the spec is created (the inner specs are complete by then),
+	 * and reused e.g. by each lookup of the spec as a cache key. It is recomputed only if the spec has been deserialized.
+	 */
 	@Override
 	public int hashCode() {
+		int result = cachedHashCode;
+		if (result == 0) {
+			result = calculateHashCode();
+			cachedHashCode = result;
+		}
+		return result;
+	}
+
+	private int calculateHashCode() {
 		return Objects.hash(innerSpecs);
 	}
 
@@ -15,9 +15,13 @@
  */
 package net.kaczmarzyk.spring.data.jpa.domain;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
@@ -28,7 +32,15 @@ import org.springframework.data.jpa.domain.Specification;
 
 
 /**
- * Helper for easier joining lists of specs with {@code OR} operator
+ * <p>Helper for easier joining lists of specs with {@code OR} operator</p>
+ *
+ * <p>Inner specs of nested disjunctions are rendered as a single n-ary {@code OR} and equal specs are rendered only once.
+ * {@link Equal} specs on the same path (with the default handling of type mismatch) are merged into a single {@link In},
+ * e.g. {@code firstName = 'Homer' or firstName = 'Marge'} is rendered as {@code firstName in ('Homer', 'Marge')}.
+ * The flattened and merged list of specs is computed once and reused for subsequent queries
+ * (e.g. for both the select and the count query of a page).
+ * Specs referencing a join with {@code JoinStrategy.EXISTS} are rendered into a correlated {@code EXISTS} subquery
+ * (see {@link SemiJoins}).</p>
  * 
  * @author Tomasz Kaczmarzyk
  */
@@ -36,7 +48,10 @@ public class Disjunction<T> implements Specification<T> {
 
 	private static final long serialVersionUID = 1L;
 	
-	private Collection<Specification<T>> innerSpecs;
+	private final Collection<Specification<T>> innerSpecs;
+	private final InListOptions inListOptions;
+	private transient List<Specification<T>> disjuncts;
+	private transient int cachedHashCode;
     
     
     @SafeVarargs
@@ -45,25 +60,144 @@ public class Disjunction<T> implements Specification<T> {
     }
     
     public Disjunction(Collection<Specification<T>> innerSpecs) {
+        this(InListOptions.DEFAULT, innerSpecs);
+    }
+
+    /**
+     * @param inListOptions options of the {@code In}s which replace the merged {@code Equal}s (e.g. the defaults of the resolver),
+     *                      so that they are rendered the same way as the other IN lists of the application
+     */
+    public Disjunction(InListOptions inListOptions, Collection<Specification<T>> innerSpecs) {
         this.innerSpecs = innerSpecs;
+        this.inListOptions = inListOptions;
+        this.cachedHashCode = calculateHashCode();
     }
     
     @Override
     public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
-        Specification<T> combinedSpecs = null;
-        for (Specification<T> spec : innerSpecs) {
-            if (combinedSpecs == null) {
-                combinedSpecs = Specification.where(spec);
+        List<Predicate> predicates = SemiJoins.toPredicates(disjuncts(), root, query, cb, true);
+        if (predicates.isEmpty()) {
+            return null;
+        }
+        return predicates.size() == 1 ? predicates.get(0) : cb.or(predicates.toArray(new Predicate[0]));
+    }
+
+    Collection<Specification<T>> innerSpecs() {
+        return innerSpecs;
+    }
+
+    /**
+     * The inner specs are not modified once the disjunction is resolved, so they are flattened and merged only once
+     * (concurrent first calls may do it more than once, with the same result)
+     */
+    private List<Specification<T>> disjuncts() {
+        List<Specification<T>> result = disjuncts;
+        if (result == null) {
+            Set<Specification<T>> collected = new LinkedHashSet<>();
+            collectDisjuncts(innerSpecs, collected);
+            result = mergeEquals(collected, inListOptions);
+            disjuncts = result;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void collectDisjuncts(Collection<Specification<T>> specs, Set<Specification<T>> disjuncts) {
+        for (Specification<T> spec : specs) {
+            if (spec.getClass() == Disjunction.class) {
+                collectDisjuncts(((Disjunction<T>) spec).innerSpecs, disjuncts);
             } else {
-                combinedSpecs = combinedSpecs.or(spec);
+                disjuncts.add(spec);
             }
         }
-        return combinedSpecs.toPredicate(root, query, cb);
     }
 
+    /**
+     * Only {@code Equal}s wrapped with {@link EmptyResultOnTypeMismatch} (i.e. the default handling of type mismatch) are merged,
+     * as a value rejected by the converter results in an always-false disjunct, which is equivalent to skipping the value in {@code In}.
+     * The merged {@code In} is placed at the position of the first merged {@code Equal}.
+     */
+    private static <T> List<Specification<T>> mergeEquals(Collection<Specification<T>> disjuncts, InListOptions inListOptions) {
+        List<Specification<T>> result = new ArrayList<>(disjuncts);
+        List<MergedEquals<T>> mergedEquals = null;
+        for (int i = 0; i < result.size(); i++) {
+            Equal<T> equal = mergeableEqual(result.get(i));
+            if (equal == null) {
+                continue;
+            }
+            if (mergedEquals == null) {
+                mergedEquals = new ArrayList<>();
+            }
+            MergedEquals<T> group = findGroup(mergedEquals, equal);
+            if (group == null) {
+                mergedEquals.add(new MergedEquals<>(i, equal));
+            } else {
+                group.values.add(equal.expectedValue);
+                result.set(i, null);
+            }
+        }
+        if (mergedEquals == null) {
+            return result;
+        }
+        for (MergedEquals<T> group : mergedEquals) {
+            if (group.values.size() > 1) {
+                In<T> in = group.first.toIn(group.values.toArray(new String[0]), inListOptions);
+                result.set(group.position, new EmptyResultOnTypeMismatch<>(in));
+            }
+        }
+        result.removeIf(Objects::isNull);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Equal<T> mergeableEqual(Specification<T> spec) {
+        if (spec.getClass() == EmptyResultOnTypeMismatch.class) {
+            Specification<T> wrapped = ((EmptyResultOnTypeMismatch<T>) spec).getWrappedSpec();
+            if (wrapped != null && wrapped.getClass() == Equal.class) {
+                return (Equal<T>) wrapped;
+            }
+        }
+        return null;
+    }
+
+    private static <T> MergedEquals<T> findGroup(List<MergedEquals<T>> mergedEquals, Equal<T> equal) {
+        for (MergedEquals<T> group : mergedEquals) {
+            if (group.first.canBeMergedWith(equal)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private static final class MergedEquals<T> {
+
+        private final int position;
+        private final Equal<T> first;
+        private final List<String> values = new ArrayList<>();
+
+        MergedEquals(int position, Equal<T> first) {
+            this.position = position;
+            this.first = first;
+            this.values.add(first.expectedValue);
+        }
+    }
+
+	/**
+	 * The hash code of the inner specs is computed once, when the spec is created (the inner specs are complete by then),
+	 * and reused e.g. by each lookup of the spec as a cache key. It is recomputed only if the spec has been deserialized.
+	 */
 	@Override
 	public int hashCode() {
-		return Objects.hash(innerSpecs);
+		int result = cachedHashCode;
+		if (result == 0) {
+			result = calculateHashCode();
+			cachedHashCode = result;
+		}
+		return result;
+	}
+
+	private int calculateHashCode() {
+		return Objects.hash(innerSpecs, inListOptions);
 	}
 
 	@Override
@@ -78,11 +212,11 @@ public class Disjunction<T> implements Specification<T> {
 			return false;
 		}
 		Disjunction other = (Disjunction) obj;
-		return Objects.equals(innerSpecs, other.innerSpecs);
+		return Objects.equals(innerSpecs, other.innerSpecs) && Objects.equals(inListOptions, other.inListOptions);
 	}
 
 	@Override
 	public String toString() {
-		return "Disjunction [innerSpecs=" + innerSpecs + "]";
+		return "Disjunction [innerSpecs=" + innerSpecs + ", inListOptions=" + inListOptions + "]";
 	}
 }
@@ -24,6 +24,7 @@ import jakarta.persistence.criteria.Root;
 
 import org.springframework.data.jpa.domain.Specification;
 
+import net.kaczmarzyk.spring.data.jpa.utils.ConversionResult;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.OnTypeMismatch;
 
 /**
@@ -50,15 +51,24 @@ public class EmptyResultOnTypeMismatch<T> implements Specification<T> {
 		this.wrappedSpec = wrappedSpec;
 	}
 	
+	@SuppressWarnings("unchecked")
 	@Override
 	public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
 		try {
+			if (wrappedSpec instanceof TypeMismatchAware) {
+				ConversionResult<Predicate> result = ((TypeMismatchAware<T>) wrappedSpec).toPredicateOrRejection(root, query, cb);
+				return result.isRejected() ? onTypeMismatch(cb) : result.getValue();
+			}
 			return wrappedSpec.toPredicate(root, query, cb);
 		} catch (IllegalArgumentException e) {
-			return cb.equal(cb.literal(0), cb.literal(1));
+			return onTypeMismatch(cb);
 		}
 	}
 
+	protected Predicate onTypeMismatch(CriteriaBuilder cb) {
+		return cb.equal(cb.literal(0), cb.literal(1));
+	}
+
 	public Specification<T> getWrappedSpec() {
 		return wrappedSpec;
 	}
@@ -17,9 +17,11 @@ package net.kaczmarzyk.spring.data.jpa.domain;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 
+import net.kaczmarzyk.spring.data.jpa.utils.ConversionResult;
 import net.kaczmarzyk.spring.data.jpa.utils.Converter;
 import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
 
@@ -33,7 +35,7 @@ import java.util.Objects;
  * 
  * @author Tomasz Kaczmarzyk
  */
-public class Equal<T> extends PathSpecification<T> {
+public class Equal<T> extends PathSpecification<T> implements TypeMismatchAware<T> {
 
 	private static final long serialVersionUID = 1L;
 	
@@ -52,8 +54,28 @@ public class Equal<T> extends PathSpecification<T> {
 	
 	@Override
 	public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
-		Class<?> typeOnPath = path(root).getJavaType();
-		return cb.equal(path(root), converter.convert(expectedValue, typeOnPath));
+		return toPredicateOrRejection(root, query, cb).getOrThrow();
+	}
+
+	@Override
+	public ConversionResult<Predicate> toPredicateOrRejection(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+		Path<?> path = path(root);
+		Class<?> typeOnPath = path.getJavaType();
+		return converter.tryConvert(expectedValue, typeOnPath)
+				.map(value -> withValue(cb, path, value, v -> cb.equal(path, v)));
+	}
+
+	/**
+	 * @return {@code true} if both specs compare the same path with values converted in the same way,
+	 *         so they can be merged into a single {@link In} within a {@link Disjunction}
+	 */
+	boolean canBeMergedWith(Equal<?> other) {
+		return getClass() == Equal.class && other.getClass() == Equal.class
+				&& hasSamePathAs(other) && Objects.equals(converter, other.converter);
+	}
+
+	In<T> toIn(String[] values, InListOptions inListOptions) {
+		return new In<>(queryContext(), path, values, converter, inListOptions);
 	}
 
 	@Override
@@ -59,9 +59,10 @@ public class EqualDay<T> extends PathSpecification<T> {
 		Class<?> typeOnPath = targetExpression.getJavaType();
 
 		Object targetDayDate = converter.convert(expectedDay, typeOnPath);
-		Predicate lowerBoundaryPredicate = criteriaBuilder.greaterThanOrEqualTo(targetExpression, (Comparable<Object>) startOfDay(targetDayDate));
-		Predicate upperBoundaryPredicate = criteriaBuilder.lessThan(targetExpression, (Comparable<Object>) startOfNextDay(targetDayDate));
-		return criteriaBuilder.and(lowerBoundaryPredicate, upperBoundaryPredicate);
+		Comparable<Object> startOfDay = (Comparable<Object>) startOfDay(targetDayDate);
+		Comparable<Object> startOfNextDay = (Comparable<Object>) startOfNextDay(targetDayDate);
+		return withValues(criteriaBuilder, targetExpression, startOfDay, startOfNextDay,
+				(start, end) -> criteriaBuilder.and(criteriaBuilder.greaterThanOrEqualTo(targetExpression, start), criteriaBuilder.lessThan(targetExpression, end)));
 	}
 
 	@Override
@@ -15,11 +15,14 @@
  */
 package net.kaczmarzyk.spring.data.jpa.domain;
 
+import net.kaczmarzyk.spring.data.jpa.utils.ConversionResult;
 import net.kaczmarzyk.spring.data.jpa.utils.Converter;
 import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import java.util.Arrays;
@@ -36,7 +39,7 @@ import java.util.Objects;
  * @author Ricardo Pardinho
  * @author Tomasz Kaczmarzyk
  */
-public class EqualIgnoreCase<T> extends PathSpecification<T> implements LocaleAware {
+public class EqualIgnoreCase<T> extends PathSpecification<T> implements LocaleAware, TypeMismatchAware<T> {
 
     private static final long serialVersionUID = 2L;
 
@@ -55,13 +58,23 @@ public class EqualIgnoreCase<T> extends PathSpecification<T> implements LocaleAw
 
     @Override
     public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return toPredicateOrRejection(root, query, cb).getOrThrow();
+    }
+
+    @Override
+    public ConversionResult<Predicate> toPredicateOrRejection(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
 
-        if (path(root).getJavaType().equals(String.class)) {
-            return cb.equal(cb.upper(this.<String>path(root)), expectedValue.toUpperCase(locale));
+        Path<?> path = path(root);
+        if (path.getJavaType().equals(String.class)) {
+            Expression<String> upperCasePath = cb.upper(this.<String>path(root));
+            String upperCaseValue = expectedValue.toUpperCase(locale);
+            return ConversionResult.converted(withValue(cb, upperCasePath, upperCaseValue,
+                    v -> cb.equal(upperCasePath, v)));
         }
 
-        Class<?> typeOnPath = path(root).getJavaType();
-        return cb.equal(path(root), converter.convert(expectedValue, typeOnPath, true));
+        Class<?> typeOnPath = path.getJavaType();
+        return converter.tryConvert(expectedValue, typeOnPath, true)
+                .map(value -> withValue(cb, path, value, v -> cb.equal(path, v)));
     }
 
     @Override
@@ -15,6 +15,9 @@
  */
 package net.kaczmarzyk.spring.data.jpa.domain;
 
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
 /**
  * Marker interface to tell that a Specification is not a real filter, but rather some logic to modify the query.
  * An example is {@link Join} which creates join objects which might be used by another specs
@@ -23,4 +26,18 @@ package net.kaczmarzyk.spring.data.jpa.domain;
  */
 interface Fake {
 
+	/**
+	 * Makes the query distinct if it is required by the fake and the fake has actually joined a collection to the query.
+	 * As joins are evaluated lazily (only when used by some spec), it is called by {@link Conjunction} after
+	 * all predicates are rendered. It never makes the query non-distinct, so the result does not depend on the order of fakes.
+	 */
+	void applyDistinct(Root<?> root, CriteriaQuery<?> query);
+
+	/**
+	 * Marks the fake as initialized for the given root (i.e. for the given query) in its query context.
+	 *
+	 * @return {@code true} if the fake has already been initialized for the root
+	 */
+	boolean alreadyInitialized(Root<?> root);
+
 }
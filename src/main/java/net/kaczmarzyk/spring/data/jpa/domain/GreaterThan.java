@@ -48,7 +48,7 @@ public class GreaterThan<T> extends ComparableSpecification<T> {
 
 	@Override
 	protected <Y extends Comparable<? super Y>> Predicate makePredicate(CriteriaBuilder cb, Expression<? extends Y> x, Y y) {
-		return cb.greaterThan(x, y);
+		return withValue(cb, x, y, v -> cb.greaterThan(x, v));
 	}
 	
 }
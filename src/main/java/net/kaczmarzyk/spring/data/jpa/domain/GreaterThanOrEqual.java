@@ -48,7 +48,7 @@ public class GreaterThanOrEqual<T> extends ComparableSpecification<T> {
 
 	@Override
 	protected <Y extends Comparable<? super Y>> Predicate makePredicate(CriteriaBuilder cb, Expression<? extends Y> x, Y y) {
-		return cb.greaterThanOrEqualTo(x, y);
+		return withValue(cb, x, y, v -> cb.greaterThanOrEqualTo(x, v));
 	}
 	
 }
@@ -16,9 +16,7 @@
 package net.kaczmarzyk.spring.data.jpa.domain;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.OnTypeMismatch;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -44,12 +42,8 @@ public class IgnoreOnTypeMismatch<T> extends EmptyResultOnTypeMismatch<T> {
     }
 
     @Override
-    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
-        try {
-            return getWrappedSpec().toPredicate(root, query, cb);
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
+    protected Predicate onTypeMismatch(CriteriaBuilder cb) {
+        return null;
     }
 
     @Override
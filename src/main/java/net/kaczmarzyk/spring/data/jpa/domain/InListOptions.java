@@ -0,0 +1,229 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.domain;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import net.kaczmarzyk.spring.data.jpa.utils.QueryParameters;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>Determines how the list of values of {@link In} and {@link NotIn} is rendered:</p>
+ * <ul>
+ *   <li>padding -- the list is padded to the nearest power of two by repeating its last value,
+ *   so that lists of similar sizes result in the same SQL (which improves statement cache hit ratio),</li>
+ *   <li>max size -- lists longer than that are split into multiple bounded IN clauses
+ *   (joined with OR for {@code In} and with AND for {@code NotIn}), to stay below database limits
+ *   (e.g. 1000 elements of an IN-list in Oracle). {@code 0} means no limit.</li>
+ *   <li>array function -- instead of an IN-list, all values are bound as a single SQL array parameter and matched with
+ *   the given boolean function of the array and the attribute, e.g. {@code array_contains} on H2 or a function rendering
+ *   {@code attribute = any(array)} registered in the JPA provider for PostgreSQL. Numeric, UUID and string values are
+ *   parsed directly into the array (see {@link net.kaczmarzyk.spring.data.jpa.utils.Converter#convertToArray}).
+ *   Arrays can be bound only when values are rendered as query parameters
+ *   (see {@link net.kaczmarzyk.spring.data.jpa.utils.QueryParameters}), otherwise the regular IN-list is used.</li>
+ * </ul>
+ *
+ * <p>Options can be configured globally for {@code SpecificationArgumentResolver} or for a single specification
+ * via {@code @Spec.config}, e.g. {@code config = { "inListPadding", "inListMaxSize=1000" }}
+ * or {@code config = "inListArrayFunction=array_contains"} ({@code "inListPadding=false"} disables the padding enabled globally
+ * and {@code "inListArrayFunction="} disables the array binding).</p>
+ */
+public final class InListOptions implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final InListOptions DEFAULT = new InListOptions(false, 0, null);
+
+	private static final String PADDING_CONFIG = "inListPadding";
+	private static final String MAX_SIZE_CONFIG = "inListMaxSize";
+	private static final String ARRAY_FUNCTION_CONFIG = "inListArrayFunction";
+
+	private final boolean padding;
+	private final int maxSize;
+	private final String arrayFunction;
+
+	private InListOptions(boolean padding, int maxSize, String arrayFunction) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Max size of an IN-list must not be negative, but was: " + maxSize);
+		}
+		this.padding = padding;
+		this.maxSize = maxSize;
+		this.arrayFunction = arrayFunction == null || arrayFunction.isEmpty() ? null : arrayFunction;
+	}
+
+	public static InListOptions of(boolean padding, int maxSize) {
+		return new InListOptions(padding, maxSize, null);
+	}
+
+	public InListOptions withPadding(boolean padding) {
+		return new InListOptions(padding, maxSize, arrayFunction);
+	}
+
+	public InListOptions withMaxSize(int maxSize) {
+		return new InListOptions(padding, maxSize, arrayFunction);
+	}
+
+	/**
+	 * @param arrayFunction name of the boolean function of an array and the attribute to be used instead of IN-lists
+	 *                      (e.g. {@code array_contains}), {@code null} or empty string disables the array binding
+	 */
+	public InListOptions withArrayFunction(String arrayFunction) {
+		return new InListOptions(padding, maxSize, arrayFunction);
+	}
+
+	public boolean isPadding() {
+		return padding;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public String getArrayFunction() {
+		return arrayFunction;
+	}
+
+	public boolean isArrayBinding() {
+		return arrayFunction != null;
+	}
+
+	/**
+	 * @return {@code true} if the config value of {@code @Spec} defines one of the IN-list options
+	 */
+	public static boolean isOption(String configValue) {
+		return configValue.equals(PADDING_CONFIG) || configValue.startsWith(PADDING_CONFIG + "=")
+				|| configValue.startsWith(MAX_SIZE_CONFIG + "=") || configValue.startsWith(ARRAY_FUNCTION_CONFIG + "=");
+	}
+
+	/**
+	 * @return options defined in the config of {@code @Spec}, options not present in the config are taken from the defaults
+	 */
+	public static InListOptions fromConfig(String[] config, InListOptions defaults) {
+		InListOptions options = defaults;
+		for (String configValue : config) {
+			if (configValue.equals(PADDING_CONFIG)) {
+				options = options.withPadding(true);
+			} else if (configValue.startsWith(PADDING_CONFIG + "=")) {
+				options = options.withPadding(Boolean.parseBoolean(valueOf(configValue)));
+			} else if (configValue.startsWith(MAX_SIZE_CONFIG + "=")) {
+				try {
+					options = options.withMaxSize(Integer.parseInt(valueOf(configValue)));
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("Invalid IN-list max size: '" + configValue + "'", e);
+				}
+			} else if (configValue.startsWith(ARRAY_FUNCTION_CONFIG + "=")) {
+				options = options.withArrayFunction(valueOf(configValue));
+			}
+		}
+		return options;
+	}
+
+	/**
+	 * @return the config of {@code @Spec} without the IN-list options (i.e. the config relevant for the converter)
+	 */
+	public static String[] withoutOptions(String[] config) {
+		int optionCount = 0;
+		for (String configValue : config) {
+			if (isOption(configValue)) {
+				optionCount++;
+			}
+		}
+		if (optionCount == 0) {
+			return config;
+		}
+		String[] result = new String[config.length - optionCount];
+		int i = 0;
+		for (String configValue : config) {
+			if (!isOption(configValue)) {
+				result[i++] = configValue;
+			}
+		}
+		return result;
+	}
+
+	private static String valueOf(String configValue) {
+		return configValue.substring(configValue.indexOf('=') + 1).trim();
+	}
+
+	/**
+	 * Renders the function matching the attribute against all the values bound as a single array parameter
+	 */
+	Expression<Boolean> arrayFunctionCall(CriteriaBuilder cb, Expression<?> attribute, Object valuesArray) {
+		return cb.function(arrayFunction, Boolean.class, QueryParameters.arrayParameter(cb, valuesArray), attribute);
+	}
+
+	/**
+	 * Splits the values into IN-lists of at most {@code maxSize} elements and pads them if padding is enabled
+	 */
+	<V> List<List<V>> split(List<V> values) {
+		if (maxSize == 0 || values.size() <= maxSize) {
+			return Collections.singletonList(pad(values));
+		}
+		List<List<V>> chunks = new ArrayList<>((values.size() + maxSize - 1) / maxSize);
+		for (int from = 0; from < values.size(); from += maxSize) {
+			chunks.add(pad(values.subList(from, Math.min(from + maxSize, values.size()))));
+		}
+		return chunks;
+	}
+
+	private <V> List<V> pad(List<V> values) {
+		if (!padding || values.size() < 2) {
+			return values;
+		}
+		int paddedSize = Integer.highestOneBit(values.size() - 1) << 1;
+		if (maxSize > 0) {
+			paddedSize = Math.min(paddedSize, maxSize);
+		}
+		if (paddedSize <= values.size()) {
+			return values;
+		}
+		List<V> padded = new ArrayList<>(paddedSize);
+		padded.addAll(values);
+		V lastValue = values.get(values.size() - 1);
+		while (padded.size() < paddedSize) {
+			padded.add(lastValue);
+		}
+		return padded;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 31 * Boolean.hashCode(padding) + maxSize;
+		return 31 * result + (arrayFunction == null ? 0 : arrayFunction.hashCode());
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		InListOptions other = (InListOptions) obj;
+		return padding == other.padding && maxSize == other.maxSize && Objects.equals(arrayFunction, other.arrayFunction);
+	}
+
+	@Override
+	public String toString() {
+		return "InListOptions[padding=" + padding + ", maxSize=" + maxSize + ", arrayFunction=" + arrayFunction + "]";
+	}
+}
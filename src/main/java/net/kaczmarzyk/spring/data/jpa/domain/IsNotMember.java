@@ -17,12 +17,14 @@ package net.kaczmarzyk.spring.data.jpa.domain;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import net.kaczmarzyk.spring.data.jpa.utils.Converter;
 import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Objects;
 
 /**
@@ -48,7 +50,16 @@ public class IsNotMember<T> extends PathSpecification<T> {
     public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
         Class<?> typeOnPath = path(root).getJavaType();
         Object convertedUnwantedMember = converter.convert(unwantedMember, typeOnPath);
-        return criteriaBuilder.isNotMember(convertedUnwantedMember, path(root));
+        Expression<Collection<Object>> collection = path(root);
+        return withValue(criteriaBuilder, collection, convertedUnwantedMember,
+                member -> isNotMember(criteriaBuilder, member, collection));
+    }
+
+    /**
+     * With the element type being a type variable, only the {@code Expression} overload of {@link CriteriaBuilder#isNotMember} is applicable
+     */
+    private static <E> Predicate isNotMember(CriteriaBuilder criteriaBuilder, Expression<E> member, Expression<Collection<E>> collection) {
+        return criteriaBuilder.isNotMember(member, collection);
     }
 
     @Override
@@ -16,6 +16,7 @@
 package net.kaczmarzyk.spring.data.jpa.domain;
 
 import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.JoinStrategy;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Objects;
@@ -44,23 +45,33 @@ public class Join<T> implements Specification<T>, Fake {
 	private JoinType joinType;
 	private QueryContext queryContext;
 	private boolean distinctQuery;
+	private JoinStrategy strategy;
 
 
 	public Join(QueryContext queryContext, String pathToJoinOn, String alias, JoinType joinType, boolean distinctQuery) {
+		this(queryContext, pathToJoinOn, alias, joinType, distinctQuery, JoinStrategy.JOIN);
+	}
+
+	public Join(QueryContext queryContext, String pathToJoinOn, String alias, JoinType joinType, boolean distinctQuery, JoinStrategy strategy) {
 		this.pathToJoinOn = pathToJoinOn;
 		this.alias = alias;
 		this.joinType = joinType;
 		this.queryContext = queryContext;
 		this.distinctQuery = distinctQuery;
+		this.strategy = strategy;
 	}
 
 	@Override
 	public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
-		query.distinct(distinctQuery);
+		String semiJoinGroup = semiJoinGroup(root);
+		if (semiJoinGroup != null) {
+			// the join is evaluated only within the EXISTS subqueries rendered by Conjunction/Disjunction
+			queryContext.putSemiJoin(alias, semiJoinGroup);
+		}
 
 		if (!pathToJoinContainsAlias(pathToJoinOn)) {
                         if(!queryContext.existsJoin(alias, root)) {
-                        	putValToQueryContext(alias, root, (r) -> r.join(pathToJoinOn, joinType));
+                        	putValToQueryContext(alias, root, query, (r) -> r.join(pathToJoinOn, joinType));
                         }
 		} else {
 			String[] pathToJoinOnSplittedByDot = pathToJoinSplittedByDot(pathToJoinOn);
@@ -78,21 +89,71 @@ public class Join<T> implements Specification<T>, Fake {
 				putValToQueryContext(
                         alias,
                         root,
+                        query,
                         (r) -> {
-                        	jakarta.persistence.criteria.Join<?, ?> evaluated = queryContext.getEvaluated(extractedAlias, root);
+                        	jakarta.persistence.criteria.Join<?, ?> evaluated = queryContext.getEvaluated(extractedAlias, r);
                         	return evaluated.join(extractedPathToJoin, joinType);
                         }
                 );
 		}
+		// eagerly evaluated joins are taken into account right away, lazy ones -- as soon as they are evaluated
+		applyDistinct(root, query);
 		return null;
 	}
 
-	private void putValToQueryContext(String alias, Root<T> root, Function<Root<?>, jakarta.persistence.criteria.Join<?, ?>> lazyVal) {
+	@Override
+	public boolean alreadyInitialized(Root<?> root) {
+		return queryContext != null && !queryContext.markFakeInitialized(this, root);
+	}
+
+	/**
+	 * Only joins of collections may multiply the rows of the root entity, so joins of to-one associations
+	 * and joins which have not been evaluated (e.g. as there was no filtering on the joined part) do not make the query distinct.
+	 * Joins evaluated for a correlated root (i.e. in an {@code EXISTS} subquery) do not affect the root query either.
+	 */
+	@Override
+	public void applyDistinct(Root<?> root, CriteriaQuery<?> query) {
+		jakarta.persistence.criteria.Join<?, ?> evaluated = queryContext.getEvaluatedIfPresent(alias, root);
+		if (evaluated != null) {
+			distinctIfCollection(evaluated, root, query);
+		}
+	}
+
+	private void distinctIfCollection(jakarta.persistence.criteria.Join<?, ?> evaluated, Root<?> root, CriteriaQuery<?> query) {
+		if (distinctQuery && !root.isCorrelated() && evaluated.getAttribute().isCollection()) {
+			query.distinct(true);
+		}
+	}
+
+	/**
+	 * A join defined on top of a semi-join (e.g. {@code o.tags} where {@code o} uses {@link JoinStrategy#EXISTS})
+	 * belongs to the same EXISTS subquery, regardless of its own strategy.
+	 */
+	private String semiJoinGroup(Root<T> root) {
+		if (pathToJoinContainsAlias(pathToJoinOn)) {
+			String extractedGroup = queryContext.getSemiJoinGroup(pathToJoinSplittedByDot(pathToJoinOn)[0], root);
+			if (extractedGroup != null) {
+				return extractedGroup;
+			}
+		}
+		return strategy == JoinStrategy.EXISTS ? alias : null;
+	}
+
+	private void putValToQueryContext(String alias, Root<T> root, CriteriaQuery<?> query, Function<Root<?>, jakarta.persistence.criteria.Join<?, ?>> lazyVal) {
 		// generally we want to evaluate join lazily
 		// because most typical scenario tends to be a LEFT join with distinct = true
 		// and in such scenario if there is no filtering on the joined part (e.g. no related http param was sent)
 		// then we can optimize behaviour by not joining at all
-		queryContext.putLazyVal(alias, lazyVal);
+		queryContext.putLazyVal(alias, r -> {
+			jakarta.persistence.criteria.Join<?, ?> evaluated = lazyVal.apply(r);
+			if (r == root) { // the spec may be combined without Conjunction (e.g. with Specification.and), which applies distinct afterwards
+				distinctIfCollection(evaluated, root, query);
+			}
+			return evaluated;
+		});
+		if (queryContext.getSemiJoinGroup(alias, root) != null) {
+			return;
+		}
 		// but inner joins or non-distinct queries must have them evaluated eagerly
 		// because they affect query result even when there is no filtering applied
 		if (!distinctQuery || joinType == JoinType.INNER) {
@@ -102,7 +163,7 @@ public class Join<T> implements Specification<T>, Fake {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(alias, distinctQuery, joinType, pathToJoinOn, queryContext);
+		return Objects.hash(alias, distinctQuery, joinType, pathToJoinOn, strategy);
 	}
 
 	@Override
@@ -118,12 +179,12 @@ public class Join<T> implements Specification<T>, Fake {
 		}
 		Join other = (Join) obj;
 		return Objects.equals(alias, other.alias) && distinctQuery == other.distinctQuery && joinType == other.joinType
-				&& Objects.equals(pathToJoinOn, other.pathToJoinOn) && Objects.equals(queryContext, other.queryContext);
+				&& Objects.equals(pathToJoinOn, other.pathToJoinOn) && strategy == other.strategy;
 	}
 
 	@Override
 	public String toString() {
 		return "Join [pathToJoinOn=" + pathToJoinOn + ", alias=" + alias + ", joinType=" + joinType + ", queryContext=" + queryContext
-				+ ", distinctQuery=" + distinctQuery + "]";
+				+ ", distinctQuery=" + distinctQuery + ", strategy=" + strategy + "]";
 	}
 }
@@ -75,8 +75,7 @@ public class JoinFetch<T> implements Specification<T>, Fake {
 
 	@Override
 	public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
-		query.distinct(distinct);
-		if (!Number.class.isAssignableFrom(query.getResultType())) { // if it's not a count query, then just execute the fetch
+		if (selectsRootEntity(root, query)) { // if it's not a count (or ids) query, then just execute the fetch
 			if (pathsToFetch.size() == 1) {
 				String pathToFetch = pathsToFetch.get(0);
 				if (pathToJoinContainsAlias(pathToFetch)) {
@@ -84,7 +83,7 @@ public class JoinFetch<T> implements Specification<T>, Fake {
 					String alias = pathToJoinFetchOnSplittedByDot[0];
 					String path = pathToJoinFetchOnSplittedByDot[1];
 
-					Fetch<?, ?> evaluatedJoinFetchForGivenAlias = context.getEvaluatedJoinFetch(alias);
+					Fetch<?, ?> evaluatedJoinFetchForGivenAlias = context.getEvaluatedJoinFetch(alias, root);
 
 					if(evaluatedJoinFetchForGivenAlias == null) {
 						throw new IllegalArgumentException(
@@ -94,19 +93,21 @@ public class JoinFetch<T> implements Specification<T>, Fake {
 					}
 
 					Fetch<?,?> joinFetch = evaluatedJoinFetchForGivenAlias.fetch(path, joinType);
+					distinctIfCollection(joinFetch, query);
 					if (StringUtils.isNotBlank(this.alias)) {
-						context.putEvaluatedJoinFetch(this.alias, joinFetch);
+						context.putEvaluatedJoinFetch(this.alias, root, joinFetch);
 					}
 				} else {
 					Fetch<Object, Object> evaluated = root.fetch(pathToFetch, joinType);
-					context.putEvaluatedJoinFetch(alias, evaluated);
+					distinctIfCollection(evaluated, query);
+					context.putEvaluatedJoinFetch(alias, root, evaluated);
 				}
 			} else {
 				for (String path : pathsToFetch) {
-					root.fetch(path, joinType);
+					distinctIfCollection(root.fetch(path, joinType), query);
 				}
 			}
-		} else { // count query -- join fetch can be skipped unless it is used not only for fetching but for filtering as well
+		} else { // count query (or a query selecting only ids) -- join fetch can be skipped unless it is used not only for fetching but for filtering as well
 			if (!alias.isEmpty()) { // assumption: presence of a non-empty alias means that join fetch is used for filtering as well
 									//  unfortunately, Hibernate disallows adding join fetches to count queries 
 									//  (or more specifcally, does not allow fetching if fetch-root is not present in the query result)
@@ -116,14 +117,50 @@ public class JoinFetch<T> implements Specification<T>, Fake {
 				
 				String pathToJoin = pathsToFetch.iterator().next(); // see the constructor, if alias is used, then pathsToFetch must have size 1
 				
-				Join<T> regularJoin = new Join<T>(context, pathToJoin, alias, joinType, distinct);
-				
-				return regularJoin.toPredicate(root, query, cb);				
+				return regularJoin(pathToJoin).toPredicate(root, query, cb);
 			}
 		}
 		return null;
 	}
 
+	/**
+	 * Fetches are evaluated eagerly, so the query is made distinct as soon as a collection is fetched
+	 */
+	private void distinctIfCollection(Fetch<?, ?> fetch, CriteriaQuery<?> query) {
+		if (distinct && fetch.getAttribute().isCollection()) {
+			query.distinct(true);
+		}
+	}
+
+	@Override
+	public boolean alreadyInitialized(Root<?> root) {
+		return context != null && !context.markFakeInitialized(this, root);
+	}
+
+	/**
+	 * In queries which do not select the root entity, the join fetch used for filtering is converted into a regular join,
+	 * which makes the query distinct only if it has been evaluated
+	 */
+	@Override
+	public void applyDistinct(Root<?> root, CriteriaQuery<?> query) {
+		if (!alias.isEmpty() && !selectsRootEntity(root, query)) {
+			regularJoin(pathsToFetch.get(0)).applyDistinct(root, query);
+		}
+	}
+
+	private Join<T> regularJoin(String pathToJoin) {
+		return new Join<T>(context, pathToJoin, alias, joinType, distinct);
+	}
+
+	/**
+	 * Fetches can be applied only to queries selecting the root entity, i.e. not to count queries
+	 * or queries selecting only ids of the root entities (see {@code TwoPhaseFetchJpaRepository})
+	 */
+	private static boolean selectsRootEntity(Root<?> root, CriteriaQuery<?> query) {
+		Class<?> resultType = query.getResultType();
+		return !Number.class.isAssignableFrom(resultType) && resultType.isAssignableFrom(root.getJavaType());
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -134,7 +171,6 @@ public class JoinFetch<T> implements Specification<T>, Fake {
 		}
 		JoinFetch<?> joinFetch = (JoinFetch<?>) o;
 		return distinct == joinFetch.distinct &&
-				Objects.equals(context, joinFetch.context) &&
 				Objects.equals(pathsToFetch, joinFetch.pathsToFetch) &&
 				Objects.equals(alias, joinFetch.alias) &&
 				joinType == joinFetch.joinType;
@@ -142,7 +178,7 @@ public class JoinFetch<T> implements Specification<T>, Fake {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(context, pathsToFetch, alias, joinType, distinct);
+		return Objects.hash(pathsToFetch, alias, joinType, distinct);
 	}
 
 	@Override
@@ -0,0 +1,123 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.domain;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import net.kaczmarzyk.spring.data.jpa.utils.Converter;
+import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>Filters the rows following the last row of the previous page in the order of the given sort keys, i.e. it is the row value
+ * comparison {@code (registrationDate, id) > (:lastRegistrationDate, :lastId)} (or {@code <} for the descending order),
+ * rendered as {@code registrationDate > :lastRegistrationDate or (registrationDate = :lastRegistrationDate and id > :lastId)}.</p>
+ *
+ * <p>In contrary to the {@code OFFSET} based paging, the cost of fetching a page does not grow with the number of the page.
+ * The query must be sorted by the same keys in the same direction, and the last key should be unique (e.g. the id).
+ * Values of the sort keys must not be {@code null}.</p>
+ *
+ * <p>Values of the last row are usually passed as an opaque cursor, see {@link net.kaczmarzyk.spring.data.jpa.utils.KeysetCursor}.</p>
+ */
+public class Keyset<T> implements Specification<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private QueryContext queryContext;
+	private String[] keys;
+	private String[] lastValues;
+	private Direction direction;
+	private Converter converter;
+
+	public Keyset(QueryContext queryContext, String[] keys, String[] lastValues, Direction direction, Converter converter) {
+		if (keys == null || keys.length == 0) {
+			throw new IllegalArgumentException("At least one sort key is required for keyset pagination");
+		}
+		if (lastValues == null || lastValues.length != keys.length) {
+			throw new IllegalArgumentException("Expected values of " + keys.length + " sort keys " + Arrays.toString(keys)
+					+ ", but was " + Arrays.toString(lastValues));
+		}
+		this.queryContext = queryContext;
+		this.keys = keys;
+		this.lastValues = lastValues;
+		this.direction = direction;
+		this.converter = converter;
+	}
+
+	@Override
+	public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+		Predicate[] alternatives = new Predicate[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			Predicate[] conditions = new Predicate[i + 1];
+			for (int j = 0; j < i; j++) {
+				conditions[j] = new Equal<T>(queryContext, keys[j], new String[] { lastValues[j] }, converter).toPredicate(root, query, cb);
+			}
+			conditions[i] = following(keys[i], lastValues[i]).toPredicate(root, query, cb);
+			alternatives[i] = i == 0 ? conditions[0] : cb.and(conditions);
+		}
+		return alternatives.length == 1 ? alternatives[0] : cb.or(alternatives);
+	}
+
+	private ComparableSpecification<T> following(String key, String lastValue) {
+		String[] value = new String[] { lastValue };
+		return direction == Direction.DESC
+				? new LessThan<>(queryContext, key, value, converter)
+				: new GreaterThan<>(queryContext, key, value, converter);
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Arrays.hashCode(keys);
+		result = prime * result + Arrays.hashCode(lastValues);
+		result = prime * result + ((direction == null) ? 0 : direction.hashCode());
+		result = prime * result + ((converter == null) ? 0 : converter.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		Keyset<?> keyset = (Keyset<?>) o;
+		return Arrays.equals(keys, keyset.keys) &&
+				Arrays.equals(lastValues, keyset.lastValues) &&
+				direction == keyset.direction &&
+				Objects.equals(converter, keyset.converter);
+	}
+
+	@Override
+	public String toString() {
+		return "Keyset[" +
+				"keys=" + Arrays.toString(keys) +
+				", lastValues=" + Arrays.toString(lastValues) +
+				", direction=" + direction +
+				", converter=" + converter +
+				']';
+	}
+}
@@ -48,7 +48,7 @@ public class LessThan<T> extends ComparableSpecification<T> {
 
 	@Override
 	protected <Y extends Comparable<? super Y>> Predicate makePredicate(CriteriaBuilder cb, Expression<? extends Y> x, Y y) {
-		return cb.lessThan(x, y);
+		return withValue(cb, x, y, v -> cb.lessThan(x, v));
 	}
 	
 }
@@ -48,7 +48,7 @@ public class LessThanOrEqual<T> extends ComparableSpecification<T> {
 
 	@Override
 	protected <Y extends Comparable<? super Y>> Predicate makePredicate(CriteriaBuilder cb, Expression<? extends Y> x, Y y) {
-		return cb.lessThanOrEqualTo(x, y);
+		return withValue(cb, x, y, v -> cb.lessThanOrEqualTo(x, v));
 	}
 	
 }
@@ -20,6 +20,7 @@ import java.util.Objects;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 
@@ -44,7 +45,10 @@ public class LikeIgnoreCase<T> extends Like<T> implements LocaleAware {
 	
     @Override
     public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
-        return builder.like(builder.upper(this.<String> path(root)), pattern.toUpperCase(locale));
+        Expression<String> upperCasePath = builder.upper(this.<String> path(root));
+        String upperCasePattern = pattern.toUpperCase(locale);
+        return withValue(builder, upperCasePath, upperCasePattern,
+                p -> builder.like(upperCasePath, p));
     }
 
 	@Override
@@ -15,11 +15,13 @@
  */
 package net.kaczmarzyk.spring.data.jpa.domain;
 
+import net.kaczmarzyk.spring.data.jpa.utils.ConversionResult;
 import net.kaczmarzyk.spring.data.jpa.utils.Converter;
 import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import java.util.Arrays;
@@ -32,7 +34,7 @@ import java.util.Objects;
  *
  * @author Mateusz Fedkowicz
  **/
-public class NotEqual<T> extends PathSpecification<T> {
+public class NotEqual<T> extends PathSpecification<T> implements TypeMismatchAware<T> {
 
 	private static final long serialVersionUID = 1L;
 	
@@ -50,8 +52,15 @@ public class NotEqual<T> extends PathSpecification<T> {
 
 	@Override
 	public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
-		Class<?> typeOnPath = path(root).getJavaType();
-		return cb.notEqual(path(root), converter.convert(expectedValue, typeOnPath));
+		return toPredicateOrRejection(root, query, cb).getOrThrow();
+	}
+
+	@Override
+	public ConversionResult<Predicate> toPredicateOrRejection(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+		Path<?> path = path(root);
+		Class<?> typeOnPath = path.getJavaType();
+		return converter.tryConvert(expectedValue, typeOnPath)
+				.map(value -> withValue(cb, path, value, v -> cb.notEqual(path, v)));
 	}
 
 	@Override
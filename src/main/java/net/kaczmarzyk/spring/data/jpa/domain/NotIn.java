@@ -16,6 +16,7 @@
 package net.kaczmarzyk.spring.data.jpa.domain;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -26,6 +27,7 @@ import jakarta.persistence.criteria.Root;
 
 import net.kaczmarzyk.spring.data.jpa.utils.Converter;
 import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
+import net.kaczmarzyk.spring.data.jpa.utils.QueryParameters;
 
 /**
  * <p>Negation of {@link net.kaczmarzyk.spring.data.jpa.domain.In In}.</p>
@@ -36,6 +38,9 @@ import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
  *  {@code GET http://myhost/customers?firstName=Homer&firstName=Marge}.</p>
  * 
  * <p>Supports multiple field types: strings, numbers, booleans, enums, dates.</p>
+ *
+ * <p>Long lists of values can be padded, split into multiple IN clauses or bound as a single array parameter,
+ * see {@link InListOptions}.</p>
  * 
  * @author Tomasz Kaczmarzyk
  */
@@ -45,21 +50,45 @@ public class NotIn<T> extends PathSpecification<T> {
 	
 	private String[] allowedValues;
 	private Converter converter;
+	private InListOptions inListOptions;
 
 	public NotIn(QueryContext queryContext, String path, String[] httpParamValues, Converter converter) {
+		this(queryContext, path, httpParamValues, converter, InListOptions.DEFAULT);
+	}
+
+	public NotIn(QueryContext queryContext, String path, String[] httpParamValues, Converter converter, InListOptions inListOptions) {
 		super(queryContext, path);
 		if (httpParamValues == null || httpParamValues.length < 1) {
 			throw new IllegalArgumentException("Invalid size of 'httpParamValues' array, Expected at least 1 but was " + Arrays.toString(httpParamValues));
 		}
 		this.allowedValues = httpParamValues;
 		this.converter = converter;
+		this.inListOptions = inListOptions;
 	}
 	
 	@Override
 	public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
 		Path<?> path = path(root);
 		Class<?> typeOnPath = path.getJavaType();
-		return path.in(converter.convert(Arrays.asList(allowedValues), typeOnPath)).not();
+		if (inListOptions.isArrayBinding() && QueryParameters.isEnabled()) {
+			Object valuesArray = converter.convertToArray(Arrays.asList(allowedValues), typeOnPath);
+			if (valuesArray != null) {
+				return cb.isFalse(inListOptions.arrayFunctionCall(cb, path, valuesArray));
+			}
+		}
+		List<? extends List<?>> valueLists = inListOptions.split(converter.convert(Arrays.asList(allowedValues), typeOnPath));
+		if (valueLists.size() == 1) {
+			return notIn(cb, path, valueLists.get(0));
+		}
+		Predicate[] predicates = new Predicate[valueLists.size()];
+		for (int i = 0; i < predicates.length; i++) {
+			predicates[i] = notIn(cb, path, valueLists.get(i));
+		}
+		return cb.and(predicates);
+	}
+
+	private Predicate notIn(CriteriaBuilder cb, Path<?> path, List<?> values) {
+		return withValueList(cb, path, values, expressions -> path.in(expressions).not());
 	}
 
 	@Override
@@ -68,6 +97,7 @@ public class NotIn<T> extends PathSpecification<T> {
 		int result = super.hashCode();
 		result = prime * result + Arrays.hashCode(allowedValues);
 		result = prime * result + ((converter == null) ? 0 : converter.hashCode());
+		result = prime * result + ((inListOptions == null) ? 0 : inListOptions.hashCode());
 		return result;
 	}
 
@@ -84,7 +114,8 @@ public class NotIn<T> extends PathSpecification<T> {
 		}
 		NotIn<?> notIn = (NotIn<?>) o;
 		return Arrays.equals(allowedValues, notIn.allowedValues) &&
-				Objects.equals(converter, notIn.converter);
+				Objects.equals(converter, notIn.converter) &&
+				Objects.equals(inListOptions, notIn.inListOptions);
 	}
 
 	@Override
@@ -92,6 +123,7 @@ public class NotIn<T> extends PathSpecification<T> {
 		return "NotIn[" +
 				"allowedValues=" + Arrays.toString(allowedValues) +
 				", converter=" + converter +
+				", inListOptions=" + inListOptions +
 				", path='" + path + '\'' +
 				']';
 	}
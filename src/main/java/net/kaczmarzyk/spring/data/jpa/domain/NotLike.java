@@ -20,6 +20,7 @@ import java.util.Objects;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 
@@ -49,7 +50,8 @@ public class NotLike<T> extends PathSpecification<T> implements WithoutTypeConve
 
     @Override
     public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
-        return builder.not(builder.like(this.<String>path(root), pattern));
+        Expression<String> path = this.path(root);
+        return withValue(builder, path, pattern, p -> builder.not(builder.like(path, p)));
     }
 
 	@Override
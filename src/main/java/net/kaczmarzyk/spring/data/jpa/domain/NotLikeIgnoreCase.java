@@ -19,6 +19,7 @@ import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import java.util.Locale;
@@ -42,7 +43,10 @@ public class NotLikeIgnoreCase<T> extends NotLike<T> implements LocaleAware {
 
     @Override
     public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
-        return builder.not(builder.like(builder.upper(this.<String> path(root)), pattern.toUpperCase(locale)));
+        Expression<String> upperCasePath = builder.upper(this.<String> path(root));
+        String upperCasePattern = pattern.toUpperCase(locale);
+        return withValue(builder, upperCasePath, upperCasePattern,
+                p -> builder.not(builder.like(upperCasePath, p)));
     }
 
     @Override
@@ -15,14 +15,23 @@
  */
 package net.kaczmarzyk.spring.data.jpa.domain;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 
 import org.springframework.data.jpa.domain.Specification;
 
 import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
+import net.kaczmarzyk.spring.data.jpa.utils.QueryParameters;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 
 /**
@@ -33,6 +42,11 @@ import java.util.Objects;
 public abstract class PathSpecification<T> implements Specification<T> {
     
 	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Paths are defined in annotations (or code), so there is a limited number of them and each is split only once
+	 */
+	private static final Map<String, String[]> PATH_TOKENS = new ConcurrentHashMap<>();
 	
 	protected String path;
     private QueryContext queryContext;
@@ -43,21 +57,30 @@ public abstract class PathSpecification<T> implements Specification<T> {
         this.path = path;
     }
 
+    /**
+     * The path is resolved only once per root (i.e. once per query) and then reused by subsequent calls,
+     * also by other specifications with the same path (as long as they share the same {@code QueryContext}).
+     */
     @SuppressWarnings("unchecked")
     protected <F> Path<F> path(Root<T> root) {
+        if (queryContext == null) {
+            return (Path<F>) resolvePath(root);
+        }
+        return (Path<F>) queryContext.getEvaluatedPath(path, root, this::resolvePath);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Path<?> resolvePath(Root<?> root) {
         Path<?> expr = null;
-        for (String field : path.split("\\.")) {
+        for (String field : PATH_TOKENS.computeIfAbsent(path, key -> key.split("\\."))) {
             if (expr == null) {
-            	if (queryContext != null && getEvaluatedPath(field, root) != null) {
-            		expr = (Path<T>) getEvaluatedPath(field, root);
-            	} else {
-            		expr = root.get(field);
-            	}
+            	Path<T> evaluated = queryContext != null ? getEvaluatedPath(field, (Root<T>) root) : null;
+            	expr = evaluated != null ? evaluated : root.get(field);
             } else {
                 expr = expr.get(field);
             }
         }
-        return (Path<F>) expr;
+        return expr;
     }
 
 	private Path<T> getEvaluatedPath(String field, Root<T> root) {
@@ -77,18 +100,55 @@ public abstract class PathSpecification<T> implements Specification<T> {
  		 */
 
 		if(evaluated == null) {
-			return (Path<T>) queryContext.getEvaluatedJoinFetch(field);
+			return (Path<T>) queryContext.getEvaluatedJoinFetch(field, root);
 		}
 
 		return evaluated;
 	}
 
+    /**
+     * Builds the predicate with the value rendered either as a query parameter if the values are bound as parameters
+     * (see {@link QueryParameters}), or as a plain value rendered by the JPA provider otherwise,
+     * e.g. {@code withValue(cb, path, value, v -> cb.equal(path, v))}.
+     */
+    protected static <V> Predicate withValue(CriteriaBuilder cb, Expression<?> target, V value,
+            Function<Expression<V>, Predicate> predicate) {
+        return predicate.apply(QueryParameters.value(cb, target, value));
+    }
+
+    /**
+     * Variant of {@link #withValue} for a pair of values, e.g. boundaries of a range
+     */
+    protected static <V> Predicate withValues(CriteriaBuilder cb, Expression<?> target, V first, V second,
+            BiFunction<Expression<V>, Expression<V>, Predicate> predicate) {
+        return predicate.apply(QueryParameters.value(cb, target, first), QueryParameters.value(cb, target, second));
+    }
+
+    /**
+     * Variant of {@link #withValue} for a list of values (e.g. an IN-list), each of them rendered as a separate expression
+     */
+    protected static Predicate withValueList(CriteriaBuilder cb, Expression<?> target, Collection<?> values,
+            Function<Expression<?>[], Predicate> predicate) {
+        return predicate.apply(QueryParameters.values(cb, target, values));
+    }
+
+	QueryContext queryContext() {
+		return queryContext;
+	}
+
+	boolean hasSamePathAs(PathSpecification<?> other) {
+		return Objects.equals(path, other.path) && Objects.equals(queryContext, other.queryContext);
+	}
+
+	/**
+	 * The query context is state shared by the specifications of a query (which changes as the query is built)
+	 * rather than a part of their definition, so it is left out of {@code equals} and {@code hashCode}
+	 */
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
 		result = prime * result + ((path == null) ? 0 : path.hashCode());
-		result = prime * result + ((queryContext == null) ? 0 : queryContext.hashCode());
 		return result;
 	}
 
@@ -101,7 +161,6 @@ public abstract class PathSpecification<T> implements Specification<T> {
 			return false;
 		}
 		PathSpecification<?> that = (PathSpecification<?>) o;
-		return Objects.equals(path, that.path) &&
-				Objects.equals(queryContext, that.queryContext);
+		return Objects.equals(path, that.path);
 	}
 }
@@ -0,0 +1,145 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.domain;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>Renders inner specs of {@link Conjunction} and {@link Disjunction}. Specs referencing a join with
+ * {@code JoinStrategy.EXISTS} (see {@link Join}) are rendered into a correlated {@code EXISTS} subquery instead of
+ * being applied to the root query directly. All specs of the same semi-join group are rendered into a single subquery
+ * (joined with the operator of the enclosing conjunction or disjunction), so they are matched against the same joined row.</p>
+ */
+final class SemiJoins {
+
+	private SemiJoins() {
+	}
+
+	/**
+	 * @return predicates of the specs in their original order ({@code null} predicates are skipped),
+	 *         the {@code EXISTS} predicate of a group is placed at the position of its first spec
+	 */
+	static <T> List<Predicate> toPredicates(Collection<Specification<T>> specs, Root<T> root, CriteriaQuery<?> query,
+			CriteriaBuilder cb, boolean disjunction) {
+		List<Predicate> predicates = new ArrayList<>(specs.size());
+		Map<String, Group<T>> groups = null;
+		for (Specification<T> spec : specs) {
+			String group = groupOf(spec, root);
+			if (group == null) {
+				predicates.add(spec.toPredicate(root, query, cb));
+				continue;
+			}
+			if (groups == null) {
+				groups = new LinkedHashMap<>();
+			}
+			Group<T> specsOfGroup = groups.get(group);
+			if (specsOfGroup == null) {
+				specsOfGroup = new Group<>(predicates.size());
+				groups.put(group, specsOfGroup);
+				predicates.add(null);
+			}
+			specsOfGroup.specs.add(spec);
+		}
+		if (groups != null) {
+			for (Group<T> group : groups.values()) {
+				predicates.set(group.position, exists(group.specs, root, query, cb, disjunction));
+			}
+		}
+		predicates.removeIf(Objects::isNull);
+		return predicates;
+	}
+
+	private static <T> Predicate exists(List<Specification<T>> specs, Root<T> root, CriteriaQuery<?> query,
+			CriteriaBuilder cb, boolean disjunction) {
+		Subquery<Integer> subquery = query.subquery(Integer.class);
+		Root<T> correlatedRoot = subquery.correlate(root);
+
+		// semi-joins are evaluated directly on the correlated root, so no nested subqueries are created here
+		List<Predicate> predicates = toPredicates(specs, correlatedRoot, query, cb, disjunction);
+		if (predicates.isEmpty()) {
+			return null;
+		}
+		Predicate[] restrictions = predicates.toArray(new Predicate[0]);
+		subquery.select(cb.literal(1))
+				.where(disjunction ? cb.or(restrictions) : cb.and(restrictions));
+		return cb.exists(subquery);
+	}
+
+	/**
+	 * @return the semi-join group of the first alias referenced by the spec (or its inner specs),
+	 *         {@code null} if the spec does not reference any semi-join
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> String groupOf(Specification<T> spec, Root<T> root) {
+		if (spec instanceof PathSpecification) {
+			return groupOf((PathSpecification<T>) spec, root);
+		}
+		if (spec instanceof EmptyResultOnTypeMismatch) {
+			Specification<T> wrapped = ((EmptyResultOnTypeMismatch<T>) spec).getWrappedSpec();
+			return wrapped != null ? groupOf(wrapped, root) : null;
+		}
+		if (spec instanceof Conjunction) {
+			return groupOf(((Conjunction<T>) spec).innerSpecs(), root);
+		}
+		if (spec instanceof Disjunction) {
+			return groupOf(((Disjunction<T>) spec).innerSpecs(), root);
+		}
+		return null;
+	}
+
+	private static <T> String groupOf(Collection<Specification<T>> specs, Root<T> root) {
+		for (Specification<T> spec : specs) {
+			String group = groupOf(spec, root);
+			if (group != null) {
+				return group;
+			}
+		}
+		return null;
+	}
+
+	private static <T> String groupOf(PathSpecification<T> spec, Root<T> root) {
+		QueryContext queryContext = spec.queryContext();
+		String path = spec.path;
+		int aliasEnd = path != null ? path.indexOf('.') : -1;
+		if (queryContext == null || aliasEnd < 0) {
+			return null;
+		}
+		return queryContext.getSemiJoinGroup(path.substring(0, aliasEnd), root);
+	}
+
+	private static final class Group<T> {
+
+		private final int position;
+		private final List<Specification<T>> specs = new ArrayList<>();
+
+		Group(int position) {
+			this.position = position;
+		}
+	}
+}
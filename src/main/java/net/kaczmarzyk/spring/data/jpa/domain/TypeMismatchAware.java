@@ -0,0 +1,39 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.domain;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import net.kaczmarzyk.spring.data.jpa.utils.ConversionResult;
+
+/**
+ * <p>Specifications that implement this interface can report HTTP param values rejected by the type conversion
+ * without throwing an exception. {@link EmptyResultOnTypeMismatch} and {@link IgnoreOnTypeMismatch} use it to handle
+ * invalid values without the cost of exceptions.</p>
+ *
+ * @see Equal
+ * @see ComparableSpecification
+ */
+public interface TypeMismatchAware<T> {
+
+	/**
+	 * Same as {@code toPredicate}, but returns a rejection instead of throwing {@code ValueRejectedException}
+	 */
+	ConversionResult<Predicate> toPredicateOrRejection(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb);
+}
@@ -21,7 +21,7 @@ import org.springframework.aot.hint.RuntimeHints;
 import org.springframework.aot.hint.RuntimeHintsRegistrar;
 
 /**
- * Registers the interfaces annotated with specification-argument-resolver annotations. (EnhancerUtil creates proxy for them)
+ * Registers the interfaces annotated with specification-argument-resolver annotations. (EnhancerUtil creates proxy for them in native images)
  * This is needed for using this library in Spring Native builds (the proxy classes have to be generated at the compilation time).
  *
  * Example of interface annotated with specification-argument-resolver annotations for which the proxy hint should be registered:
@@ -30,7 +30,8 @@ package net.kaczmarzyk.spring.data.jpa.nativeimage;
  *      b) (preferred) has to import runtime hints registered by {@link net.kaczmarzyk.spring.data.jpa.nativeimage.SpecificationArgumentResolverHintRegistrar}
  *
  *  2) Dynamic proxy:
- *    * For the specification defined in interfaces {@link net.kaczmarzyk.spring.data.jpa.web.EnhancerUtil} generates dynamic proxy in runtime.
+ *    * For the specification defined in interfaces {@link net.kaczmarzyk.spring.data.jpa.web.EnhancerUtil} generates an implementation class in runtime.
+ *      In native images it generates dynamic proxy instead.
  *      It's not supported by GraalVM native-image, from documentation:
  *        "Native Image does not provide machinery for generating and interpreting bytecodes at run time.
  *         Therefore all dynamic proxy classes need to be generated at native image build time."
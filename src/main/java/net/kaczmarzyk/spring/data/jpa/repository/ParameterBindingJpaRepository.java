@@ -0,0 +1,54 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import net.kaczmarzyk.spring.data.jpa.utils.QueryParameters;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.lang.Nullable;
+
+/**
+ * <p>Repository base class which makes the specifications provided by the library render their values as JPA query parameters
+ * (see {@link QueryParameters}). Thanks to that the SQL generated for a given filter shape is identical regardless of
+ * the filter values, so it can be reused by the query plan cache of the JPA provider and the prepared statement cache of the database.</p>
+ *
+ * <p>It can be enabled with {@code @EnableJpaRepositories(repositoryBaseClass = ParameterBindingJpaRepository.class)}
+ * (see {@link TwoPhaseFetchJpaRepository#createQuery} to page collection fetches in two phases as well).</p>
+ */
+public class ParameterBindingJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> {
+
+	public ParameterBindingJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+		super(entityInformation, entityManager);
+	}
+
+	public ParameterBindingJpaRepository(Class<T> domainClass, EntityManager entityManager) {
+		super(domainClass, entityManager);
+	}
+
+	@Override
+	protected <S extends T> TypedQuery<S> getQuery(@Nullable Specification<S> spec, Class<S> domainClass, Sort sort) {
+		return QueryParameters.bindCollected(() -> super.getQuery(spec, domainClass, sort));
+	}
+
+	@Override
+	protected <S extends T> TypedQuery<Long> getCountQuery(@Nullable Specification<S> spec, Class<S> domainClass) {
+		return QueryParameters.bindCollected(() -> super.getCountQuery(spec, domainClass));
+	}
+}
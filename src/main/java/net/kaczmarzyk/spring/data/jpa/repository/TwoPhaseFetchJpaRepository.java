@@ -0,0 +1,246 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Parameter;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import net.kaczmarzyk.spring.data.jpa.utils.QueryParameters;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * <p>Repository base class which pages specifications fetching collections (e.g. with {@code @JoinFetch(paths = "orders")})
+ * in two phases, instead of letting the JPA provider load all matching rows and paginate in memory:</p>
+ * <ol>
+ *   <li>ids of the root entities of the requested page are selected with the specification applied without fetches
+ *   (join fetches used for filtering are converted into regular joins, as for count queries),</li>
+ *   <li>entities with these ids are loaded with the fetches applied and returned in the order of the first phase.</li>
+ * </ol>
+ *
+ * <p>The specification is rendered into the regular query first, which is executed as usual if it does not fetch
+ * any collection and reused as the second phase otherwise. Unpaged queries are executed as usual as well.
+ * Entities with composite ids are not supported by the two-phase execution and are paginated by the JPA provider.</p>
+ *
+ * <p>It can be enabled with {@code @EnableJpaRepositories(repositoryBaseClass = TwoPhaseFetchJpaRepository.class)}.
+ * To bind values of specifications as query parameters as well, use a subclass overriding {@link #createQuery}.</p>
+ */
+public class TwoPhaseFetchJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> {
+
+	private final JpaEntityInformation<T, ?> entityInformation;
+	private final EntityManager entityManager;
+
+	public TwoPhaseFetchJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+		super(entityInformation, entityManager);
+		this.entityInformation = entityInformation;
+		this.entityManager = entityManager;
+	}
+
+	public TwoPhaseFetchJpaRepository(Class<T> domainClass, EntityManager entityManager) {
+		this(JpaEntityInformationSupport.getEntityInformation(domainClass, entityManager), entityManager);
+	}
+
+	@Override
+	public Page<T> findAll(@Nullable Specification<T> spec, Pageable pageable) {
+		if (spec == null || pageable.isUnpaged() || entityInformation.hasCompositeId()) {
+			return super.findAll(spec, pageable);
+		}
+
+		RenderedSpecification<T> rendered = new RenderedSpecification<>(spec);
+		TypedQuery<T> query = getQuery(rendered, pageable);
+
+		if (!rendered.fetchesCollection()) {
+			return readPage(query, getDomainClass(), pageable, spec);
+		}
+
+		List<Object> ids = findIds(spec, pageable);
+		List<T> content = ids.isEmpty() ? Collections.emptyList() : findByIds(rendered, query, ids);
+
+		return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+	}
+
+	@Override
+	protected <S extends T> TypedQuery<S> getQuery(@Nullable Specification<S> spec, Class<S> domainClass, Sort sort) {
+		return createQuery(() -> super.getQuery(spec, domainClass, sort));
+	}
+
+	@Override
+	protected <S extends T> TypedQuery<Long> getCountQuery(@Nullable Specification<S> spec, Class<S> domainClass) {
+		return createQuery(() -> super.getCountQuery(spec, domainClass));
+	}
+
+	/**
+	 * Creates each query rendering a specification: the regular query (reused as the second phase), the count query
+	 * and the query of the first phase. Can be overridden e.g. with {@code QueryParameters.bindCollected(queryFactory)}
+	 * to bind values of specifications as parameters in all of them (see {@link QueryParameters}).
+	 */
+	protected <Q extends Query> Q createQuery(Supplier<Q> queryFactory) {
+		return queryFactory.get();
+	}
+
+	private List<Object> findIds(Specification<T> spec, Pageable pageable) {
+		TypedQuery<Tuple> query = createQuery(() -> idQuery(spec, pageable.getSort()));
+		query.setFirstResult((int) pageable.getOffset());
+		query.setMaxResults(pageable.getPageSize());
+
+		List<Tuple> rows = query.getResultList();
+		List<Object> ids = new ArrayList<>(rows.size());
+		for (Tuple row : rows) {
+			ids.add(row.get(0));
+		}
+		return ids;
+	}
+
+	private TypedQuery<Tuple> idQuery(Specification<T> spec, Sort sort) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> idQuery = cb.createTupleQuery();
+		Root<T> root = idQuery.from(getDomainClass());
+		Predicate predicate = spec.toPredicate(root, idQuery, cb);
+		if (predicate != null) {
+			idQuery.where(predicate);
+		}
+
+		// rows are grouped by the id, so that each id is selected only once even if the specification or the sort joins a collection
+		// (e.g. @JoinFetch(distinct = false) used for filtering), and sort expressions are aggregated accordingly
+		List<Order> orders = new ArrayList<>();
+		for (Order order : QueryUtils.toOrders(sort, root, cb)) {
+			orders.add(aggregated(order, cb));
+		}
+		Path<?> id = idPath(root);
+		idQuery.multiselect(id).groupBy(id).orderBy(orders).distinct(false);
+
+		return entityManager.createQuery(idQuery);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Order aggregated(Order order, CriteriaBuilder cb) {
+		Expression expression = order.getExpression();
+		return order.isAscending() ? cb.asc(cb.least(expression)) : cb.desc(cb.greatest(expression));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<T> findByIds(RenderedSpecification<T> rendered, TypedQuery<T> regularQuery, List<Object> ids) {
+		CriteriaQuery<T> fetchQuery = (CriteriaQuery<T>) rendered.query;
+		List<ParameterExpression<?>> parameters = new ArrayList<>(fetchQuery.getParameters());
+
+		// the predicate is applied again, as join fetches used for filtering restrict the fetched collections as well
+		Predicate idIn = idPath(rendered.root).in(ids);
+		Predicate predicate = rendered.predicate;
+		fetchQuery.where(predicate != null ? entityManager.getCriteriaBuilder().and(predicate, idIn) : idIn)
+				.orderBy(Collections.emptyList());
+
+		TypedQuery<T> query = entityManager.createQuery(fetchQuery);
+		bindParameters(parameters, regularQuery, query);
+
+		Map<Object, T> entitiesById = new HashMap<>();
+		for (T entity : query.getResultList()) {
+			entitiesById.putIfAbsent(entityInformation.getId(entity), entity);
+		}
+
+		List<T> content = new ArrayList<>(ids.size());
+		for (Object id : ids) {
+			T entity = entitiesById.get(id);
+			if (entity != null) {
+				content.add(entity);
+			}
+		}
+		return content;
+	}
+
+	/**
+	 * Parameters created while rendering the specification (e.g. by {@code QueryParameters}) were bound to the regular query,
+	 * so they have to be bound to the query reusing its criteria as well
+	 */
+	@SuppressWarnings("unchecked")
+	private static void bindParameters(List<ParameterExpression<?>> parameters, Query source, Query target) {
+		for (ParameterExpression<?> parameter : parameters) {
+			if (source.isBound(parameter) && !target.isBound(parameter)) {
+				target.setParameter((Parameter<Object>) parameter, source.getParameterValue(parameter));
+			}
+		}
+	}
+
+	private Path<?> idPath(Root<T> root) {
+		return root.get(entityInformation.getIdAttribute().getName());
+	}
+
+	private static boolean fetchesCollection(FetchParent<?, ?> parent) {
+		for (Fetch<?, ?> fetch : parent.getFetches()) {
+			if (fetch.getAttribute().isCollection() || fetchesCollection(fetch)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Delegates to the specification and keeps the criteria it was rendered into, so that it is rendered only once
+	 * for the regular query and the second phase
+	 */
+	private static final class RenderedSpecification<T> implements Specification<T> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Specification<T> spec;
+
+		private transient Root<T> root;
+		private transient CriteriaQuery<?> query;
+		private transient Predicate predicate;
+
+		RenderedSpecification(Specification<T> spec) {
+			this.spec = spec;
+		}
+
+		@Override
+		public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+			this.root = root;
+			this.query = query;
+			this.predicate = spec.toPredicate(root, query, cb);
+			return predicate;
+		}
+
+		boolean fetchesCollection() {
+			return root != null && TwoPhaseFetchJpaRepository.fetchesCollection(root);
+		}
+	}
+}
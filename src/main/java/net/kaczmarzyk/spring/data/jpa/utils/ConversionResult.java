@@ -0,0 +1,112 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.utils;
+
+import java.util.function.Function;
+
+import net.kaczmarzyk.spring.data.jpa.utils.Converter.ValueRejectedException;
+
+/**
+ * <p>Outcome of a conversion of a single HTTP param value: either the converted value or the description of its rejection.</p>
+ *
+ * <p>It allows to handle rejected values (e.g. with {@code OnTypeMismatch.EMPTY_RESULT}) without the cost of creating
+ * exceptions. {@link ValueRejectedException} is created only when {@link #getOrThrow()} is called for a rejected value.</p>
+ */
+public final class ConversionResult<T> {
+
+	private final T value;
+	private final boolean rejected;
+	private final String rejectedValue;
+	private final String rejectionMessage;
+	private final Exception rejectionCause;
+
+	private ConversionResult(T value, boolean rejected, String rejectedValue, String rejectionMessage, Exception rejectionCause) {
+		this.value = value;
+		this.rejected = rejected;
+		this.rejectedValue = rejectedValue;
+		this.rejectionMessage = rejectionMessage;
+		this.rejectionCause = rejectionCause;
+	}
+
+	public static <T> ConversionResult<T> converted(T value) {
+		return new ConversionResult<>(value, false, null, null, null);
+	}
+
+	public static <T> ConversionResult<T> rejected(String rejectedValue, String message) {
+		return rejected(rejectedValue, message, null);
+	}
+
+	public static <T> ConversionResult<T> rejected(String rejectedValue, String message, Exception cause) {
+		return new ConversionResult<>(null, true, rejectedValue, message, cause);
+	}
+
+	public boolean isRejected() {
+		return rejected;
+	}
+
+	/**
+	 * @return converted value or {@code null} if the value has been rejected
+	 */
+	public T getValue() {
+		return value;
+	}
+
+	/**
+	 * @return the raw value which could not be converted or {@code null} if the conversion succeeded
+	 */
+	public String getRejectedValue() {
+		return rejectedValue;
+	}
+
+	public String getRejectionMessage() {
+		return rejectionMessage;
+	}
+
+	/**
+	 * @throws ValueRejectedException if the value has been rejected
+	 */
+	public T getOrThrow() {
+		if (rejected) {
+			throw new ValueRejectedException(rejectedValue, rejectionMessage, rejectionCause);
+		}
+		return value;
+	}
+
+	/**
+	 * Applies the mapping function to the converted value. The rejection is propagated as it is.
+	 */
+	public <R> ConversionResult<R> map(Function<? super T, ? extends R> mapper) {
+		return rejected ? asRejected() : converted(mapper.apply(value));
+	}
+
+	/**
+	 * Applies the mapping function to the converted value. The rejection is propagated as it is.
+	 */
+	public <R> ConversionResult<R> flatMap(Function<? super T, ConversionResult<R>> mapper) {
+		return rejected ? asRejected() : mapper.apply(value);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <R> ConversionResult<R> asRejected() {
+		return (ConversionResult<R>) this;
+	}
+
+	@Override
+	public String toString() {
+		return rejected ? "ConversionResult [rejectedValue=" + rejectedValue + ", rejectionMessage=" + rejectionMessage + "]"
+				: "ConversionResult [value=" + value + "]";
+	}
+}
@@ -28,8 +28,10 @@ import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.DateTimeParseException;
 import java.time.format.ResolverStyle;
 import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
 import java.util.*;
-import java.util.function.BiFunction;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Objects.nonNull;
 
@@ -97,20 +99,110 @@ public final class Converter {
 		DEFAULT_DATE_FORMATS.put(Timestamp.class, "yyyy-MM-dd\'T\'HH:mm:ss.SSS\'Z\'");
 	}
 
-	private static BiFunction<Enum<?>, String, Boolean> enumMatcherCaseSensitive = (enumVal, rawValue) -> enumVal.name().equals(rawValue);
+	/**
+	 * Formats of the values of keyset cursors, which keep the full precision of the particular types
+	 * (see {@link KeysetCursor})
+	 */
+	private static final Map<Class<?>, String> KEYSET_CURSOR_DATE_FORMATS;
 
-	private BiFunction<Enum<?>, String, Boolean> enumMatcherCaseInsensitive;
+	static {
+		Map<Class<?>, String> keysetCursorDateFormats = new HashMap<>();
+		keysetCursorDateFormats.put(Date.class, "yyyy-MM-dd\'T\'HH:mm:ss.SSSXXX");
+		keysetCursorDateFormats.put(LocalDate.class, "yyyy-MM-dd");
+		keysetCursorDateFormats.put(LocalDateTime.class, "yyyy-MM-dd\'T\'HH:mm:ss.SSSSSSSSS");
+		keysetCursorDateFormats.put(OffsetDateTime.class, "yyyy-MM-dd\'T\'HH:mm:ss.SSSSSSSSSXXX");
+		keysetCursorDateFormats.put(Instant.class, "yyyy-MM-dd\'T\'HH:mm:ss.SSSSSSSSSXXX");
+		keysetCursorDateFormats.put(Timestamp.class, "yyyy-MM-dd\'T\'HH:mm:ss.SSSSSSSSSXXX");
+		KEYSET_CURSOR_DATE_FORMATS = Collections.unmodifiableMap(keysetCursorDateFormats);
+	}
+
+	/**
+	 * Formatters are immutable and thread-safe, so they are built only once per pattern
+	 */
+	private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+	private static final Map<String, DateTimeFormatter> STRICT_FORMATTERS = new ConcurrentHashMap<>();
+	private static final Map<String, DateTimeFormatter> FORMATTERS_WITH_DEFAULT_TIME = new ConcurrentHashMap<>();
+	private static final Map<String, Boolean> LEGACY_YEAR_PATTERNS = new ConcurrentHashMap<>();
+
+	/**
+	 * Conversion strategy for the given target type, resolved only once per type
+	 */
+	private static final ClassValue<TargetType> TARGET_TYPES = new ClassValue<>() {
+		@Override
+		protected TargetType computeValue(Class<?> expectedClass) {
+			return TargetType.of(expectedClass);
+		}
+	};
+
+	private enum TargetType {
+		ENUM, DATE, CALENDAR, BOOLEAN, LONG, FLOAT, DOUBLE, CHAR, LOCAL_DATE_TIME, LOCAL_DATE,
+		BIG_DECIMAL, UUID, OFFSET_DATE_TIME, INSTANT, TIMESTAMP, OTHER;
+
+		/**
+		 * The order of checks matters for supertypes of multiple supported types (e.g. {@code Object} or {@code Comparable})
+		 */
+		private static TargetType of(Class<?> expectedClass) {
+			if (expectedClass.isEnum()) {
+				return ENUM;
+			} else if (expectedClass.isAssignableFrom(Date.class)) {
+				return DATE;
+			} else if (expectedClass.isAssignableFrom(Calendar.class)) {
+				return CALENDAR;
+			} else if (isAssignableFromAnyOf(expectedClass, Boolean.class, boolean.class)) {
+				return BOOLEAN;
+			} else if (isAssignableFromAnyOf(expectedClass, Integer.class, int.class, Long.class, long.class)) {
+				return LONG;
+			} else if (isAssignableFromAnyOf(expectedClass, float.class, Float.class)) {
+				return FLOAT;
+			} else if (isAssignableFromAnyOf(expectedClass, double.class, Double.class)) {
+				return DOUBLE;
+			} else if (isAssignableFromAnyOf(expectedClass, char.class, Character.class)) {
+				return CHAR;
+			} else if (expectedClass.isAssignableFrom(LocalDateTime.class)) {
+				return LOCAL_DATE_TIME;
+			} else if (expectedClass.isAssignableFrom(LocalDate.class)) {
+				return LOCAL_DATE;
+			} else if (expectedClass.isAssignableFrom(BigDecimal.class)) {
+				return BIG_DECIMAL;
+			} else if (expectedClass.isAssignableFrom(java.util.UUID.class)) {
+				return UUID;
+			} else if (expectedClass.isAssignableFrom(OffsetDateTime.class)) {
+				return OFFSET_DATE_TIME;
+			} else if (expectedClass.isAssignableFrom(Instant.class)) {
+				return INSTANT;
+			} else if (expectedClass.isAssignableFrom(Timestamp.class)) {
+				return TIMESTAMP;
+			}
+			return OTHER;
+		}
+
+		private static boolean isAssignableFromAnyOf(Class<?> expectedClass, Class<?>... candidates) {
+			for (Class<?> candidate : candidates) {
+				if (expectedClass.isAssignableFrom(candidate)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private Locale locale;
 
 	private String dateFormat;
+	private Map<Class<?>, String> defaultDateFormats;
 	private OnTypeMismatch onTypeMismatch;
 	
 	private ConversionService conversionService;
+
+	private Map<Class<?>, Boolean> convertibleByConversionService = new ConcurrentHashMap<>();
 	
-	private Converter(String dateFormat, OnTypeMismatch onTypeMismatch, ConversionService conversionService, Locale locale) {
+	private Converter(String dateFormat, Map<Class<?>, String> defaultDateFormats, OnTypeMismatch onTypeMismatch,
+			ConversionService conversionService, Locale locale) {
 		this.dateFormat = dateFormat;
+		this.defaultDateFormats = defaultDateFormats;
 		this.onTypeMismatch = onTypeMismatch;
 		this.conversionService = conversionService;
-		this.enumMatcherCaseInsensitive = (enumVal, rawValue) -> enumVal.name().toUpperCase(locale).equals(rawValue.toUpperCase(locale));
+		this.locale = locale;
 	}
 	
 	public <T> List<T> convert(List<String> values, Class<T> expectedClass) {
@@ -120,234 +212,401 @@ public final class Converter {
 		List<String> rejected = null;
 		List<T> result = new ArrayList<>();
 		for (String value : values) {
-			try {
-				result.add(convert(value, expectedClass));
-			} catch (ValueRejectedException e) {
+			ConversionResult<T> converted = tryConvert(value, expectedClass);
+			if (converted.isRejected()) {
 				if (rejected == null) {
 					rejected = new ArrayList<>();
 				}
-				rejected.add(e.getRejectedValue());
+				rejected.add(converted.getRejectedValue());
+			} else {
+				result.add(converted.getValue());
 			}
 		}
 		onTypeMismatch.handleRejectedValues(rejected);
 		return result;
 	}
+
+	/**
+	 * Converts the values into an array to be bound as a single SQL array parameter: {@code long[]} for {@code Long}
+	 * and {@code Integer} fields (parsed without boxing of the particular values), {@code UUID[]} and {@code String[]}.
+	 * Rejected values are handled in the same way as in {@link #convert(List, Class)}.
+	 *
+	 * @return the array or {@code null} if values of the expected class cannot be converted into an array
+	 */
+	public Object convertToArray(List<String> values, Class<?> expectedClass) {
+		if (expectedClass == String.class) {
+			return values.toArray(new String[0]);
+		} else if (expectedClass == Long.class || expectedClass == long.class) {
+			return toLongArray(values, Long.MIN_VALUE, Long.MAX_VALUE);
+		} else if (expectedClass == Integer.class || expectedClass == int.class) {
+			return toLongArray(values, Integer.MIN_VALUE, Integer.MAX_VALUE);
+		} else if (expectedClass == UUID.class) {
+			return toUUIDArray(values);
+		}
+		return null;
+	}
+
+	private long[] toLongArray(List<String> values, long minValue, long maxValue) {
+		long[] result = new long[values.size()];
+		int size = 0;
+		List<String> rejected = null;
+		for (String value : values) {
+			long parsed = 0;
+			boolean valid = containsOnlyDigits(value);
+			if (valid) {
+				try {
+					parsed = Long.parseLong(value);
+					valid = parsed >= minValue && parsed <= maxValue;
+				} catch (NumberFormatException e) {
+					valid = false;
+				}
+			}
+			if (valid) {
+				result[size++] = parsed;
+			} else {
+				if (rejected == null) {
+					rejected = new ArrayList<>();
+				}
+				rejected.add(value);
+			}
+		}
+		onTypeMismatch.handleRejectedValues(rejected);
+		return size == result.length ? result : Arrays.copyOf(result, size);
+	}
+
+	private UUID[] toUUIDArray(List<String> values) {
+		UUID[] result = new UUID[values.size()];
+		int size = 0;
+		List<String> rejected = null;
+		for (String value : values) {
+			ConversionResult<UUID> converted = toUUID(value);
+			if (converted.isRejected()) {
+				if (rejected == null) {
+					rejected = new ArrayList<>();
+				}
+				rejected.add(value);
+			} else {
+				result[size++] = converted.getValue();
+			}
+		}
+		onTypeMismatch.handleRejectedValues(rejected);
+		return size == result.length ? result : Arrays.copyOf(result, size);
+	}
 	
 	public <T> T convert(String value, Class<T> expectedClass) {
 		return convert(value, expectedClass, false);
 	}
 
 	public <T> T convert(String value, Class<T> expectedClass, boolean ignoreCase) {
-		if (expectedClass.isEnum()) {
-			return (T) convertToEnum(value, (Class<? extends Enum<?>>) expectedClass, ignoreCase);
-		} else if (expectedClass.isAssignableFrom(Date.class)) {
-			return (T) convertToDate(value);
-		} else if (expectedClass.isAssignableFrom(Calendar.class)) {
-			return (T) convertToCalendar(value);
-		} else if (isAssignableFromAnyOf(expectedClass, Boolean.class, boolean.class)) {
-			return (T) convertToBoolean(value);
-		} else if (isAssignableFromAnyOf(expectedClass, Integer.class, int.class, Long.class, long.class)) {
-			return (T) convertToLong(value);
-		} else if (isAssignableFromAnyOf(expectedClass, float.class, Float.class)) {
-			return (T) convertToFloat(value);
-		} else if (isAssignableFromAnyOf(expectedClass, double.class, Double.class)) {
-			return (T) convertToDouble(value);
-		} else if (isAssignableFromAnyOf(expectedClass, char.class, Character.class)) {
-			return (T) convertToChar(value, ignoreCase);
-		} else if (expectedClass.isAssignableFrom(LocalDateTime.class)) {
-			return (T) convertToLocalDateTime(value);
-		} else if (expectedClass.isAssignableFrom(LocalDate.class)) {
-			return (T) convertToLocalDate(value);
-		} else if (expectedClass.isAssignableFrom(BigDecimal.class)) {
-			return (T) convertToBigDecimal(value);
-		} else if (expectedClass.isAssignableFrom(UUID.class)) {
-			return (T) convertToUUID(value);
-		} else if (expectedClass.isAssignableFrom(OffsetDateTime.class)) {
-			return (T) convertToOffsetDateTime(value);
-		} else if (expectedClass.isAssignableFrom(Instant.class)) {
-			return (T) convertToInstant(value);
-		} else if (expectedClass.isAssignableFrom(Timestamp.class)) {
-			return (T) convertToTimestamp(value);
-		} else if (nonNull(conversionService) && conversionService.canConvert(String.class, expectedClass)) {
-			return conversionService.convert(value, expectedClass);
-		}
-
-		return (T) value;
+		return tryConvert(value, expectedClass, ignoreCase).getOrThrow();
 	}
-	
-	private boolean isAssignableFromAnyOf(Class<?> expectedClass, Class<?>... candidates) {
-		for (Class<?> candidate : candidates) {
-			if (expectedClass.isAssignableFrom(candidate)) {
-				return true;
-			}
-		}
-		return false;
+
+	public <T> ConversionResult<T> tryConvert(String value, Class<T> expectedClass) {
+		return tryConvert(value, expectedClass, false);
 	}
-	
-	private LocalDate convertToLocalDate(String value) {
+
+	/**
+	 * Non-throwing variant of {@link #convert(String, Class, boolean)}
+	 */
+	public <T> ConversionResult<T> tryConvert(String value, Class<T> expectedClass, boolean ignoreCase) {
+		return (ConversionResult<T>) switch (TARGET_TYPES.get(expectedClass)) {
+			case ENUM -> toEnum(value, (Class<? extends Enum<?>>) expectedClass, ignoreCase);
+			case DATE -> toDate(value);
+			case CALENDAR -> toCalendar(value);
+			case BOOLEAN -> toBoolean(value);
+			case LONG -> toLong(value);
+			case FLOAT -> toFloat(value);
+			case DOUBLE -> toDouble(value);
+			case CHAR -> toChar(value, ignoreCase);
+			case LOCAL_DATE_TIME -> toLocalDateTime(value);
+			case LOCAL_DATE -> toLocalDate(value);
+			case BIG_DECIMAL -> toBigDecimal(value);
+			case UUID -> toUUID(value);
+			case OFFSET_DATE_TIME -> toOffsetDateTime(value);
+			case INSTANT -> toInstant(value);
+			case TIMESTAMP -> toTimestamp(value);
+			case OTHER -> ConversionResult.converted(canBeConvertedByConversionService(expectedClass) ? conversionService.convert(value, expectedClass) : value);
+		};
+	}
+
+	private boolean canBeConvertedByConversionService(Class<?> expectedClass) {
+		return nonNull(conversionService) &&
+				convertibleByConversionService.computeIfAbsent(expectedClass, type -> conversionService.canConvert(String.class, type));
+	}
+
+	private ConversionResult<LocalDate> toLocalDate(String value) {
 		String dateFormat = getDateFormat(LocalDate.class);
 		try {
-			DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateFormat);
-			return LocalDate.parse(value, formatter);
+			DateTimeFormatter formatter = formatter(dateFormat);
+			return ConversionResult.converted(LocalDate.parse(value, formatter));
 		} catch (DateTimeParseException | IllegalArgumentException e) {
-			throw new ValueRejectedException(value, "LocalDate format exception, expected format: " + dateFormat, e);
+			return ConversionResult.rejected(value, "LocalDate format exception, expected format: " + dateFormat, e);
 		}
 	}
 	
-	private LocalDateTime convertToLocalDateTime(String value) {
+	private ConversionResult<LocalDateTime> toLocalDateTime(String value) {
 		String dateFormat = getDateFormat(LocalDateTime.class);
 		try {
 			DateTimeFormatter formatter = formatterWithDefaultTime(dateFormat);
-			return LocalDateTime.parse(value, formatter);
+			return ConversionResult.converted(LocalDateTime.parse(value, formatter));
 		} catch (DateTimeParseException | IllegalArgumentException e) {
-			throw new ValueRejectedException(value, "LocalDateTime format exception, expected format: " + dateFormat, e);
+			return ConversionResult.rejected(value, "LocalDateTime format exception, expected format: " + dateFormat, e);
 		}
 	}
 	
-	private Long convertToLong(String value) {
+	private ConversionResult<Long> toLong(String value) {
+		if (!containsOnlyDigits(value)) {
+			return ConversionResult.rejected(value, "number format exception");
+		}
 		try {
-			return Long.valueOf(value);
+			return ConversionResult.converted(Long.valueOf(value));
 		} catch (NumberFormatException e) {
-			throw new ValueRejectedException(value, "number format exception", e);
+			return ConversionResult.rejected(value, "number format exception", e);
 		}
 	}
+
+	/**
+	 * Cheap check that allows to reject most of non-numeric values without {@code NumberFormatException}
+	 */
+	private static boolean containsOnlyDigits(String value) {
+		if (value == null || value.isEmpty()) {
+			return false;
+		}
+		int firstDigitIndex = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0;
+		if (firstDigitIndex == value.length()) {
+			return false;
+		}
+		for (int i = firstDigitIndex; i < value.length(); i++) {
+			if (Character.digit(value.charAt(i), 10) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
 	
-	private Double convertToDouble(String value) {
+	private ConversionResult<Double> toDouble(String value) {
 		try {
-			return Double.valueOf(value);
+			return ConversionResult.converted(Double.valueOf(value));
 		} catch (NumberFormatException e) {
-			throw new ValueRejectedException(value, "number format exception", e);
+			return ConversionResult.rejected(value, "number format exception", e);
 		}
 	}
 
-	private Character convertToChar(String value, boolean ignoreCase) {
+	private ConversionResult<Character> toChar(String value, boolean ignoreCase) {
 		if (value.length() == 1) {
-			return ignoreCase ? Character.toUpperCase(value.charAt(0)) : value.charAt(0);
+			return ConversionResult.converted(ignoreCase ? Character.toUpperCase(value.charAt(0)) : value.charAt(0));
 		} else {
-			throw new ValueRejectedException(value, "value is not a single character exception");
+			return ConversionResult.rejected(value, "value is not a single character exception");
 		}
 	}
 	
-	private Float convertToFloat(String value) {
+	private ConversionResult<Float> toFloat(String value) {
 		try {
-			return Float.valueOf(value);
+			return ConversionResult.converted(Float.valueOf(value));
 		} catch (NumberFormatException e) {
-			throw new ValueRejectedException(value, "number format exception", e);
+			return ConversionResult.rejected(value, "number format exception", e);
 		}
 	}
 	
-	private BigDecimal convertToBigDecimal(String value) {
+	private ConversionResult<BigDecimal> toBigDecimal(String value) {
 		try {
-			return new BigDecimal(value);
+			return ConversionResult.converted(new BigDecimal(value));
 		} catch (NumberFormatException e) {
-			throw new ValueRejectedException(value, "number format exception", e);
+			return ConversionResult.rejected(value, "number format exception", e);
 		}
 	}
 	
-	private Boolean convertToBoolean(String value) {
+	private ConversionResult<Boolean> toBoolean(String value) {
 		if ("true".equals(value)) {
-			return true;
+			return ConversionResult.converted(true);
 		} else if ("false".equals(value)) {
-			return false;
+			return ConversionResult.converted(false);
 		} else {
-			throw new ValueRejectedException(value, "unparseable boolean");
+			return ConversionResult.rejected(value, "unparseable boolean");
 		}
 	}
 	
 	public Date convertToDate(String value) {
+		return toDate(value).getOrThrow();
+	}
+
+	private ConversionResult<Date> toDate(String value) {
 		String dateFormat = getDateFormat(Date.class);
 		try {
-			validateDateFormat(dateFormat, value);
-			return new SimpleDateFormat(dateFormat).parse(value);
-		} catch (ParseException | DateTimeParseException e) {
-			throw new ValueRejectedException(value, "Date format exception, expected format: " + dateFormat, e);
+			return ConversionResult.converted(Date.from(parseInstant(dateFormat, value)));
+		} catch (ParseException | DateTimeException e) {
+			return ConversionResult.rejected(value, "Date format exception, expected format: " + dateFormat, e);
 		}
 	}
 
 	public Calendar convertToCalendar(String value) {
-		String dateFormat = getDateFormat(Date.class);
-		try {
-			validateDateFormat(dateFormat, value);
+		return toCalendar(value).getOrThrow();
+	}
+
+	private ConversionResult<Calendar> toCalendar(String value) {
+		return toDate(value).map(date -> {
 			Calendar cal = Calendar.getInstance();
-			cal.setTime(new SimpleDateFormat(dateFormat).parse(value));
+			cal.setTime(date);
 			return cal;
-		} catch (ParseException | DateTimeParseException e) {
-			throw new ValueRejectedException(value, "Date format exception, expected format: " + dateFormat, e);
-		}
+		});
 	}
 	
 	public String getDateFormat(Class<?> clazz) {
 		if (dateFormat == null) {
-			return DEFAULT_DATE_FORMATS.get(clazz);
+			return defaultDateFormats.get(clazz);
 		}
 		
 		return dateFormat;
 	}
 	
 	public UUID convertToUUID(String value) {
+		return toUUID(value).getOrThrow();
+	}
+
+	private ConversionResult<UUID> toUUID(String value) {
 		try {
-			return UUID.fromString(value);
+			return ConversionResult.converted(UUID.fromString(value));
 		} catch (IllegalArgumentException e) {
-			throw new ValueRejectedException(value, "unparseable uuid", e);
+			return ConversionResult.rejected(value, "unparseable uuid", e);
 		}
 	}
 	
 	public OffsetDateTime convertToOffsetDateTime(String value) {
+		return toOffsetDateTime(value).getOrThrow();
+	}
+
+	private ConversionResult<OffsetDateTime> toOffsetDateTime(String value) {
 		String dateFormat = getDateFormat(OffsetDateTime.class);
 		try {
 			DateTimeFormatter formatter = formatterWithDefaultTime(dateFormat);
-			return OffsetDateTime.parse(value, formatter);
+			return ConversionResult.converted(OffsetDateTime.parse(value, formatter));
 		} catch (DateTimeParseException | IllegalArgumentException e) {
-			throw new ValueRejectedException(value, "OffsetDateTime format exception, expected format: " + dateFormat, e);
+			return ConversionResult.rejected(value, "OffsetDateTime format exception, expected format: " + dateFormat, e);
 		}
 	}
 	
 	public Instant convertToInstant(String value) {
+		return toInstant(value).getOrThrow();
+	}
+
+	private ConversionResult<Instant> toInstant(String value) {
 		String dateFormat = getDateFormat(Instant.class);
 		try {
-			return Instant.from(formatterWithDefaultTime(dateFormat).parse(value));
+			return ConversionResult.converted(Instant.from(formatterWithDefaultTime(dateFormat).parse(value)));
 		} catch (DateTimeParseException | IllegalArgumentException e) {
-			throw new ValueRejectedException(value, "Instant format exception, expected format: " + dateFormat, e);
+			return ConversionResult.rejected(value, "Instant format exception, expected format: " + dateFormat, e);
 		}
 	}
 
-	private <T> T convertToEnum(String value, Class<? extends Enum<?>> enumClass, Boolean ignoreCase) {
-		BiFunction<Enum<?>, String, Boolean> enumMatcher = ignoreCase ? enumMatcherCaseInsensitive : enumMatcherCaseSensitive;
-		for (Enum<?> enumVal : enumClass.getEnumConstants()) {
-			if (enumMatcher.apply(enumVal, value)) {
-				return (T) enumVal;
-			}
+	private ConversionResult<Enum<?>> toEnum(String value, Class<? extends Enum<?>> enumClass, boolean ignoreCase) {
+		EnumIndex enumIndex = EnumIndex.of(enumClass);
+		Enum<?> enumVal = ignoreCase ? enumIndex.getIgnoringCase(value, locale) : enumIndex.get(value);
+		if (enumVal != null) {
+			return ConversionResult.converted(enumVal);
 		}
-		throw new ValueRejectedException(value, "could not find value " + value + " for enum class " + enumClass.getSimpleName());
+		return ConversionResult.rejected(value, "could not find value " + value + " for enum class " + enumClass.getSimpleName());
 	}
 
-	private Timestamp convertToTimestamp(String value) {
+	private ConversionResult<Timestamp> toTimestamp(String value) {
 		String dateFormat = getDateFormat(Timestamp.class);
 		try {
-			validateDateFormat(dateFormat, value);
-			SimpleDateFormat simpleDateFormat = new SimpleDateFormat(dateFormat);
-			Date parsedDate = simpleDateFormat.parse(value);
-			return new Timestamp(parsedDate.getTime());
+			return ConversionResult.converted(Timestamp.from(parseInstant(dateFormat, value)));
 		} catch (Exception e) {
-			throw new ValueRejectedException(value, "Timestamp format exception, expected format: " + dateFormat, e);
+			return ConversionResult.rejected(value, "Timestamp format exception, expected format: " + dateFormat, e);
 		}
 	}
 
-	private void validateDateFormat(String expectedDateFormatPattern, String date) throws DateTimeParseException {
-		DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern(expectedDateFormatPattern)
+	/**
+	 * Parses legacy date types with a single pass of a strict {@code java.time} formatter (which also validates the format).
+	 * Date fields are resolved leniently (e.g. {@code 2023-02-30} is {@code 2023-03-02}) and missing time fields default to midnight
+	 * in the system timezone (unless the pattern contains an offset), the same way as {@code SimpleDateFormat} does.
+	 * {@code SimpleDateFormat} is still used as a fallback for patterns which cannot be resolved into a full date and time this way,
+	 * as well as for patterns with an abbreviated year (e.g. {@code yy}, which {@code SimpleDateFormat} resolves within a sliding
+	 * window of centuries, so that {@code 99} is {@code 1999}) or an era, which {@code java.time} resolves differently.
+	 * Fractions of a second more precise than milliseconds are kept (they are used by {@code Timestamp}).
+	 */
+	private Instant parseInstant(String dateFormat, String value) throws ParseException {
+		TemporalAccessor parsed = STRICT_FORMATTERS.computeIfAbsent(dateFormat, Converter::strictFormatter).parse(value);
+		ZonedDateTime dateTime = isLegacyYearPattern(dateFormat) ? null : toZonedDateTime(parsed);
+		if (dateTime != null) {
+			return dateTime.toInstant();
+		}
+		return new SimpleDateFormat(dateFormat).parse(value).toInstant();
+	}
+
+	private static ZonedDateTime toZonedDateTime(TemporalAccessor parsed) {
+		LocalDate date = parsed.query(TemporalQueries.localDate());
+		if (date == null) {
+			if (!(parsed.isSupported(ChronoField.YEAR_OF_ERA) && parsed.isSupported(ChronoField.MONTH_OF_YEAR) && parsed.isSupported(ChronoField.DAY_OF_MONTH))) {
+				return null;
+			}
+			date = LocalDate.of(0, 1, 1)
+					.plusYears(parsed.getLong(ChronoField.YEAR_OF_ERA))
+					.plusMonths(parsed.getLong(ChronoField.MONTH_OF_YEAR) - 1)
+					.plusDays(parsed.getLong(ChronoField.DAY_OF_MONTH) - 1);
+		}
+
+		LocalTime time = parsed.query(TemporalQueries.localTime());
+		if (time == null) {
+			if (containsUnresolvedTimeFields(parsed)) {
+				return null;
+			}
+			time = LocalTime.MIDNIGHT;
+		}
+
+		ZoneId zone = parsed.query(TemporalQueries.zone());
+		return ZonedDateTime.of(date, time, zone != null ? zone : ZoneId.systemDefault());
+	}
+
+	private static boolean isLegacyYearPattern(String dateFormat) {
+		return LEGACY_YEAR_PATTERNS.computeIfAbsent(dateFormat, pattern -> {
+			boolean quoted = false;
+			for (int i = 0; i < pattern.length(); i++) {
+				char letter = pattern.charAt(i);
+				if (letter == '\'') {
+					quoted = !quoted;
+				} else if (!quoted && letter == 'G') {
+					return true;
+				} else if (!quoted && (letter == 'y' || letter == 'Y')) {
+					int count = 1;
+					while (i + 1 < pattern.length() && pattern.charAt(i + 1) == letter) {
+						count++;
+						i++;
+					}
+					if (count <= 2) {
+						return true;
+					}
+				}
+			}
+			return false;
+		});
+	}
+
+	private static boolean containsUnresolvedTimeFields(TemporalAccessor parsed) {
+		return parsed.isSupported(ChronoField.HOUR_OF_DAY) || parsed.isSupported(ChronoField.HOUR_OF_AMPM)
+				|| parsed.isSupported(ChronoField.CLOCK_HOUR_OF_DAY) || parsed.isSupported(ChronoField.CLOCK_HOUR_OF_AMPM)
+				|| parsed.isSupported(ChronoField.MINUTE_OF_HOUR) || parsed.isSupported(ChronoField.SECOND_OF_MINUTE)
+				|| parsed.isSupported(ChronoField.MILLI_OF_SECOND) || parsed.isSupported(ChronoField.NANO_OF_SECOND);
+	}
+
+	private static DateTimeFormatter strictFormatter(String dateFormat) {
+		return DateTimeFormatter.ofPattern(dateFormat)
 				.withResolverStyle(ResolverStyle.STRICT);
-		dateFormatter.parse(date);
+	}
+
+	static DateTimeFormatter formatter(String dateFormat) {
+		return FORMATTERS.computeIfAbsent(dateFormat, DateTimeFormatter::ofPattern);
 	}
 
 	private DateTimeFormatter formatterWithDefaultTime(String dateFormat) {
-		return new DateTimeFormatterBuilder()
-				.appendPattern(dateFormat)
+		return FORMATTERS_WITH_DEFAULT_TIME.computeIfAbsent(dateFormat, pattern -> new DateTimeFormatterBuilder()
+				.appendPattern(pattern)
 				.parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
 				.parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
 				.parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
 				.parseDefaulting(ChronoField.NANO_OF_SECOND, 0)
 				.parseDefaulting(ChronoField.OFFSET_SECONDS, 0)
-				.toFormatter();
+				.toFormatter());
 	}
 
 	@Override
@@ -355,6 +614,7 @@ public final class Converter {
 		final int prime = 31;
 		int result = 1;
 		result = prime * result + ((dateFormat == null) ? 0 : dateFormat.hashCode());
+		result = prime * result + ((defaultDateFormats == null) ? 0 : defaultDateFormats.hashCode());
 		result = prime * result + ((onTypeMismatch == null) ? 0 : onTypeMismatch.hashCode());
 		return result;
 	}
@@ -369,6 +629,7 @@ public final class Converter {
 		}
 		Converter converter = (Converter) o;
 		return Objects.equals(dateFormat, converter.dateFormat) &&
+				Objects.equals(defaultDateFormats, converter.defaultDateFormats) &&
 				onTypeMismatch == converter.onTypeMismatch;
 	}
 
@@ -378,11 +639,19 @@ public final class Converter {
 	}
 	
 	public static Converter withDateFormat(String dateFormat, OnTypeMismatch onTypeMismatch, ConversionService conversionService) {
-		return new Converter(dateFormat, onTypeMismatch, conversionService, Locale.getDefault());
+		return new Converter(dateFormat, DEFAULT_DATE_FORMATS, onTypeMismatch, conversionService, Locale.getDefault());
 	}
 	
 	public static Converter withTypeMismatchBehaviour(OnTypeMismatch onTypeMismatch, ConversionService conversionService, Locale locale) {
-		return new Converter(null, onTypeMismatch, conversionService, locale);
+		return new Converter(null, DEFAULT_DATE_FORMATS, onTypeMismatch, conversionService, locale);
+	}
+
+	/**
+	 * @return the converter parsing values of keyset cursors, i.e. dates in the full-precision formats used by {@link KeysetCursor}
+	 *         (regardless of the date formats of specifications)
+	 */
+	public static Converter forKeysetCursor(OnTypeMismatch onTypeMismatch, ConversionService conversionService, Locale locale) {
+		return new Converter(null, KEYSET_CURSOR_DATE_FORMATS, onTypeMismatch, conversionService, locale);
 	}
 	
 }
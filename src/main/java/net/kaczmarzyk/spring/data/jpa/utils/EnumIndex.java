@@ -0,0 +1,74 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup of enum constants by name, built lazily once per enum class.
+ * Case-insensitive lookups use a separate index of upper-cased names for each locale.
+ */
+final class EnumIndex {
+
+	private static final ClassValue<EnumIndex> INDEXES = new ClassValue<>() {
+		@Override
+		protected EnumIndex computeValue(Class<?> enumClass) {
+			return new EnumIndex(enumClass);
+		}
+	};
+
+	private final Enum<?>[] constants;
+	private final Map<String, Enum<?>> constantsByName;
+	private final Map<Locale, Map<String, Enum<?>>> constantsByUpperCaseName = new ConcurrentHashMap<>();
+
+	private EnumIndex(Class<?> enumClass) {
+		this.constants = (Enum<?>[]) enumClass.getEnumConstants();
+		this.constantsByName = indexBy(constants, null);
+	}
+
+	static EnumIndex of(Class<?> enumClass) {
+		return INDEXES.get(enumClass);
+	}
+
+	/**
+	 * @return matching constant or {@code null} if there is none
+	 */
+	Enum<?> get(String name) {
+		return constantsByName.get(name);
+	}
+
+	/**
+	 * @return matching constant or {@code null} if there is none
+	 */
+	Enum<?> getIgnoringCase(String name, Locale locale) {
+		return constantsByUpperCaseName
+				.computeIfAbsent(locale, key -> indexBy(constants, key))
+				.get(name.toUpperCase(locale));
+	}
+
+	private static Map<String, Enum<?>> indexBy(Enum<?>[] constants, Locale upperCaseLocale) {
+		Map<String, Enum<?>> index = new HashMap<>();
+		for (Enum<?> constant : constants) {
+			String key = upperCaseLocale == null ? constant.name() : constant.name().toUpperCase(upperCaseLocale);
+			index.putIfAbsent(key, constant); // the first declared constant wins if names differ only by case
+		}
+		return Collections.unmodifiableMap(index);
+	}
+}
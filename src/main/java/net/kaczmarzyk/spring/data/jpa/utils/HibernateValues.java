@@ -0,0 +1,40 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.utils;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.sqm.tree.expression.SqmExpression;
+
+/**
+ * Plain values rendered by Hibernate, i.e. as bound parameters or literals depending on {@code hibernate.criteria.value_handling_mode},
+ * with the type inferred from the target expression. Loaded only if Hibernate is on the classpath.
+ */
+final class HibernateValues {
+
+	private HibernateValues() {
+	}
+
+	static boolean supports(CriteriaBuilder cb) {
+		return cb instanceof HibernateCriteriaBuilder;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <T> Expression<T> value(CriteriaBuilder cb, Expression<?> target, T value) {
+		return ((HibernateCriteriaBuilder) cb).value(value, (SqmExpression<? extends T>) target);
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.utils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>{@link BodyParams} backed by a Jackson tree. It can reuse a tree which has already been read by Spring MVC
+ * (e.g. a {@code @RequestBody JsonNode} handler parameter) or the bytes of a body buffered while reading it for
+ * a {@code @RequestBody} object by a message converter other than the Jackson one (see {@code RequestBodyParamsAdvice}),
+ * so the body does not have to be read from the request again. Bytes are parsed lazily, when values are requested for the first time.</p>
+ *
+ * <p>Values are the same as in {@link JsonBodyParams} (numbers are returned as they appear in the body),
+ * errors are reported as {@link IllegalArgumentException}s.</p>
+ */
+public final class JacksonBodyParams implements BodyParams {
+
+	private static final String DOT_DELIMITER = "\\.";
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+			.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+			.setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
+
+	private final byte[] requestBody;
+	private JsonNode tree;
+
+	private JacksonBodyParams(byte[] requestBody, JsonNode tree) {
+		this.requestBody = requestBody;
+		this.tree = tree;
+	}
+
+	public static JacksonBodyParams of(JsonNode tree) {
+		return new JacksonBodyParams(null, tree);
+	}
+
+	public static JacksonBodyParams of(byte[] requestBody) {
+		return new JacksonBodyParams(requestBody, null);
+	}
+
+	@Override
+	public Collection<String> getParamValues(String paramKey) {
+		JsonNode node = tree();
+		for (String key : paramKey.split(DOT_DELIMITER, -1)) {
+			if (node == null) {
+				// one of the parent nodes is not present
+				return Collections.emptyList();
+			}
+			if (!node.isObject()) {
+				throw new IllegalArgumentException("Failed parse JSON node with key " + key + ". Should be JSON object");
+			}
+			node = node.get(key);
+		}
+		return node != null ? valuesOf(paramKey, node) : Collections.emptyList();
+	}
+
+	private synchronized JsonNode tree() {
+		if (tree == null) {
+			try {
+				tree = OBJECT_MAPPER.readTree(requestBody);
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Request body is not a valid JSON", e);
+			}
+		}
+		return tree;
+	}
+
+	private static Collection<String> valuesOf(String paramKey, JsonNode node) {
+		if (node.isObject()) {
+			throw new IllegalArgumentException("Value by key should be primitive or array primitives. Found: JSON object at " + paramKey);
+		} else if (node.isArray()) {
+			List<String> result = new ArrayList<>(node.size());
+			for (JsonNode element : node) {
+				if (!element.isValueNode() || element.isNull()) {
+					throw new IllegalArgumentException("Array by key contains not primitives. Path: " + paramKey);
+				}
+				result.add(element.asText());
+			}
+			return result;
+		} else if (node.isValueNode() && !node.isNull()) {
+			return Collections.singletonList(node.asText());
+		}
+		return Collections.emptyList();
+	}
+}
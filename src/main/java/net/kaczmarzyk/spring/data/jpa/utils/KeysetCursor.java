@@ -0,0 +1,130 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.utils;
+
+import net.kaczmarzyk.spring.data.jpa.web.annotation.OnTypeMismatch;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAccessor;
+import java.util.Base64;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>Opaque cursor of the keyset pagination (see {@link net.kaczmarzyk.spring.data.jpa.domain.Keyset}),
+ * i.e. the values of the sort keys of the last row of a page, encoded into a single URL-safe string.</p>
+ *
+ * <p>Dates are formatted with the full precision of their types (e.g. nanoseconds of {@code LocalDateTime}
+ * and milliseconds of {@code Date}), regardless of the date formats of specifications, so that the rows with the same
+ * day or second are not skipped nor repeated. Values are parsed back by the converter created with
+ * {@link Converter#forKeysetCursor(OnTypeMismatch, org.springframework.core.convert.ConversionService, Locale)}.</p>
+ */
+public final class KeysetCursor {
+
+	private static final Converter CONVERTER = Converter.forKeysetCursor(OnTypeMismatch.EXCEPTION, null, Locale.getDefault());
+
+	private static final String SEPARATOR = ".";
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private KeysetCursor() {
+	}
+
+	/**
+	 * @return the cursor pointing at the last of the rows (e.g. the content of a page)
+	 *         or {@code null} if there are no rows (i.e. there is no next page)
+	 */
+	public static String next(List<?> rows, String... keys) {
+		if (rows == null || rows.isEmpty()) {
+			return null;
+		}
+		return of(rows.get(rows.size() - 1), keys);
+	}
+
+	/**
+	 * @return the cursor pointing at the given row, i.e. encoded values of its properties under the sort keys
+	 *         (which can be nested paths, such as {@code address.city}). Values are formatted according to the declared
+	 *         types of the properties (e.g. a {@code Timestamp} loaded into a {@code Date} property is formatted as a {@code Date}).
+	 */
+	public static String of(Object row, String... keys) {
+		BeanWrapper properties = PropertyAccessorFactory.forBeanPropertyAccess(row);
+		String[] values = new String[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			Object value = properties.getPropertyValue(keys[i]);
+			if (value == null) {
+				throw new IllegalArgumentException("Keyset pagination does not support null values of sort keys, but '" + keys[i] + "' is null");
+			}
+			Class<?> type = properties.getPropertyType(keys[i]);
+			values[i] = format(value, type != null ? type : value.getClass());
+		}
+		return encode(values);
+	}
+
+	public static String encode(String... values) {
+		StringBuilder cursor = new StringBuilder();
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				cursor.append(SEPARATOR);
+			}
+			cursor.append(ENCODER.encodeToString(values[i].getBytes(StandardCharsets.UTF_8)));
+		}
+		return cursor.toString();
+	}
+
+	public static String[] decode(String cursor) {
+		String[] values = cursor.split("\\" + SEPARATOR, -1);
+		try {
+			for (int i = 0; i < values.length; i++) {
+				values[i] = new String(DECODER.decode(values[i]), StandardCharsets.UTF_8);
+			}
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid keyset cursor: '" + cursor + "'", e);
+		}
+		return values;
+	}
+
+	static String format(Object value, Class<?> type) {
+		if (value instanceof Enum) {
+			return ((Enum<?>) value).name();
+		} else if (value instanceof Timestamp && type == Timestamp.class) {
+			return format(((Timestamp) value).toInstant(), Timestamp.class);
+		} else if (value instanceof Date) {
+			return format(Instant.ofEpochMilli(((Date) value).getTime()), Date.class);
+		} else if (value instanceof Calendar) {
+			return format(((Calendar) value).toInstant(), Date.class);
+		} else if (value instanceof Instant) {
+			return format((Instant) value, Instant.class);
+		} else if (value instanceof LocalDate || value instanceof LocalDateTime || value instanceof OffsetDateTime) {
+			return Converter.formatter(CONVERTER.getDateFormat(value.getClass())).format((TemporalAccessor) value);
+		}
+		return value.toString();
+	}
+
+	private static String format(Instant value, Class<?> type) {
+		return Converter.formatter(CONVERTER.getDateFormat(type)).format(value.atOffset(ZoneOffset.UTC));
+	}
+}
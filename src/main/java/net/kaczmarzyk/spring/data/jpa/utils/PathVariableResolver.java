@@ -16,16 +16,24 @@
 package net.kaczmarzyk.spring.data.jpa.utils;
 
 import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.server.PathContainer;
 import org.springframework.util.AntPathMatcher;
-import org.springframework.util.PathMatcher;
-import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.lang.reflect.Executable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Objects.nonNull;
@@ -38,7 +46,9 @@ import static java.util.Objects.nonNull;
  * *
  * * The fallback approach, resolves variables by comparison of:
  * * * actual request path - {@link HttpServletRequest#getPathInfo()} or {@link HttpServletRequest#getRequestURI()} (when getPathInfo() is a null)
- * * * path pattern - it is calculated using information included in the annotations: @RequestMapping, @GetMapping on the method and class level.
+ * * * path pattern - it is calculated using information included in the annotations: @RequestMapping and its variants (@GetMapping, @PostMapping etc.) on the method and class level.
+ * * Path patterns are parsed into {@link PathPattern}s once per handler method and cached (per controller class, so that the cache does not keep
+ * * the classes loaded). Patterns not supported by {@link PathPatternParser} (e.g. {@code /**}{@code /customers/{id}}) are matched with {@link AntPathMatcher}.
  * * The fallback mechanism does not support URIs consisting from global prefix defined for example via: {@link org.springframework.web.servlet.config.annotation.PathMatchConfigurer#addPathPrefix PathMatchConfigurer::addPathPrefix}
  *
  * @author Tomasz Kaczmarzyk
@@ -46,6 +56,15 @@ import static java.util.Objects.nonNull;
  */
 public abstract class PathVariableResolver {
 
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    private static final ClassValue<Map<Executable, List<PathTemplate>>> PATH_TEMPLATES = new ClassValue<>() {
+        @Override
+        protected Map<Executable, List<PathTemplate>> computeValue(Class<?> controllerClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     public static Map<String, String> resolvePathVariables(NativeWebRequest nativeWebRequest, MethodParameter methodParameter) {
         Map<String, String> pathVariables = (Map) nativeWebRequest.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, WebRequest.SCOPE_REQUEST);
 
@@ -53,46 +72,56 @@ public abstract class PathVariableResolver {
             return pathVariables;
         }
 
-        return resolvePathVariables(pathPattern(methodParameter), actualWebPath(nativeWebRequest));
+        List<PathTemplate> pathTemplates = PATH_TEMPLATES.get(methodParameter.getContainingClass())
+                .computeIfAbsent(methodParameter.getExecutable(), handlerMethod -> pathTemplates(methodParameter));
+        return resolvePathVariables(pathTemplates, actualWebPath(nativeWebRequest));
     }
 
-    private static Map<String, String> resolvePathVariables(String pathPattern, String actualPath) {
-        PathMatcher pathMatcher = new AntPathMatcher();
-
-        if (pathMatcher.match(pathPattern, actualPath)) {
-            return pathMatcher.extractUriTemplateVariables(pathPattern, actualPath);
-        } else {
-            return emptyMap();
+    private static Map<String, String> resolvePathVariables(List<PathTemplate> pathTemplates, String actualPath) {
+        PathContainer parsedPath = PathContainer.parsePath(actualPath);
+        for (PathTemplate pathTemplate : pathTemplates) {
+            Map<String, String> pathVariables = pathTemplate.matchAndExtract(actualPath, parsedPath);
+            if (pathVariables != null) {
+                return pathVariables;
+            }
         }
+        return emptyMap();
     }
 
-    private static String pathPattern(MethodParameter methodParameter) {
-        String pathPattern = null;
-
-        Class<?> controllerClass = methodParameter.getContainingClass();
-        if (controllerClass.getAnnotation(RequestMapping.class) != null) {
-            RequestMapping controllerMapping = controllerClass.getAnnotation(RequestMapping.class);
-            pathPattern = firstOf(controllerMapping.value(), controllerMapping.path());
-        }
-
-        String methodPathPattern = null;
-
-        if (methodParameter.hasMethodAnnotation(RequestMapping.class)) {
-            RequestMapping methodMapping = methodParameter.getMethodAnnotation(RequestMapping.class);
-            methodPathPattern = firstOf(methodMapping.value(), methodMapping.path());
-        } else if (methodParameter.hasMethodAnnotation(GetMapping.class)) {
-            GetMapping methodMapping = methodParameter.getMethodAnnotation(GetMapping.class);
-            methodPathPattern = firstOf(methodMapping.value(), methodMapping.path());
+    /**
+     * Each class-level pattern is combined with each method-level pattern (the first matching one is used for resolving variables)
+     */
+    private static List<PathTemplate> pathTemplates(MethodParameter methodParameter) {
+        RequestMapping controllerMapping = AnnotatedElementUtils.findMergedAnnotation(methodParameter.getContainingClass(), RequestMapping.class);
+        RequestMapping methodMapping = AnnotatedElementUtils.findMergedAnnotation(methodParameter.getExecutable(), RequestMapping.class);
+
+        List<String> controllerPatterns = patternsOf(controllerMapping);
+        List<String> methodPatterns = patternsOf(methodMapping);
+
+        List<PathTemplate> pathTemplates = new ArrayList<>();
+        for (String controllerPattern : controllerPatterns) {
+            for (String methodPattern : methodPatterns) {
+                String pathPattern = controllerPattern + methodPattern;
+                if (!pathPattern.isEmpty()) {
+                    pathTemplates.add(PathTemplate.of(pathPattern.startsWith("/") ? pathPattern : "/" + pathPattern));
+                }
+            }
         }
 
-        if (methodPathPattern != null) {
-            pathPattern = pathPattern != null ? pathPattern + methodPathPattern : methodPathPattern;
+        if (pathTemplates.isEmpty()) {
+            throw new IllegalStateException("path pattern could not be resolved (searched for @RequestMapping, @GetMapping, @PostMapping etc.)");
         }
+        return Collections.unmodifiableList(pathTemplates);
+    }
 
-        if (pathPattern.isEmpty()) {
-            throw new IllegalStateException("path pattern could not be resolved (searched for @RequestMapping or @GetMapping)");
+    /**
+     * @return patterns of the mapping or a single empty pattern if there are none (so that patterns can be combined with the other level)
+     */
+    private static List<String> patternsOf(RequestMapping mapping) {
+        if (mapping == null || mapping.path().length == 0) {
+            return Collections.singletonList("");
         }
-        return pathPattern;
+        return List.of(mapping.path());
     }
 
     private static String actualWebPath(NativeWebRequest nativeWebRequest) {
@@ -100,12 +129,37 @@ public abstract class PathVariableResolver {
         return request.getPathInfo() != null ? request.getPathInfo() : request.getRequestURI().substring(request.getContextPath().length());
     }
 
-    private static String firstOf(String[] array1, String[] array2) {
-        if (array1.length > 0) {
-            return array1[0];
-        } else if (array2.length > 0) {
-            return array2[0];
+    /**
+     * A path pattern parsed by {@link PathPatternParser} or, if it is not supported by the parser (e.g. {@code **} in the middle of the pattern),
+     * a pattern matched by {@link AntPathMatcher} (which caches parsed patterns itself)
+     */
+    private static final class PathTemplate {
+
+        private final PathPattern pathPattern;
+        private final String antPattern;
+
+        private PathTemplate(PathPattern pathPattern, String antPattern) {
+            this.pathPattern = pathPattern;
+            this.antPattern = antPattern;
+        }
+
+        static PathTemplate of(String pattern) {
+            try {
+                return new PathTemplate(PathPatternParser.defaultInstance.parse(pattern), null);
+            } catch (PatternParseException e) {
+                return new PathTemplate(null, pattern);
+            }
+        }
+
+        /**
+         * @return variables extracted from the path or {@code null} if the path does not match
+         */
+        Map<String, String> matchAndExtract(String path, PathContainer parsedPath) {
+            if (pathPattern != null) {
+                PathPattern.PathMatchInfo matchInfo = pathPattern.matchAndExtract(parsedPath);
+                return matchInfo != null ? matchInfo.getUriVariables() : null;
+            }
+            return ANT_PATH_MATCHER.match(antPattern, path) ? ANT_PATH_MATCHER.extractUriTemplateVariables(antPattern, path) : null;
         }
-        return null;
     }
 }
@@ -17,6 +17,7 @@ package net.kaczmarzyk.spring.data.jpa.utils;
 
 import jakarta.persistence.criteria.Fetch;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Root;
 import java.util.function.Function;
 
@@ -38,4 +39,60 @@ public interface QueryContext {
 
     void putEvaluatedJoinFetch(String key, Fetch<?, ?> fetch);
 
+    /**
+     * Returns the join fetch evaluated for the given root (i.e. for the given query)
+     */
+    default Fetch<?, ?> getEvaluatedJoinFetch(String key, Root<?> root) {
+        return getEvaluatedJoinFetch(key);
+    }
+
+    /**
+     * Stores the join fetch evaluated for the given root (i.e. for the given query)
+     */
+    default void putEvaluatedJoinFetch(String key, Root<?> root, Fetch<?, ?> fetch) {
+        putEvaluatedJoinFetch(key, fetch);
+    }
+
+    /**
+     * Returns the path (e.g. {@code "address.city"}) resolved for the given root, using the resolver only if
+     * the path has not been resolved for this root yet
+     */
+    default Path<?> getEvaluatedPath(String path, Root<?> root, Function<Root<?>, Path<?>> resolver) {
+        return resolver.apply(root);
+    }
+
+    /**
+     * Returns the join if it has already been evaluated for the given root. Contexts which do not track evaluated joins
+     * may evaluate the join, which is the default.
+     */
+    default Join<?, ?> getEvaluatedIfPresent(String key, Root<?> root) {
+        return getEvaluated(key, root);
+    }
+
+    /**
+     * Marks the fake specification (e.g. a join fetch) as initialized for the given root (i.e. for the given query),
+     * so that it is initialized only once per query even if the specification is reused. Contexts which do not track
+     * the state of roots may initialize the fake each time, which is the default.
+     *
+     * @return {@code true} if the fake has not been initialized for the root yet
+     */
+    default boolean markFakeInitialized(Object fake, Root<?> root) {
+        return true;
+    }
+
+    /**
+     * Marks the join as a semi-join, i.e. specs referencing it are rendered into a correlated {@code EXISTS} subquery
+     * (see {@code JoinStrategy.EXISTS}). Specs referencing joins of the same group are rendered into the same subquery.
+     */
+    default void putSemiJoin(String key, String group) {
+    }
+
+    /**
+     * Returns the group of the semi-join with the given key, or {@code null} if the join is a regular one
+     * or the root is already a correlated root of an {@code EXISTS} subquery (in which the join is evaluated directly)
+     */
+    default String getSemiJoinGroup(String key, Root<?> root) {
+        return null;
+    }
+
 }
@@ -0,0 +1,179 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.utils;
+
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.ParameterExpression;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * <p>Binding of values used by specifications as JPA query parameters.</p>
+ *
+ * <p>By default, specifications render the values as plain values (see {@link #value}) and it is up to the JPA provider
+ * (and its configuration) whether they are rendered as literals or as parameters. While a query is built with
+ * {@link #bindCollected(Supplier)} (see {@code ParameterBindingJpaRepository}), specifications render their values
+ * as {@link ParameterExpression}s instead, so the SQL generated for a given filter shape is the same regardless of
+ * the actual values. The values are bound to the created query afterwards.</p>
+ */
+public final class QueryParameters {
+
+	private static final ThreadLocal<List<Binding<?>>> BINDINGS = new ThreadLocal<>();
+
+	private static final boolean HIBERNATE_PRESENT = org.springframework.util.ClassUtils.isPresent(
+			"org.hibernate.query.criteria.HibernateCriteriaBuilder", QueryParameters.class.getClassLoader());
+
+	private QueryParameters() {
+	}
+
+	/**
+	 * Creates the query with specifications rendering their values as parameters and binds the values to the created query
+	 */
+	public static <Q extends Query> Q bindCollected(Supplier<Q> queryFactory) {
+		List<Binding<?>> outerBindings = BINDINGS.get();
+		List<Binding<?>> bindings = new ArrayList<>();
+		BINDINGS.set(bindings);
+
+		Q query;
+		try {
+			query = queryFactory.get();
+		} finally {
+			if (outerBindings == null) {
+				BINDINGS.remove();
+			} else {
+				BINDINGS.set(outerBindings);
+			}
+		}
+
+		for (Binding<?> binding : bindings) {
+			binding.bindTo(query);
+		}
+		return query;
+	}
+
+	/**
+	 * @return {@code true} if the query being currently built should have its values rendered as parameters
+	 */
+	public static boolean isEnabled() {
+		return BINDINGS.get() != null;
+	}
+
+	/**
+	 * Creates a parameter of the type of the target expression (e.g. the path which is compared with the value)
+	 * and registers the value to be bound to it. Must be called only if {@link #isEnabled()}.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Expression<T> parameter(CriteriaBuilder cb, Expression<?> target, T value) {
+		Class<T> type = (Class<T>) parameterType(target, value);
+		ParameterExpression<T> parameter = cb.parameter(type);
+		currentBindings().add(new Binding<>(parameter, value));
+		return parameter;
+	}
+
+	/**
+	 * Creates a separate parameter for each value, e.g. to be used in an {@code in} predicate
+	 */
+	public static Expression<?>[] parameters(CriteriaBuilder cb, Expression<?> target, Collection<?> values) {
+		Expression<?>[] parameters = new Expression<?>[values.size()];
+		int i = 0;
+		for (Object value : values) {
+			parameters[i++] = parameter(cb, target, value);
+		}
+		return parameters;
+	}
+
+	/**
+	 * Creates the expression of the value compared with the target expression: a parameter if {@link #isEnabled()},
+	 * or the plain value rendered by the JPA provider in its default way otherwise (with Hibernate, it is the same
+	 * expression it creates for values passed directly to the {@code CriteriaBuilder}; other providers get a literal)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Expression<T> value(CriteriaBuilder cb, Expression<?> target, T value) {
+		if (isEnabled()) {
+			return parameter(cb, target, value);
+		}
+		if (HIBERNATE_PRESENT && HibernateValues.supports(cb)) {
+			return HibernateValues.value(cb, target, value);
+		}
+		return value != null ? cb.literal(value) : cb.nullLiteral((Class<T>) parameterType(target, null));
+	}
+
+	/**
+	 * Variant of {@link #value} for a list of values, e.g. to be used in an {@code in} predicate
+	 */
+	public static Expression<?>[] values(CriteriaBuilder cb, Expression<?> target, Collection<?> values) {
+		Expression<?>[] expressions = new Expression<?>[values.size()];
+		int i = 0;
+		for (Object value : values) {
+			expressions[i++] = value(cb, target, value);
+		}
+		return expressions;
+	}
+
+	/**
+	 * Creates a single parameter for the whole array (e.g. {@code long[]} created by {@link Converter#convertToArray})
+	 * and registers the array to be bound to it. Must be called only if {@link #isEnabled()}.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <A> Expression<A> arrayParameter(CriteriaBuilder cb, A array) {
+		if (array == null || !array.getClass().isArray()) {
+			throw new IllegalArgumentException("Expected an array, but was: " + array);
+		}
+		ParameterExpression<A> parameter = cb.parameter((Class<A>) array.getClass());
+		currentBindings().add(new Binding<>(parameter, array));
+		return parameter;
+	}
+
+	private static Class<?> parameterType(Expression<?> target, Object value) {
+		Class<?> targetType = target.getJavaType() != null ? ClassUtils.primitiveToWrapper(target.getJavaType()) : null;
+		if (targetType != null && targetType != Object.class && (value == null || targetType.isInstance(value))) {
+			return targetType;
+		}
+		if (value == null) {
+			return Object.class;
+		}
+		return value instanceof Enum ? ((Enum<?>) value).getDeclaringClass() : value.getClass();
+	}
+
+	private static List<Binding<?>> currentBindings() {
+		List<Binding<?>> bindings = BINDINGS.get();
+		if (bindings == null) {
+			throw new IllegalStateException("Values can be rendered as parameters only while the query is created with QueryParameters.bindCollected");
+		}
+		return bindings;
+	}
+
+	private static final class Binding<T> {
+
+		private final ParameterExpression<T> parameter;
+		private final T value;
+
+		Binding(ParameterExpression<T> parameter, T value) {
+			this.parameter = parameter;
+			this.value = value;
+		}
+
+		void bindTo(Query query) {
+			query.setParameter(parameter, value);
+		}
+	}
+}
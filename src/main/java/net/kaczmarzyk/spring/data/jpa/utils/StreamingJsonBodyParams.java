@@ -0,0 +1,293 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.utils;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * <p>{@link BodyParams} read from a JSON request body in a single pass with a pull parser. Only values of the json paths
+ * known up front are captured, everything else is skipped without being materialized, so (apart from the captured values)
+ * the memory used does not depend on the size of the body.</p>
+ *
+ * <p>Returned values are the same as in {@link JsonBodyParams}. Errors related to a single path (e.g. an object found
+ * instead of a primitive) are reported when values of that path are requested, while a malformed body is reported
+ * right away.</p>
+ */
+public final class StreamingJsonBodyParams implements BodyParams {
+
+	private static final String DOT_DELIMITER = "\\.";
+
+	private final Set<String> jsonPaths;
+
+	/**
+	 * Values of each json path found in the body (or the error to be reported for it)
+	 */
+	private final Map<String, Supplier<Collection<String>>> resultsByPath = new HashMap<>();
+
+	private StreamingJsonBodyParams(Set<String> jsonPaths) {
+		this.jsonPaths = jsonPaths;
+	}
+
+	/**
+	 * @param jsonPaths   dot-separated paths of values to be captured, values of other paths cannot be requested afterwards
+	 * @param maxBodySize max number of bytes to be read from the body, {@code 0} means no limit
+	 */
+	public static StreamingJsonBodyParams parse(InputStream requestBody, Charset charset, Collection<String> jsonPaths, long maxBodySize) {
+		if (maxBodySize < 0) {
+			throw new IllegalArgumentException("Max size of the request body must not be negative, but was: " + maxBodySize);
+		}
+		StreamingJsonBodyParams bodyParams = new StreamingJsonBodyParams(Collections.unmodifiableSet(new LinkedHashSet<>(jsonPaths)));
+		if (jsonPaths.isEmpty()) {
+			return bodyParams;
+		}
+
+		InputStream input = maxBodySize > 0 ? new SizeLimitedInputStream(requestBody, maxBodySize) : requestBody;
+		JsonReader reader = new JsonReader(new InputStreamReader(input, charset));
+		// the same leniency as JsonParser used by JsonBodyParams
+		reader.setLenient(true);
+		try {
+			bodyParams.readDocument(reader, PathNode.of(jsonPaths));
+		} catch (MalformedJsonException | EOFException | NumberFormatException e) {
+			throw new JsonSyntaxException(e);
+		} catch (IOException e) {
+			throw new JsonIOException(e);
+		}
+		return bodyParams;
+	}
+
+	@Override
+	public Collection<String> getParamValues(String paramKey) {
+		if (!jsonPaths.contains(paramKey)) {
+			throw new IllegalArgumentException("Json path '" + paramKey + "' was not read from the request body, available paths: " + jsonPaths);
+		}
+		Supplier<Collection<String>> result = resultsByPath.get(paramKey);
+		return result != null ? result.get() : Collections.emptyList();
+	}
+
+	private void readDocument(JsonReader reader, PathNode root) throws IOException {
+		JsonToken token;
+		try {
+			token = reader.peek();
+		} catch (EOFException e) {
+			// an empty body is treated as JSON null
+			rejectNestedPaths(root);
+			return;
+		}
+		readValue(reader, root);
+		if (token != JsonToken.NULL && reader.peek() != JsonToken.END_DOCUMENT) {
+			throw new JsonSyntaxException("Did not consume the entire document.");
+		}
+	}
+
+	private void readValue(JsonReader reader, PathNode node) throws IOException {
+		// if a key is repeated in the body, the last value wins (as in JsonBodyParams)
+		forgetResults(node);
+
+		JsonToken token = reader.peek();
+		if (token == JsonToken.BEGIN_OBJECT) {
+			if (node.path != null) {
+				fail(node.path, () -> new JsonParseException("Value by key should be primitive or array primitives. Found: JSON object at " + node.path));
+			}
+			readObject(reader, node);
+			return;
+		}
+
+		rejectNestedPaths(node);
+		if (node.path == null) {
+			reader.skipValue();
+		} else if (token == JsonToken.BEGIN_ARRAY) {
+			readArray(reader, node.path);
+		} else if (token == JsonToken.NULL) {
+			reader.nextNull();
+		} else {
+			List<String> value = Collections.singletonList(readPrimitive(reader, token));
+			resultsByPath.put(node.path, () -> value);
+		}
+	}
+
+	private void readObject(JsonReader reader, PathNode node) throws IOException {
+		if (node.children.isEmpty()) {
+			reader.skipValue();
+			return;
+		}
+		reader.beginObject();
+		while (reader.hasNext()) {
+			PathNode child = node.children.get(reader.nextName());
+			if (child != null) {
+				readValue(reader, child);
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+	}
+
+	private void readArray(JsonReader reader, String path) throws IOException {
+		List<String> values = new ArrayList<>();
+		boolean primitivesOnly = true;
+
+		reader.beginArray();
+		while (reader.hasNext()) {
+			JsonToken token = reader.peek();
+			if (primitivesOnly && isPrimitive(token)) {
+				values.add(readPrimitive(reader, token));
+			} else {
+				primitivesOnly = false;
+				reader.skipValue();
+			}
+		}
+		reader.endArray();
+
+		if (primitivesOnly) {
+			List<String> result = Collections.unmodifiableList(values);
+			resultsByPath.put(path, () -> result);
+		} else {
+			fail(path, () -> new IllegalArgumentException("Array by key contains not primitives. Path: " + path));
+		}
+	}
+
+	private static boolean isPrimitive(JsonToken token) {
+		return token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN;
+	}
+
+	private static String readPrimitive(JsonReader reader, JsonToken token) throws IOException {
+		// numbers are returned as they appear in the body
+		return token == JsonToken.BOOLEAN ? Boolean.toString(reader.nextBoolean()) : reader.nextString();
+	}
+
+	/**
+	 * The value is not a JSON object, so none of the paths nested in it can be resolved
+	 */
+	private void rejectNestedPaths(PathNode node) {
+		for (Map.Entry<String, PathNode> child : node.children.entrySet()) {
+			String key = child.getKey();
+			child.getValue().forEachPath(path ->
+					fail(path, () -> new JsonParseException("Failed parse JSON node with key " + key + ". Should be JSON object")));
+		}
+	}
+
+	private void forgetResults(PathNode node) {
+		node.forEachPath(resultsByPath::remove);
+	}
+
+	private void fail(String path, Supplier<RuntimeException> error) {
+		resultsByPath.put(path, () -> {
+			throw error.get();
+		});
+	}
+
+	/**
+	 * A node of the tree of requested json paths
+	 */
+	private static final class PathNode {
+
+		/**
+		 * The full json path if it is requested, {@code null} if the node is only an intermediate one
+		 */
+		private String path;
+		private final Map<String, PathNode> children = new HashMap<>();
+
+		static PathNode of(Collection<String> jsonPaths) {
+			PathNode root = new PathNode();
+			for (String jsonPath : jsonPaths) {
+				PathNode node = root;
+				for (String key : jsonPath.split(DOT_DELIMITER, -1)) {
+					node = node.children.computeIfAbsent(key, k -> new PathNode());
+				}
+				node.path = jsonPath;
+			}
+			return root;
+		}
+
+		void forEachPath(Consumer<String> action) {
+			if (path != null) {
+				action.accept(path);
+			}
+			for (PathNode child : children.values()) {
+				child.forEachPath(action);
+			}
+		}
+	}
+
+	/**
+	 * Fails as soon as more than the max number of bytes is read, so that oversized bodies are not processed at all
+	 */
+	private static final class SizeLimitedInputStream extends FilterInputStream {
+
+		private final long maxSize;
+		private long remaining;
+
+		SizeLimitedInputStream(InputStream in, long maxSize) {
+			super(in);
+			this.maxSize = maxSize;
+			this.remaining = maxSize;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int result = super.read();
+			if (result != -1) {
+				count(1);
+			}
+			return result;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int result = super.read(b, off, len);
+			if (result > 0) {
+				count(result);
+			}
+			return result;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long result = super.skip(n);
+			count(result);
+			return result;
+		}
+
+		private void count(long bytesRead) {
+			remaining -= bytesRead;
+			if (remaining < 0) {
+				throw new IllegalArgumentException("Request body exceeds the max size of " + maxSize + " bytes");
+			}
+		}
+	}
+}
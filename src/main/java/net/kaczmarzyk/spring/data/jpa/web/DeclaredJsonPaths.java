@@ -0,0 +1,91 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import net.kaczmarzyk.spring.data.jpa.utils.TypeUtil;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.Spec;
+import org.springframework.core.MethodParameter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Collects {@code jsonPaths} of all {@link Spec} definitions of handler parameters (including the ones nested in
+ * {@code @And}, {@code @Or}, {@code @Conjunction} etc. and the ones from the specification interface tree),
+ * so that all of them can be read from the request body in a single pass. The body is shared by all parameters
+ * of the handler, so paths of all its parameters are read at once.
+ */
+final class DeclaredJsonPaths {
+
+	private static final String SPEC_ANNOTATIONS_PACKAGE = Spec.class.getPackageName();
+
+	private DeclaredJsonPaths() {
+	}
+
+	static Set<String> of(Executable handlerMethod) {
+		Set<String> jsonPaths = new LinkedHashSet<>();
+		for (int i = 0; i < handlerMethod.getParameterCount(); i++) {
+			MethodParameter parameter = MethodParameter.forExecutable(handlerMethod, i);
+			collect(parameter.getParameterType(), parameter.getParameterAnnotations(), jsonPaths);
+		}
+		return Collections.unmodifiableSet(jsonPaths);
+	}
+
+	private static void collect(Class<?> parameterType, Annotation[] parameterAnnotations, Set<String> jsonPaths) {
+		if (parameterType.isInterface()) {
+			for (Class<?> iface : TypeUtil.interfaceTree(parameterType)) {
+				collect(iface.getAnnotations(), jsonPaths);
+			}
+		}
+		collect(parameterAnnotations, jsonPaths);
+	}
+
+	private static void collect(Annotation[] annotations, Set<String> jsonPaths) {
+		for (Annotation annotation : annotations) {
+			if (annotation.annotationType().getPackageName().equals(SPEC_ANNOTATIONS_PACKAGE)) {
+				collect(annotation, jsonPaths);
+			}
+		}
+	}
+
+	private static void collect(Annotation annotation, Set<String> jsonPaths) {
+		if (annotation instanceof Spec) {
+			Collections.addAll(jsonPaths, ((Spec) annotation).jsonPaths());
+			return;
+		}
+		for (Method attribute : annotation.annotationType().getDeclaredMethods()) {
+			Class<?> attributeType = attribute.getReturnType();
+			if (attributeType.isAnnotation()) {
+				collect((Annotation) attributeValue(annotation, attribute), jsonPaths);
+			} else if (attributeType.isArray() && attributeType.getComponentType().isAnnotation()) {
+				collect((Annotation[]) attributeValue(annotation, attribute), jsonPaths);
+			}
+		}
+	}
+
+	private static Object attributeValue(Annotation annotation, Method attribute) {
+		try {
+			return attribute.invoke(annotation);
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException("Cannot read attribute " + attribute.getName() + " of " + annotation, e);
+		}
+	}
+}
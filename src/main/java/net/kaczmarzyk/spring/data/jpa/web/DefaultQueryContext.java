@@ -16,74 +16,136 @@
 package net.kaczmarzyk.spring.data.jpa.web;
 
 import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
-import org.apache.commons.lang3.tuple.Pair;
 
 import jakarta.persistence.criteria.Fetch;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Root;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Function;
 
 /**
+ * <p>Lazy join definitions are shared by all queries the specification is applied to (e.g. data and count query of a paged search).</p>
+ *
+ * <p>Joins, join fetches and paths evaluated for a particular query (as well as fake specifications initialized for it)
+ * are kept separately for each query root.
+ * Roots are referenced weakly, so the evaluated state does not outlive the query, even if the specification is reused.
+ * All methods are synchronized, so the same specification can be applied to multiple queries concurrently.</p>
+ *
  * @author Tomasz Kaczmarzyk
  */
 public class DefaultQueryContext implements QueryContext {
 
 	private Map<String, Function<Root<?>, Join<?, ?>>> contextMap;
 	private Map<String, Fetch<?, ?>> evaluatedJoinFetch;
+	private Map<String, String> semiJoinGroups;
 
-	private Map<Pair<String, Root>, Join<?, ?>> rootCache;
+	private Map<Root<?>, EvaluatedRootState> rootCache;
 
 	public DefaultQueryContext() {
 		this.contextMap = new HashMap<>();
 		this.evaluatedJoinFetch = new HashMap<>();
-		this.rootCache = new HashMap<>();
+		this.semiJoinGroups = new HashMap<>();
+		this.rootCache = new WeakHashMap<>();
 	}
 
 	@Override
-	public boolean existsJoin(String key, Root<?> root) {
+	public synchronized boolean existsJoin(String key, Root<?> root) {
 		return contextMap.containsKey(key);
 	}
 
 	@Override
-	public Join<?, ?> getEvaluated(String key, Root<?> root) {
+	public synchronized Join<?, ?> getEvaluated(String key, Root<?> root) {
 		Function<Root<?>, Join<?, ?>> value = contextMap.get(key);
 
 		if (value == null) {
 			return null;
 		}
 
-		Pair<String, Root> rootKey = Pair.of(key, root);
-
-		if (!rootCache.containsKey(rootKey)) {
-			Join<?, ?> evaluated = value.apply(root);
-			rootCache.put(rootKey, evaluated);
+		EvaluatedRootState rootState = rootState(root);
+		Join<?, ?> evaluated = EvaluatedRootState.get(rootState.joins, key);
+		if (evaluated == null) {
+			evaluated = value.apply(root);
+			EvaluatedRootState.put(rootState.joins, key, evaluated);
 		}
-		return rootCache.get(rootKey);
+		return evaluated;
 	}
 
 	@Override
-	public void putLazyVal(String key, Function<Root<?>, Join<?, ?>> value) {
+	public synchronized Join<?, ?> getEvaluatedIfPresent(String key, Root<?> root) {
+		EvaluatedRootState rootState = rootCache.get(root);
+		return rootState != null ? EvaluatedRootState.get(rootState.joins, key) : null;
+	}
+
+	@Override
+	public synchronized void putLazyVal(String key, Function<Root<?>, Join<?, ?>> value) {
 		contextMap.put(key, value);
 	}
 
 	@Override
-	public Fetch<?, ?> getEvaluatedJoinFetch(String key) {
+	public synchronized Fetch<?, ?> getEvaluatedJoinFetch(String key) {
 		return this.evaluatedJoinFetch.get(key);
 	}
 
 	@Override
-	public void putEvaluatedJoinFetch(String key, Fetch<?, ?> fetch) {
+	public synchronized void putEvaluatedJoinFetch(String key, Fetch<?, ?> fetch) {
 		this.evaluatedJoinFetch.put(key, fetch);
 	}
 
+	@Override
+	public synchronized Fetch<?, ?> getEvaluatedJoinFetch(String key, Root<?> root) {
+		Fetch<?, ?> evaluated = EvaluatedRootState.get(rootState(root).joinFetches, key);
+		return evaluated != null ? evaluated : getEvaluatedJoinFetch(key);
+	}
+
+	@Override
+	public synchronized void putEvaluatedJoinFetch(String key, Root<?> root, Fetch<?, ?> fetch) {
+		EvaluatedRootState.put(rootState(root).joinFetches, key, fetch);
+	}
+
+	@Override
+	public synchronized Path<?> getEvaluatedPath(String path, Root<?> root, Function<Root<?>, Path<?>> resolver) {
+		EvaluatedRootState rootState = rootState(root);
+		Path<?> evaluated = EvaluatedRootState.get(rootState.paths, path);
+		if (evaluated == null) {
+			evaluated = resolver.apply(root);
+			EvaluatedRootState.put(rootState.paths, path, evaluated);
+		}
+		return evaluated;
+	}
+
+	@Override
+	public synchronized boolean markFakeInitialized(Object fake, Root<?> root) {
+		return rootState(root).initializedFakes.add(fake);
+	}
+
+	@Override
+	public synchronized void putSemiJoin(String key, String group) {
+		semiJoinGroups.put(key, group);
+	}
+
+	@Override
+	public synchronized String getSemiJoinGroup(String key, Root<?> root) {
+		return root.isCorrelated() ? null : semiJoinGroups.get(key);
+	}
+
+	private EvaluatedRootState rootState(Root<?> root) {
+		return rootCache.computeIfAbsent(root, key -> new EvaluatedRootState());
+	}
+
 	@Override
 	public int hashCode() {
 		int result = contextMap.hashCode();
 		result = 31 * result + evaluatedJoinFetch.hashCode();
-		result = 31 * result + rootCache.hashCode();
+		result = 31 * result + semiJoinGroups.hashCode();
 		return result;
 	}
 
@@ -98,13 +160,35 @@ public class DefaultQueryContext implements QueryContext {
 		DefaultQueryContext that = (DefaultQueryContext) o;
 		return Objects.equals(contextMap, that.contextMap) &&
 				Objects.equals(evaluatedJoinFetch, that.evaluatedJoinFetch) &&
-				Objects.equals(rootCache, that.rootCache);
+				Objects.equals(semiJoinGroups, that.semiJoinGroups);
 	}
 
 	@Override
 	public String toString() {
 		return "DefaultQueryContext[" +
 				"contextMap=" + contextMap +
+				", semiJoinGroups=" + semiJoinGroups +
 				']';
 	}
+
+	/**
+	 * Evaluated values are referenced weakly as they reference the root (which is the key of the weak map).
+	 * They are still reachable from the root itself (as its joins and paths) for as long as the query exists.
+	 */
+	private static final class EvaluatedRootState {
+
+		private final Map<String, Reference<Join<?, ?>>> joins = new HashMap<>();
+		private final Map<String, Reference<Fetch<?, ?>>> joinFetches = new HashMap<>();
+		private final Map<String, Reference<Path<?>>> paths = new HashMap<>();
+		private final Set<Object> initializedFakes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		private static <V> V get(Map<String, Reference<V>> values, String key) {
+			Reference<V> reference = values.get(key);
+			return reference != null ? reference.get() : null;
+		}
+
+		private static <V> void put(Map<String, Reference<V>> values, String key, V value) {
+			values.put(key, new WeakReference<>(value));
+		}
+	}
 }
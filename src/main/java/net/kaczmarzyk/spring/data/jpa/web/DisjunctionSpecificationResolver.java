@@ -58,7 +58,7 @@ class DisjunctionSpecificationResolver implements SpecificationResolver<Disjunct
 			}
 		}
 
-		return innerSpecs.isEmpty() ? null : new net.kaczmarzyk.spring.data.jpa.domain.Disjunction<>(innerSpecs);
+		return innerSpecs.isEmpty() ? null : new net.kaczmarzyk.spring.data.jpa.domain.Disjunction<>(specResolver.getDefaultInListOptions(), innerSpecs);
 	}
 
 }
\ No newline at end of file
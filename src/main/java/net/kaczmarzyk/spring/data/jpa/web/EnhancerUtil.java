@@ -18,89 +18,223 @@ package net.kaczmarzyk.spring.data.jpa.web;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.NativeDetector;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.ClassUtils;
 
-import java.lang.reflect.Field;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 
 
 /**
+ * <p>Wraps specifications resolved for parameters of custom interfaces (extending {@link Specification}) with implementations
+ * of these interfaces.</p>
+ *
+ * <p>A small final class delegating {@code toPredicate} to the wrapped specification is generated once per interface
+ * (as a hidden class), so that the calls are not dispatched reflectively. JDK dynamic proxies are used instead
+ * in native images (which do not support generating classes at runtime) and for interfaces not accessible from this package.</p>
+ *
  * @author Tomasz Kaczmarzyk
  */
 abstract class EnhancerUtil {
 
-    @SuppressWarnings("unchecked")
+    private static final String IMPLEMENTATION_TYPE = Type.getInternalName(IfaceImplementation.class);
+    private static final String SPECIFICATION_TYPE = Type.getInternalName(Specification.class);
+    private static final String CONSTRUCTOR_DESCRIPTOR =
+            Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Class.class), Type.getType(Specification.class));
+    private static final String TO_PREDICATE_DESCRIPTOR = Type.getMethodDescriptor(toPredicateMethod());
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, Class.class, Specification.class);
+
+    /**
+     * Constructors of the generated implementations, {@code null} for interfaces which are wrapped with proxies
+     */
+    private static final ClassValue<MethodHandle> IMPLEMENTATION_CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> iface) {
+            return canGenerateImplementation(iface) ? generateImplementation(iface) : null;
+        }
+    };
+
     static <T> T wrapWithIfaceImplementation(final Class<T> iface, final Specification<Object> targetSpec) {
-        return (T) Proxy.newProxyInstance(
-                EnhancerUtil.class.getClassLoader(),
-                new Class[]{iface},
-                (proxy, method, args) -> switch (method.getName()) {
-                    case "toPredicate" -> targetSpec.toPredicate(
-                            (Root<Object>) args[0],
-                            (CriteriaQuery<?>) args[1],
-                            (CriteriaBuilder) args[2]
-                    );
-                    case "toString" -> iface.getSimpleName() + "[" + targetSpec.toString() + "]";
-                    case "equals" -> EnhancerUtil.equals(iface, targetSpec, args);
-                    case "hashCode" -> targetSpec.hashCode();
-                    default -> targetSpec.getClass().getMethod(method.getName(), method.getParameterTypes())
-                            .invoke(targetSpec, args);
-                });
+        MethodHandle constructor = IMPLEMENTATION_CONSTRUCTORS.get(iface);
+        if (constructor == null) {
+            return iface.cast(Proxy.newProxyInstance(
+                    EnhancerUtil.class.getClassLoader(),
+                    new Class[]{iface},
+                    new ProxiedIfaceImplementation(iface, targetSpec)));
+        }
+        try {
+            return iface.cast((IfaceImplementation) constructor.invokeExact(iface, targetSpec));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create implementation of " + iface.getName(), e);
+        }
     }
 
-    private static boolean equals(Class<?> iface, Specification<Object> targetSpec, Object[] args) {
-        if (args.length != 1 || args[0] == null) {
-            return false;
+    /**
+     * @return the interface implemented by the given object created by {@link #wrapWithIfaceImplementation(Class, Specification)},
+     *         {@code null} if the object has not been created by it
+     */
+    static Class<?> wrappingIface(Object object) {
+        IfaceImplementation implementation = ifaceImplementation(object);
+        return implementation != null ? implementation.iface : null;
+    }
+
+    /**
+     * @return the specification wrapped by the given object created by {@link #wrapWithIfaceImplementation(Class, Specification)},
+     *         {@code null} if the object has not been created by it
+     */
+    static Specification<Object> wrappedSpec(Object object) {
+        IfaceImplementation implementation = ifaceImplementation(object);
+        return implementation != null ? implementation.targetSpec : null;
+    }
+
+    private static IfaceImplementation ifaceImplementation(Object object) {
+        if (object instanceof IfaceImplementation) {
+            return (IfaceImplementation) object;
         }
+        if (object == null || !Proxy.isProxyClass(object.getClass())) {
+            return null;
+        }
+        InvocationHandler handler = Proxy.getInvocationHandler(object);
+        return handler instanceof ProxiedIfaceImplementation ? (ProxiedIfaceImplementation) handler : null;
+    }
 
-        // The argument is not equal to the actual object if it is not a glib enhanced object
-        if (!Proxy.isProxyClass(args[0].getClass())) {
+    private static boolean canGenerateImplementation(Class<?> iface) {
+        if (NativeDetector.inNativeImage() || !ClassUtils.isVisible(iface, EnhancerUtil.class.getClassLoader())) {
             return false;
         }
-
-        // The argument is not equal to the actual object if it is not a direct implementation of the actual interface
-        if (!isAnObjectThatDirectImplementsGivenInterface(args[0], iface)) {
+        try {
+            MethodHandles.lookup().accessClass(iface);
+            return true;
+        } catch (IllegalAccessException e) {
             return false;
         }
+    }
 
-        return ReflectionUtils.get(Proxy.getInvocationHandler(args[0]), "arg$1").equals(targetSpec);
+    /**
+     * Defines a hidden class extending {@link IfaceImplementation} and implementing the interface, equivalent to:
+     * <pre>
+     * final class EnhancerUtil$CustomSpecImplementation extends IfaceImplementation implements CustomSpec {
+     *     EnhancerUtil$CustomSpecImplementation(Class iface, Specification targetSpec) {
+     *         super(iface, targetSpec);
+     *     }
+     *     public Predicate toPredicate(Root root, CriteriaQuery query, CriteriaBuilder cb) {
+     *         return targetSpec.toPredicate(root, query, cb);
+     *     }
+     * }
+     * </pre>
+     */
+    private static MethodHandle generateImplementation(Class<?> iface) {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        String className = Type.getInternalName(EnhancerUtil.class) + "$" + iface.getSimpleName() + "Implementation";
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC,
+                className, null, IMPLEMENTATION_TYPE, new String[]{ Type.getInternalName(iface) });
+
+        MethodVisitor constructor = classWriter.visitMethod(0, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitVarInsn(Opcodes.ALOAD, 1);
+        constructor.visitVarInsn(Opcodes.ALOAD, 2);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, IMPLEMENTATION_TYPE, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        MethodVisitor toPredicate = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "toPredicate", TO_PREDICATE_DESCRIPTOR, null, null);
+        toPredicate.visitCode();
+        toPredicate.visitVarInsn(Opcodes.ALOAD, 0);
+        toPredicate.visitFieldInsn(Opcodes.GETFIELD, IMPLEMENTATION_TYPE, "targetSpec", Type.getDescriptor(Specification.class));
+        toPredicate.visitVarInsn(Opcodes.ALOAD, 1);
+        toPredicate.visitVarInsn(Opcodes.ALOAD, 2);
+        toPredicate.visitVarInsn(Opcodes.ALOAD, 3);
+        toPredicate.visitMethodInsn(Opcodes.INVOKEINTERFACE, SPECIFICATION_TYPE, "toPredicate", TO_PREDICATE_DESCRIPTOR, true);
+        toPredicate.visitInsn(Opcodes.ARETURN);
+        toPredicate.visitMaxs(0, 0);
+        toPredicate.visitEnd();
+
+        classWriter.visitEnd();
+
+        try {
+            MethodHandles.Lookup implementationLookup = MethodHandles.lookup().defineHiddenClass(classWriter.toByteArray(), true);
+            return implementationLookup.findConstructor(implementationLookup.lookupClass(), CONSTRUCTOR_TYPE)
+                    .asType(MethodType.methodType(IfaceImplementation.class, Class.class, Specification.class));
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new IllegalStateException("Could not generate implementation of " + iface.getName(), e);
+        }
     }
 
-    private static boolean isAnObjectThatDirectImplementsGivenInterface(Object object, Class<?> expectedType) {
-        return arrayContains(object.getClass().getInterfaces(), expectedType);
+    private static Method toPredicateMethod() {
+        try {
+            return Specification.class.getMethod("toPredicate", Root.class, CriteriaQuery.class, CriteriaBuilder.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    private static boolean arrayContains(Class<?>[] array, Class<?> valueToFind) {
-        for (Class<?> arrayValue : array) {
-            if (arrayValue.equals(valueToFind)) {
-                return true;
-            }
+    /**
+     * Base class of the generated implementations, holds the wrapped specification
+     */
+    abstract static class IfaceImplementation {
+
+        final Class<?> iface;
+        final Specification<Object> targetSpec;
+
+        IfaceImplementation(Class<?> iface, Specification<Object> targetSpec) {
+            this.iface = iface;
+            this.targetSpec = targetSpec;
+        }
+
+        /**
+         * The argument is equal only if it is an implementation of the same interface (not a subinterface) wrapping an equal spec
+         */
+        @Override
+        public boolean equals(Object obj) {
+            IfaceImplementation other = ifaceImplementation(obj);
+            return other != null && other.iface == iface && other.targetSpec.equals(targetSpec);
+        }
+
+        @Override
+        public int hashCode() {
+            return targetSpec.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return iface.getSimpleName() + "[" + targetSpec.toString() + "]";
         }
-        return false;
     }
 
-    private static final class ReflectionUtils {
+    private static final class ProxiedIfaceImplementation extends IfaceImplementation implements InvocationHandler {
+
+        ProxiedIfaceImplementation(Class<?> iface, Specification<Object> targetSpec) {
+            super(iface, targetSpec);
+        }
 
+        @Override
         @SuppressWarnings("unchecked")
-        static <T> T get(Object target, String fieldname) {
-            try {
-                Class<?> classToBeUsed = target.getClass();
-                do {
-                    try {
-                        Field f = classToBeUsed.getDeclaredField(fieldname);
-                        f.setAccessible(true);
-                        return (T) f.get(target);
-                    } catch (NoSuchFieldException err) {
-                        classToBeUsed = classToBeUsed.getSuperclass();
-                        if (classToBeUsed == Object.class) {
-                            throw err;
-                        }
-                    }
-                } while (classToBeUsed != Object.class);
-                throw new NoSuchFieldException();
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "toPredicate" -> targetSpec.toPredicate(
+                        (Root<Object>) args[0],
+                        (CriteriaQuery<?>) args[1],
+                        (CriteriaBuilder) args[2]
+                );
+                case "toString" -> toString();
+                case "equals" -> args.length == 1 && equals(args[0]);
+                case "hashCode" -> hashCode();
+                default -> InvocationHandler.invokeDefault(proxy, method, args);
+            };
         }
     }
 }
@@ -32,7 +32,7 @@ class JoinSpecificationResolver implements SpecificationResolver<Join> {
 
 	@Override
 	public Specification<Object> buildSpecification(ProcessingContext context, Join joinDef) {
-		return new net.kaczmarzyk.spring.data.jpa.domain.Join<Object>(context.queryContext(), joinDef.path(), joinDef.alias(), joinDef.type(), joinDef.distinct());
+		return new net.kaczmarzyk.spring.data.jpa.domain.Join<Object>(context.queryContext(), joinDef.path(), joinDef.alias(), joinDef.type(), joinDef.distinct(), joinDef.strategy());
 	}
 
 }
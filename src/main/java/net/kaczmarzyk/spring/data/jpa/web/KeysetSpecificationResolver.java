@@ -0,0 +1,54 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import net.kaczmarzyk.spring.data.jpa.utils.Converter;
+import net.kaczmarzyk.spring.data.jpa.utils.KeysetCursor;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.Keyset;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.OnTypeMismatch;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Locale;
+
+class KeysetSpecificationResolver implements SpecificationResolver<Keyset> {
+
+	private final Converter converter;
+
+	KeysetSpecificationResolver(ConversionService conversionService, Locale locale) {
+		this.converter = Converter.forKeysetCursor(OnTypeMismatch.EXCEPTION, conversionService, locale);
+	}
+
+	@Override
+	public Class<? extends Annotation> getSupportedSpecificationDefinition() {
+		return Keyset.class;
+	}
+
+	@Override
+	public Specification<Object> buildSpecification(ProcessingContext context, Keyset def) {
+		String[] cursor = context.getParameterValues(def.param());
+		if (cursor == null || cursor.length == 0 || cursor[0].isEmpty()) {
+			return null;
+		}
+		if (cursor.length > 1) {
+			throw new IllegalArgumentException("Expected a single keyset cursor in '" + def.param() + "', but was " + Arrays.toString(cursor));
+		}
+		return new net.kaczmarzyk.spring.data.jpa.domain.Keyset<>(context.queryContext(), def.keys(), KeysetCursor.decode(cursor[0]),
+				def.direction(), converter);
+	}
+}
@@ -49,7 +49,7 @@ class OrSpecificationResolver implements SpecificationResolver<Or> {
             }
         }
         
-        return innerSpecs.isEmpty() ? null : new Disjunction<Object>(innerSpecs);
+        return innerSpecs.isEmpty() ? null : new Disjunction<Object>(specResolver.getDefaultInListOptions(), innerSpecs);
     }
 
 }
@@ -35,4 +35,20 @@ public interface ProcessingContext {
 	String getPathVariableValue(String pathVariableName, MissingPathVarPolicy missingPathVarPolicy);
 
 	String[] getBodyParamValues(String bodyParamName);
+
+	/**
+	 * Identifies the place where the processed specification is defined (e.g. a handler method parameter).
+	 * Specification definitions are read only once per distinct key and reused afterwards.
+	 * {@code null} means that definitions cannot be cached and have to be read for each processing.
+	 */
+	default Object getDefinitionKey() {
+		return null;
+	}
+
+	/**
+	 * Informs that the processed specification depends on a value which may differ between requests with the same
+	 * HTTP params, headers, path variables and body (e.g. a SpEL expression), so it must not be reused for other requests.
+	 */
+	default void markNonDeterministic() {
+	}
 }
@@ -0,0 +1,257 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import net.kaczmarzyk.spring.data.jpa.utils.BodyParams;
+import net.kaczmarzyk.spring.data.jpa.utils.JacksonBodyParams;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Lets {@code @Spec.jsonPaths} reuse the request body read by Spring MVC for a {@code @RequestBody} parameter
+ * of the same handler, instead of reading the servlet input stream again (which is not possible once the body has been consumed).</p>
+ *
+ * <p>If the {@code @RequestBody} parameter is a Jackson {@link JsonNode}, the tree is reused as it is.
+ * If it is read by a Jackson message converter, the body is parsed only once: into a tree (with the {@code ObjectMapper}
+ * of the converter), which is used for the json paths and bound to the {@code @RequestBody} object afterwards.
+ * Bodies read by other converters are buffered and parsed (lazily, only if any json path is actually requested)
+ * by {@link JacksonBodyParams}. Only handlers declaring {@code jsonPaths} are affected.</p>
+ *
+ * <p>To enable it, register the advice as a bean, e.g. {@code @Import(RequestBodyParamsAdvice.class)}. The size of buffered
+ * bodies can be limited with the same options as {@link SpecificationArgumentResolver}, by registering the advice
+ * with {@link #RequestBodyParamsAdvice(ResolverOptions)} (larger bodies are rejected with {@code IllegalArgumentException}).</p>
+ */
+@ControllerAdvice
+public class RequestBodyParamsAdvice extends RequestBodyAdviceAdapter implements ApplicationContextAware {
+
+	private static final String BODY_ATTRIBUTE = RequestBodyParamsAdvice.class.getName() + ".body";
+
+	/**
+	 * Passed to the converter instead of a body which has already been parsed, see {@link #afterBodyRead}
+	 */
+	private static final byte[] JSON_NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+	private final Map<Executable, Boolean> declaresJsonPathsByHandlerMethod = new ConcurrentHashMap<>();
+
+	private final Map<Class<?>, Optional<ObjectMapper>> objectMappersByConverterType = new ConcurrentHashMap<>();
+
+	private final long maxBodySize;
+
+	private ApplicationContext applicationContext;
+
+	public RequestBodyParamsAdvice() {
+		this(ResolverOptions.DEFAULT);
+	}
+
+	/**
+	 * @param options options of {@link SpecificationArgumentResolver}, the max size of the request body
+	 *                ({@link ResolverOptions#withMaxBodySize(long)}) applies to the buffered body as well
+	 */
+	public RequestBodyParamsAdvice(ResolverOptions options) {
+		this.maxBodySize = options.getMaxBodySize();
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext) {
+		this.applicationContext = applicationContext;
+	}
+
+	@Override
+	public boolean supports(MethodParameter methodParameter, Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+		return declaresJsonPathsByHandlerMethod.computeIfAbsent(methodParameter.getExecutable(),
+				handlerMethod -> !DeclaredJsonPaths.of(handlerMethod).isEmpty());
+	}
+
+	@Override
+	public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+			Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+		if (isJsonTree(targetType)) {
+			// the tree is reused after it is read
+			return inputMessage;
+		}
+		byte[] body = readBody(inputMessage);
+		ObjectMapper objectMapper = objectMapperOf(converterType);
+		if (objectMapper == null || !isUnicode(inputMessage.getHeaders().getContentType())) {
+			storeBodyParams(JacksonBodyParams.of(body));
+			return new BufferedInputMessage(inputMessage.getHeaders(), body);
+		}
+		JsonNode tree = readTree(objectMapper, body, inputMessage);
+		storeBodyParams(JacksonBodyParams.of(tree));
+		Type resolvedType = GenericTypeResolver.resolveType(targetType, parameter.getContainingClass());
+		setRequestAttribute(BODY_ATTRIBUTE, Optional.ofNullable(bind(objectMapper, tree, resolvedType, parameter, inputMessage)));
+		return new BufferedInputMessage(inputMessage.getHeaders(), JSON_NULL);
+	}
+
+	@Override
+	public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+			Class<? extends HttpMessageConverter<?>> converterType) {
+		if (body instanceof JsonNode) {
+			storeBodyParams(JacksonBodyParams.of((JsonNode) body));
+		}
+		RequestAttributes requestAttributes = RequestContextHolder.currentRequestAttributes();
+		Object boundBody = requestAttributes.getAttribute(BODY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (boundBody != null) {
+			// the converter has read the placeholder, the actual body has already been bound from the tree
+			requestAttributes.removeAttribute(BODY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+			return ((Optional<?>) boundBody).orElse(null);
+		}
+		return body;
+	}
+
+	/**
+	 * @return the mapper of the Jackson message converter of the given type registered in Spring MVC,
+	 * {@code null} for other converters
+	 */
+	private ObjectMapper objectMapperOf(Class<? extends HttpMessageConverter<?>> converterType) {
+		if (applicationContext == null || converterType == null || !AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType)) {
+			return null;
+		}
+		return objectMappersByConverterType.computeIfAbsent(converterType, type -> {
+			RequestMappingHandlerAdapter handlerAdapter = applicationContext.getBeanProvider(RequestMappingHandlerAdapter.class).getIfUnique();
+			if (handlerAdapter == null) {
+				return Optional.empty();
+			}
+			return handlerAdapter.getMessageConverters().stream()
+					.filter(type::isInstance)
+					.map(converter -> ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper())
+					.findFirst();
+		}).orElse(null);
+	}
+
+	private static JsonNode readTree(ObjectMapper objectMapper, byte[] body, HttpInputMessage inputMessage) {
+		try {
+			return objectMapper.readTree(body);
+		} catch (JsonProcessingException e) {
+			throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+		} catch (IOException e) {
+			throw new HttpMessageNotReadableException("I/O error while reading input message", e, inputMessage);
+		}
+	}
+
+	/**
+	 * Binds the tree the same way as the converter binds the body (including the {@code @JsonView} of the parameter,
+	 * which is otherwise applied by {@code JsonViewRequestBodyAdvice})
+	 */
+	private static Object bind(ObjectMapper objectMapper, JsonNode tree, Type targetType, MethodParameter parameter,
+			HttpInputMessage inputMessage) {
+		ObjectReader reader = objectMapper.readerFor(objectMapper.constructType(targetType));
+		JsonView jsonView = parameter.getParameterAnnotation(JsonView.class);
+		if (jsonView != null && jsonView.value().length == 1) {
+			reader = reader.withView(jsonView.value()[0]);
+		}
+		try {
+			return reader.readValue(tree);
+		} catch (InvalidDefinitionException e) {
+			throw new HttpMessageConversionException("Type definition error: " + e.getType(), e);
+		} catch (JsonProcessingException e) {
+			throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+		} catch (IOException e) {
+			throw new HttpMessageNotReadableException("I/O error while reading input message", e, inputMessage);
+		}
+	}
+
+	/**
+	 * Jackson detects Unicode encodings of byte arrays on its own, bodies in other charsets are decoded by the converter
+	 */
+	private static boolean isUnicode(MediaType contentType) {
+		Charset charset = contentType != null ? contentType.getCharset() : null;
+		return charset == null || charset.name().startsWith("UTF-");
+	}
+
+	private byte[] readBody(HttpInputMessage inputMessage) throws IOException {
+		if (maxBodySize == 0) {
+			return StreamUtils.copyToByteArray(inputMessage.getBody());
+		}
+		// rejected up front if the declared length is known, otherwise after reading at most one byte more than the limit
+		if (inputMessage.getHeaders().getContentLength() > maxBodySize) {
+			throw bodyTooLarge();
+		}
+		byte[] body = inputMessage.getBody().readNBytes((int) Math.min(maxBodySize + 1, Integer.MAX_VALUE - 8));
+		if (body.length > maxBodySize) {
+			throw bodyTooLarge();
+		}
+		return body;
+	}
+
+	private IllegalArgumentException bodyTooLarge() {
+		return new IllegalArgumentException("Request body exceeds the max size of " + maxBodySize + " bytes");
+	}
+
+	private static boolean isJsonTree(Type targetType) {
+		return targetType instanceof Class && JsonNode.class.isAssignableFrom((Class<?>) targetType);
+	}
+
+	private static void storeBodyParams(BodyParams bodyParams) {
+		setRequestAttribute(RequestScopedInputs.BODY_PARAMS_ATTRIBUTE, bodyParams);
+	}
+
+	private static void setRequestAttribute(String name, Object value) {
+		RequestContextHolder.currentRequestAttributes().setAttribute(name, value, RequestAttributes.SCOPE_REQUEST);
+	}
+
+	private static final class BufferedInputMessage implements HttpInputMessage {
+
+		private final HttpHeaders headers;
+		private final byte[] body;
+
+		BufferedInputMessage(HttpHeaders headers, byte[] body) {
+			this.headers = headers;
+			this.body = body;
+		}
+
+		@Override
+		public InputStream getBody() {
+			return new ByteArrayInputStream(body);
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+	}
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import net.kaczmarzyk.spring.data.jpa.utils.BodyParams;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+
+import java.lang.reflect.Executable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Request inputs stored as request attributes, so that they are read only once per request and shared by all
+ * specification parameters of the handler (and by {@link RequestBodyParamsAdvice}, which may provide the body params
+ * before they are needed by any of them).
+ */
+final class RequestScopedInputs {
+
+	static final String BODY_PARAMS_ATTRIBUTE = RequestScopedInputs.class.getName() + ".BODY_PARAMS";
+
+	private static final String PATH_VARIABLES_ATTRIBUTE = RequestScopedInputs.class.getName() + ".PATH_VARIABLES";
+
+	private RequestScopedInputs() {
+	}
+
+	static BodyParams bodyParams(NativeWebRequest webRequest, Supplier<BodyParams> bodyParamsReader) {
+		BodyParams bodyParams = (BodyParams) webRequest.getAttribute(BODY_PARAMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (bodyParams == null) {
+			bodyParams = bodyParamsReader.get();
+			webRequest.setAttribute(BODY_PARAMS_ATTRIBUTE, bodyParams, RequestAttributes.SCOPE_REQUEST);
+		}
+		return bodyParams;
+	}
+
+	/**
+	 * Path variables are stored per handler method, as they may be resolved from its mapping annotations
+	 */
+	@SuppressWarnings("unchecked")
+	static Map<String, String> pathVariables(NativeWebRequest webRequest, Executable handlerMethod,
+			Supplier<Map<String, String>> pathVariablesResolver) {
+		Map<Executable, Map<String, String>> pathVariablesByHandler =
+				(Map<Executable, Map<String, String>>) webRequest.getAttribute(PATH_VARIABLES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (pathVariablesByHandler == null) {
+			pathVariablesByHandler = new HashMap<>(2);
+			webRequest.setAttribute(PATH_VARIABLES_ATTRIBUTE, pathVariablesByHandler, RequestAttributes.SCOPE_REQUEST);
+		}
+		Map<String, String> pathVariables = pathVariablesByHandler.get(handlerMethod);
+		if (pathVariables == null) {
+			pathVariables = pathVariablesResolver.get();
+			pathVariablesByHandler.put(handlerMethod, pathVariables);
+		}
+		return pathVariables;
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import net.kaczmarzyk.spring.data.jpa.domain.InListOptions;
+
+/**
+ * <p>Optional settings of {@link SpecificationArgumentResolver}, e.g.:</p>
+ *
+ * <pre>
+ * ResolverOptions.DEFAULT
+ *         .withSpecificationCache(new SpecificationCache(1000, Duration.ofMinutes(10)))
+ *         .withInListOptions(InListOptions.of(true, 1000))
+ *         .withMaxBodySize(1024 * 1024)
+ * </pre>
+ *
+ * <p>Instances are immutable, each {@code with...} method returns a copy with the given setting changed.</p>
+ */
+public final class ResolverOptions {
+
+	public static final ResolverOptions DEFAULT = new ResolverOptions(null, InListOptions.DEFAULT, 0);
+
+	private final SpecificationCache specificationCache;
+	private final InListOptions inListOptions;
+	private final long maxBodySize;
+
+	private ResolverOptions(SpecificationCache specificationCache, InListOptions inListOptions, long maxBodySize) {
+		if (inListOptions == null) {
+			throw new IllegalArgumentException("IN-list options must not be null");
+		}
+		if (maxBodySize < 0) {
+			throw new IllegalArgumentException("Max size of the request body must not be negative, but was: " + maxBodySize);
+		}
+		this.specificationCache = specificationCache;
+		this.inListOptions = inListOptions;
+		this.maxBodySize = maxBodySize;
+	}
+
+	/**
+	 * @param specificationCache cache of resolved specifications (see {@link SpecificationCache}) or {@code null} to build a new specification for each request
+	 */
+	public ResolverOptions withSpecificationCache(SpecificationCache specificationCache) {
+		return new ResolverOptions(specificationCache, inListOptions, maxBodySize);
+	}
+
+	/**
+	 * @param inListOptions padding and max size of IN-lists used by {@code In} and {@code NotIn}, unless overridden with {@code @Spec.config}
+	 */
+	public ResolverOptions withInListOptions(InListOptions inListOptions) {
+		return new ResolverOptions(specificationCache, inListOptions, maxBodySize);
+	}
+
+	/**
+	 * @param maxBodySize max size (in bytes) of the request body read for {@code @Spec.jsonPaths}, {@code 0} means no limit
+	 */
+	public ResolverOptions withMaxBodySize(long maxBodySize) {
+		return new ResolverOptions(specificationCache, inListOptions, maxBodySize);
+	}
+
+	public SpecificationCache getSpecificationCache() {
+		return specificationCache;
+	}
+
+	public InListOptions getInListOptions() {
+		return inListOptions;
+	}
+
+	public long getMaxBodySize() {
+		return maxBodySize;
+	}
+}
@@ -15,28 +15,30 @@
  */
 package net.kaczmarzyk.spring.data.jpa.web;
 
+import net.kaczmarzyk.spring.data.jpa.domain.InListOptions;
 import net.kaczmarzyk.spring.data.jpa.domain.LocaleAware;
-import net.kaczmarzyk.spring.data.jpa.domain.ZeroArgSpecification;
 import net.kaczmarzyk.spring.data.jpa.utils.Converter;
 import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.OnTypeMismatch;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.Spec;
 
 import org.apache.commons.lang3.LocaleUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeansException;
-import org.springframework.beans.factory.config.EmbeddedValueResolver;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.expression.ParseException;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
@@ -49,13 +51,24 @@ import static java.util.stream.Collectors.toList;
 class SimpleSpecificationResolver implements SpecificationResolver<Spec> {
 
     private final ConversionService conversionService;
-    private final EmbeddedValueResolver embeddedValueResolver;
+    private final SpELValueResolver spELValueResolver;
     private final Locale defaultLocale;
+    private final InListOptions defaultInListOptions;
+
+    private final Map<Triple<String, OnTypeMismatch, Boolean>, Converter> converters = new ConcurrentHashMap<>();
+    private final Map<String, Locale> localesByConfig = new ConcurrentHashMap<>();
+    private final Map<List<String>, Pair<String[], InListOptions>> inListConfigs = new ConcurrentHashMap<>();
     
 	public SimpleSpecificationResolver(ConversionService conversionService, AbstractApplicationContext applicationContext, Locale defaultLocale) {
+		this(conversionService, applicationContext, defaultLocale, InListOptions.DEFAULT);
+	}
+
+	public SimpleSpecificationResolver(ConversionService conversionService, AbstractApplicationContext applicationContext, Locale defaultLocale,
+			InListOptions defaultInListOptions) {
 		this.conversionService = conversionService;
-		this.embeddedValueResolver = applicationContext != null ? new EmbeddedValueResolver(applicationContext.getBeanFactory()) : null;
+		this.spELValueResolver = applicationContext != null ? new SpELValueResolver(applicationContext.getBeanFactory()) : null;
 		this.defaultLocale = defaultLocale;
+		this.defaultInListOptions = defaultInListOptions;
 	}
 	
 	public SimpleSpecificationResolver() {
@@ -66,15 +79,20 @@ class SimpleSpecificationResolver implements SpecificationResolver<Spec> {
 	public Class<? extends Annotation> getSupportedSpecificationDefinition() {
 		return Spec.class;
 	}
+
+	InListOptions getDefaultInListOptions() {
+		return defaultInListOptions;
+	}
 	
 	public Specification<Object> buildSpecification(ProcessingContext context, Spec def) {
 		try {
+			SpecificationInstantiator instantiator = SpecificationInstantiator.of(def.spec());
 			Collection<String> args = resolveSpecArguments(context, def);
-			if (args.isEmpty() && !isZeroArgSpec(def)) {
+			if (args.isEmpty() && !instantiator.isZeroArgSpec()) {
 				return null;
 			} else {
 				String[] argsArray = args.toArray(new String[0]);
-				Specification<Object> spec = newSpecification(def, argsArray, context);
+				Specification<Object> spec = newSpecification(instantiator, def, argsArray, context);
 				return def.onTypeMismatch().wrap(spec);
 			}
 		} catch (NoSuchMethodException e) {
@@ -90,79 +108,78 @@ class SimpleSpecificationResolver implements SpecificationResolver<Spec> {
 		}
 	}
 	
-	private boolean isZeroArgSpec(Spec def) {
-		return ZeroArgSpecification.class.isAssignableFrom(def.spec());
-	}
-	
-	@SuppressWarnings("unchecked")
-	private Specification<Object> newSpecification(Spec def, String[] argsArray, ProcessingContext context) throws InstantiationException, IllegalAccessException,
-			InvocationTargetException, NoSuchMethodException {
+	private Specification<Object> newSpecification(SpecificationInstantiator instantiator, Spec def, String[] argsArray, ProcessingContext context)
+			throws InvocationTargetException, NoSuchMethodException {
 		
 		QueryContext queryCtx = context.queryContext();
-		Converter converter = resolveConverter(def);
+		String[] config = def.config();
+		Pair<String[], InListOptions> inListConfig = instantiator.acceptsInListOptions() ? inListConfigOf(config) : null;
+		String[] specConfig = inListConfig != null ? inListConfig.getLeft() : config;
+		Converter converter = resolveConverter(def, specConfig, instantiator.isLocaleAware());
 		
-		Specification<Object> spec;
-		if (def.config().length == 0) {
-			try {
-				spec = def.spec().getConstructor(QueryContext.class, String.class, String[].class)
-						.newInstance(queryCtx, def.path(), argsArray);
-			} catch (NoSuchMethodException e2) {
-				spec = def.spec().getConstructor(QueryContext.class, String.class, String[].class, Converter.class)
-						.newInstance(queryCtx, def.path(), argsArray, converter);
-			}
-		} else {
-			try {
-				spec = def.spec().getConstructor(QueryContext.class, String.class, String[].class, Converter.class, String[].class)
-						.newInstance(queryCtx, def.path(), argsArray, converter, def.config());
-			} catch (NoSuchMethodException e) {
-				try {
-					spec = def.spec().getConstructor(QueryContext.class, String.class, String[].class, Converter.class)
-							.newInstance(queryCtx, def.path(), argsArray, converter);
-				} catch (NoSuchMethodException e2) {
-					// legacy constructor support, to retain backward-compatibility
-					spec = def.spec().getConstructor(String.class, String[].class, String[].class)
-							.newInstance(def.path(), argsArray, def.config());
-				}
-			}
-		}
+		InListOptions inListOptions = inListConfig != null ? inListConfig.getRight() : defaultInListOptions;
 		
-		if (spec instanceof LocaleAware) {
-			Locale targetLocale = determineLocale(def);
+		Specification<Object> spec = instantiator.newInstance(queryCtx, def.path(), argsArray, converter, specConfig, inListOptions);
+		
+		if (instantiator.isLocaleAware()) {
+			Locale targetLocale = determineLocale(specConfig);
 			((LocaleAware) spec).setLocale(targetLocale);
 		}
 		
 		return spec;
 	}
+
+	/**
+	 * The config of {@code @Spec} is constant, so it is split into the config relevant for the converter
+	 * and the IN-list options only once (the same way as converters and locales are cached)
+	 */
+	private Pair<String[], InListOptions> inListConfigOf(String[] config) {
+		return inListConfigs.computeIfAbsent(List.of(config),
+				key -> Pair.of(InListOptions.withoutOptions(config), InListOptions.fromConfig(config, defaultInListOptions)));
+	}
 	
-	private Locale determineLocale(Spec def) {
-		if (def.config().length == 0) {
+	private Locale determineLocale(String[] config) {
+		if (config.length == 0) {
 			return defaultLocale;
 		} else {
-			return LocaleUtils.toLocale(def.config()[0]);
+			return localeOf(config[0]);
 		}
 	}
 
-	private Converter resolveConverter(Spec def) {
-		if (def.config().length == 0) {
-			return Converter.withTypeMismatchBehaviour(def.onTypeMismatch(), conversionService, defaultLocale);
+	private Locale localeOf(String localeConfig) {
+		return localesByConfig.computeIfAbsent(localeConfig, LocaleUtils::toLocale);
+	}
+
+	/**
+	 * Converters are immutable, so a single instance is shared by all specs with the same
+	 * config, type-mismatch behaviour and locale-awareness (conversion service is the same for the whole resolver).
+	 */
+	private Converter resolveConverter(Spec def, String[] config, boolean localeAware) {
+		if (config.length > 1) {
+			throw new IllegalStateException("config should contain only one value -- a date format"); // TODO support other config values as well
 		}
-		if (def.config().length == 1) {
-			if (LocaleAware.class.isAssignableFrom(def.spec())) { // if specification is locale-aware, then we assume that config contains locale
-				String localeConfig = def.config()[0];
-				Locale customlocale = LocaleUtils.toLocale(localeConfig);
-				return Converter.withTypeMismatchBehaviour(def.onTypeMismatch(), conversionService, customlocale);
-			} else { // otherwise we assume that config contains date format
-				String dateFormat = def.config()[0];
-				return Converter.withDateFormat(dateFormat, def.onTypeMismatch(), conversionService);
-			}
+		String configValue = config.length == 0 ? null : config[0];
+		return converters.computeIfAbsent(Triple.of(configValue, def.onTypeMismatch(), localeAware), this::createConverter);
+	}
+
+	private Converter createConverter(Triple<String, OnTypeMismatch, Boolean> converterDefinition) {
+		String configValue = converterDefinition.getLeft();
+		OnTypeMismatch onTypeMismatch = converterDefinition.getMiddle();
+		if (configValue == null) {
+			return Converter.withTypeMismatchBehaviour(onTypeMismatch, conversionService, defaultLocale);
+		}
+		if (converterDefinition.getRight()) { // if specification is locale-aware, then we assume that config contains locale
+			Locale customlocale = localeOf(configValue);
+			return Converter.withTypeMismatchBehaviour(onTypeMismatch, conversionService, customlocale);
+		} else { // otherwise we assume that config contains date format
+			return Converter.withDateFormat(configValue, onTypeMismatch, conversionService);
 		}
-		throw new IllegalStateException("config should contain only one value -- a date format"); // TODO support other config values as well
 	}
 
 	
 	private Collection<String> resolveSpecArguments(ProcessingContext context, Spec specDef) {
 		if (specDef.constVal().length != 0) {
-			return resolveConstVal(specDef);
+			return resolveConstVal(context, specDef);
 		} else if (specDef.pathVars().length != 0) {
 			return resolveSpecArgumentsFromPathVariables(context, specDef);
 		} else if (specDef.jsonPaths().length != 0) {
@@ -174,11 +191,11 @@ class SimpleSpecificationResolver implements SpecificationResolver<Spec> {
 		}
 	}
 
-	private Collection<String> resolveConstVal(Spec specDef) {
-		if (embeddedValueResolver != null && specDef.valueInSpEL()) {
+	private Collection<String> resolveConstVal(ProcessingContext context, Spec specDef) {
+		if (spELValueResolver != null && specDef.valueInSpEL()) {
 			ArrayList<String> evaluatedArgs = new ArrayList<>(specDef.constVal().length);
 			for (String rawConstVal : specDef.constVal()) {
-				evaluatedArgs.add(evaluateRawSpELValue(rawConstVal));
+				evaluatedArgs.add(evaluateRawSpELValue(context, specDef, rawConstVal));
 			}
 			return evaluatedArgs;
 		} else {
@@ -189,9 +206,9 @@ class SimpleSpecificationResolver implements SpecificationResolver<Spec> {
 	private Collection<String> resolveDefaultVal(ProcessingContext context, Spec specDef) {
 		Collection<String> resolved = resolveSpecArgumentsFromHttpParameters(context, specDef);
 		if (resolved.isEmpty() && specDef.defaultVal().length != 0) {
-			if (embeddedValueResolver != null && specDef.valueInSpEL()) {
+			if (spELValueResolver != null && specDef.valueInSpEL()) {
 				for (String rawDefaultVal : specDef.defaultVal()) {
-					resolved.add(evaluateRawSpELValue(rawDefaultVal));
+					resolved.add(evaluateRawSpELValue(context, specDef, rawDefaultVal));
 				}
 			} else {
 				resolved.addAll(asList(specDef.defaultVal()));
@@ -200,14 +217,15 @@ class SimpleSpecificationResolver implements SpecificationResolver<Spec> {
 		return resolved;
 	}
 
-	private String evaluateRawSpELValue(String rawSpELValue) {
-		try {
-			return embeddedValueResolver.resolveStringValue(rawSpELValue);
-		} catch (BeansException|ParseException e) {
-			throw new IllegalArgumentException("Invalid SpEL expression: '" + rawSpELValue + "'", e);
-		}
+	/**
+	 * Property placeholders are resolved the same way for each request, but the result of a SpEL expression
+	 * (e.g. the current date or the authenticated user) may change between requests with identical HTTP params,
+	 * unless the expression is evaluated once or once per time interval (see {@link Spec#spelEvaluation()}).
+	 */
+	private String evaluateRawSpELValue(ProcessingContext context, Spec specDef, String rawSpELValue) {
+		return spELValueResolver.resolve(rawSpELValue, specDef.spelEvaluation(), specDef.spelRefreshInterval(), context);
 	}
-	
+
 	private Collection<String> resolveSpecArgumentsFromPathVariables(ProcessingContext context, Spec specDef) {
 		Collection<String> args = new ArrayList<>();
 		for (String pathVar : specDef.pathVars()) {
@@ -240,86 +258,64 @@ class SimpleSpecificationResolver implements SpecificationResolver<Spec> {
 	private Collection<String> resolveSpecArgumentsFromHttpParameters(ProcessingContext context, Spec specDef) {
 		Collection<String> args = new ArrayList<String>();
 
-		DelimitationStrategy delimitationStrategy = DelimitationStrategy.of(specDef.paramSeparator());
+		char paramSeparator = specDef.paramSeparator();
 
 		if (specDef.params().length != 0) {
 			for (String webParamName : specDef.params()) {
-				if (embeddedValueResolver != null && specDef.paramsInSpEL()) {
-					webParamName = embeddedValueResolver.resolveStringValue(webParamName);
-				}
-				String[] parameterValues = context.getParameterValues(webParamName);
-				if(parameterValues != null) {
-					String[] httpParamValues = delimitationStrategy.extractSingularValues(parameterValues);
-					addValuesToArgs(httpParamValues, args);
+				if (spELValueResolver != null && specDef.paramsInSpEL()) {
+					webParamName = evaluateRawSpELValue(context, specDef, webParamName);
 				}
+				addValuesToArgs(context.getParameterValues(webParamName), paramSeparator, args);
 			}
 		} else {
-			String[] parameterValues = context.getParameterValues(specDef.path());
-			if(parameterValues != null) {
-				String[] httpParamValues = delimitationStrategy.extractSingularValues(parameterValues);
-				addValuesToArgs(httpParamValues, args);
-			}
+			addValuesToArgs(context.getParameterValues(specDef.path()), paramSeparator, args);
 		}
 
 		return args;
 	}
 	
-	private void addValuesToArgs(String[] paramValues, Collection<String> args) {
+	private void addValuesToArgs(String[] paramValues, char paramSeparator, Collection<String> args) {
 		if (paramValues != null) {
 			for (String paramValue : paramValues) {
-				if (!StringUtils.isEmpty(paramValue)) {
-					args.add(paramValue);
+				// 0 is a blank value of param separator
+				if (paramSeparator == 0) {
+					if (!StringUtils.isEmpty(paramValue)) {
+						args.add(paramValue);
+					}
+				} else {
+					addSeparatedValuesToArgs(paramValue, paramSeparator, args);
 				}
 			}
 		}
 	}
 
-	private Stream<String> nullSafeArrayStream(String[] array) {
-		return array != null ? Stream.of(array) : Stream.empty();
-	}
-	
-	private static class DelimitationStrategy {
-		
-		public static final DelimitationStrategy NONE = new DelimitationStrategy("");
-		
-		private final String pattern;
-		
-		private DelimitationStrategy(String pattern) {
-			this.pattern = pattern;
+	/**
+	 * Splits the value in a single pass and adds only non-empty tokens (the same tokens as
+	 * {@code String.split} would produce, after skipping the empty ones)
+	 */
+	private static void addSeparatedValuesToArgs(String paramValue, char paramSeparator, Collection<String> args) {
+		if (paramValue == null) {
+			return;
 		}
-		
-		public static DelimitationStrategy of(char paramSeparator) {
-			// 0 is a blank value of param separator
-			if (paramSeparator == 0) {
-				return DelimitationStrategy.NONE;
+		int tokenStart = 0;
+		int separatorIndex;
+		while ((separatorIndex = paramValue.indexOf(paramSeparator, tokenStart)) >= 0) {
+			if (separatorIndex > tokenStart) {
+				args.add(paramValue.substring(tokenStart, separatorIndex));
 			}
-			
-			return new DelimitationStrategy(Pattern.quote(String.valueOf(paramSeparator)));
+			tokenStart = separatorIndex + 1;
 		}
-		
-		public String[] extractSingularValues(String[] args) {
-			if (isEmpty()) {
-				return args;
+		if (tokenStart == 0) {
+			if (!paramValue.isEmpty()) {
+				args.add(paramValue);
 			}
-			
-			ArrayList<String> listOfSingularValues = new ArrayList<>();
-			
-			for (String arg : args) {
-				listOfSingularValues.addAll(asList(arg.split(get())));
-			}
-			
-			String[] singularValues = new String[listOfSingularValues.size()];
-			
-			return listOfSingularValues.toArray(singularValues);
-		}
-		
-		public String get() {
-			return pattern;
-		}
-		
-		public boolean isEmpty() {
-			return pattern.isEmpty();
+		} else if (tokenStart < paramValue.length()) {
+			args.add(paramValue.substring(tokenStart));
 		}
 	}
-	
+
+	private Stream<String> nullSafeArrayStream(String[] array) {
+		return array != null ? Stream.of(array) : Stream.empty();
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,235 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import net.kaczmarzyk.spring.data.jpa.web.annotation.SpELEvaluation;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanExpressionContext;
+import org.springframework.beans.factory.config.BeanExpressionResolver;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.expression.ParseException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Resolves property placeholders and SpEL expressions used in {@code @Spec} (the same way as
+ * {@link org.springframework.beans.factory.config.EmbeddedValueResolver}). Resolution of the placeholders and evaluation
+ * of the expressions is repeated according to the {@link SpELEvaluation} of the spec: for each request with {@code DYNAMIC}
+ * evaluation (so that e.g. a refreshed {@code Environment} is taken into account), otherwise the placeholders are resolved only once.
+ * The parsed expressions are cached by the {@link BeanExpressionResolver} of the bean factory.</p>
+ */
+class SpELValueResolver {
+
+	private static final String SPEL_EXPRESSION_PREFIX = "#{";
+
+	private final ConfigurableBeanFactory beanFactory;
+	private final BeanExpressionResolver expressionResolver;
+	private final BeanExpressionContext expressionContext;
+	private final Clock clock;
+
+	private final Map<ValueDefinition, PreparedValue> preparedValues = new ConcurrentHashMap<>();
+
+	SpELValueResolver(ConfigurableBeanFactory beanFactory) {
+		this(beanFactory, Clock.systemDefaultZone());
+	}
+
+	SpELValueResolver(ConfigurableBeanFactory beanFactory, Clock clock) {
+		this.beanFactory = beanFactory;
+		this.expressionResolver = beanFactory.getBeanExpressionResolver();
+		// a single context, so that the evaluation context created for it by the expression resolver can be reused as well
+		this.expressionContext = new BeanExpressionContext(beanFactory, null);
+		this.clock = clock;
+	}
+
+	String resolve(String rawValue, SpELEvaluation evaluation, String refreshInterval, ProcessingContext context) {
+		return preparedValues.computeIfAbsent(new ValueDefinition(rawValue, evaluation, refreshInterval), this::prepare)
+				.get(context);
+	}
+
+	private PreparedValue prepare(ValueDefinition definition) {
+		if (definition.evaluation == SpELEvaluation.DYNAMIC) {
+			return new DynamicValue(definition.rawValue);
+		}
+		String template = resolvePlaceholders(definition.rawValue);
+		if (template == null || !template.contains(SPEL_EXPRESSION_PREFIX)) {
+			return new ConstantValue(evaluate(definition.rawValue, template));
+		}
+		if (definition.evaluation == SpELEvaluation.TIME_BUCKETED) {
+			return new TimeBucketedValue(definition.rawValue, template, refreshIntervalMillis(definition));
+		}
+		return new ConstantValue(evaluate(definition.rawValue, template));
+	}
+
+	private String resolvePlaceholders(String rawValue) {
+		try {
+			return beanFactory.resolveEmbeddedValue(rawValue);
+		} catch (BeansException e) {
+			throw new IllegalArgumentException("Invalid SpEL expression: '" + rawValue + "'", e);
+		}
+	}
+
+	private String evaluate(String rawValue, String template) {
+		if (template == null || expressionResolver == null) {
+			return template;
+		}
+		try {
+			Object evaluated = expressionResolver.evaluate(template, expressionContext);
+			return evaluated != null ? evaluated.toString() : null;
+		} catch (BeansException | ParseException e) {
+			throw new IllegalArgumentException("Invalid SpEL expression: '" + rawValue + "'", e);
+		}
+	}
+
+	private static long refreshIntervalMillis(ValueDefinition definition) {
+		if (definition.refreshInterval.isEmpty()) {
+			throw new IllegalStateException("spelRefreshInterval is required for " + SpELEvaluation.TIME_BUCKETED
+					+ " evaluation of SpEL expression: '" + definition.rawValue + "'");
+		}
+		try {
+			long millis = Duration.parse(definition.refreshInterval).toMillis();
+			if (millis <= 0) {
+				throw new IllegalArgumentException("spelRefreshInterval must be positive, but was: " + definition.refreshInterval);
+			}
+			return millis;
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid spelRefreshInterval: '" + definition.refreshInterval + "'", e);
+		}
+	}
+
+	private interface PreparedValue {
+
+		String get(ProcessingContext context);
+	}
+
+	private static final class ConstantValue implements PreparedValue {
+
+		private final String value;
+
+		ConstantValue(String value) {
+			this.value = value;
+		}
+
+		@Override
+		public String get(ProcessingContext context) {
+			return value;
+		}
+	}
+
+	private final class DynamicValue implements PreparedValue {
+
+		private final String rawValue;
+		private final boolean containsExpression;
+
+		DynamicValue(String rawValue) {
+			this.rawValue = rawValue;
+			this.containsExpression = rawValue.contains(SPEL_EXPRESSION_PREFIX);
+		}
+
+		@Override
+		public String get(ProcessingContext context) {
+			if (containsExpression) {
+				// the result may change between requests with identical HTTP params
+				context.markNonDeterministic();
+			}
+			return evaluate(rawValue, resolvePlaceholders(rawValue));
+		}
+	}
+
+	private final class TimeBucketedValue implements PreparedValue {
+
+		private final String rawValue;
+		private final String template;
+		private final long intervalMillis;
+
+		private volatile Bucket lastBucket;
+
+		TimeBucketedValue(String rawValue, String template, long intervalMillis) {
+			this.rawValue = rawValue;
+			this.template = template;
+			this.intervalMillis = intervalMillis;
+		}
+
+		@Override
+		public String get(ProcessingContext context) {
+			// the result changes over time, so it must not be cached together with the specification
+			context.markNonDeterministic();
+			long bucketIndex = Math.floorDiv(localEpochMillis(), intervalMillis);
+			Bucket bucket = lastBucket;
+			if (bucket == null || bucket.index != bucketIndex) {
+				bucket = new Bucket(bucketIndex, evaluate(rawValue, template));
+				lastBucket = bucket;
+			}
+			return bucket.value;
+		}
+
+		/**
+		 * Intervals are aligned to the time zone of the clock (the system default one), so that e.g. one-day intervals
+		 * start at the local midnight, when {@code LocalDate.now()} changes
+		 */
+		private long localEpochMillis() {
+			Instant now = clock.instant();
+			return now.toEpochMilli() + clock.getZone().getRules().getOffset(now).getTotalSeconds() * 1000L;
+		}
+	}
+
+	private static final class Bucket {
+
+		private final long index;
+		private final String value;
+
+		Bucket(long index, String value) {
+			this.index = index;
+			this.value = value;
+		}
+	}
+
+	private static final class ValueDefinition {
+
+		private final String rawValue;
+		private final SpELEvaluation evaluation;
+		private final String refreshInterval;
+
+		ValueDefinition(String rawValue, SpELEvaluation evaluation, String refreshInterval) {
+			this.rawValue = rawValue;
+			this.evaluation = evaluation;
+			this.refreshInterval = refreshInterval;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			ValueDefinition other = (ValueDefinition) obj;
+			return Objects.equals(rawValue, other.rawValue) && evaluation == other.evaluation
+					&& Objects.equals(refreshInterval, other.refreshInterval);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(rawValue, evaluation, refreshInterval);
+		}
+	}
+}
@@ -16,7 +16,11 @@
 package net.kaczmarzyk.spring.data.jpa.web;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Executable;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.core.MethodParameter;
@@ -36,6 +40,15 @@ public class SpecificationArgumentResolver implements HandlerMethodArgumentResol
 
 	private SpecificationFactory specificationFactory;
 
+	private final SpecificationCache specificationCache;
+
+	private final long maxBodySize;
+
+	/**
+	 * Json paths declared by all parameters of each handler method, read from the request body in a single pass
+	 */
+	private final Map<Executable, Set<String>> jsonPathsByHandlerMethod = new ConcurrentHashMap<>();
+
 	public SpecificationArgumentResolver() {
 		 this(null, null, Locale.getDefault());
 	}
@@ -65,7 +78,17 @@ public class SpecificationArgumentResolver implements HandlerMethodArgumentResol
 	}
 	
 	public SpecificationArgumentResolver(ConversionService conversionService, AbstractApplicationContext abstractApplicationContext, Locale defaultLocale) {
-		this.specificationFactory = new SpecificationFactory(conversionService, abstractApplicationContext, defaultLocale);
+		this(conversionService, abstractApplicationContext, defaultLocale, ResolverOptions.DEFAULT);
+	}
+
+	/**
+	 * @param options optional settings of the resolver, e.g. cache of resolved specifications (see {@link ResolverOptions})
+	 */
+	public SpecificationArgumentResolver(ConversionService conversionService, AbstractApplicationContext abstractApplicationContext, Locale defaultLocale,
+	                                     ResolverOptions options) {
+		this.specificationFactory = new SpecificationFactory(conversionService, abstractApplicationContext, defaultLocale, options.getInListOptions());
+		this.specificationCache = options.getSpecificationCache();
+		this.maxBodySize = options.getMaxBodySize();
 	}
 	
 
@@ -80,8 +103,12 @@ public class SpecificationArgumentResolver implements HandlerMethodArgumentResol
 	public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer, NativeWebRequest webRequest,
 	                              WebDataBinderFactory binderFactory) throws Exception {
 
-		ProcessingContext context = new WebRequestProcessingContext(parameter, webRequest);
+		Set<String> jsonPaths = jsonPathsByHandlerMethod.computeIfAbsent(parameter.getExecutable(), DeclaredJsonPaths::of);
+		ProcessingContext context = new WebRequestProcessingContext(parameter, webRequest, jsonPaths, maxBodySize);
 
+		if (specificationCache != null) {
+			return specificationCache.getOrResolve(context, specificationFactory::createSpecificationDependingOn);
+		}
 		return specificationFactory.createSpecificationDependingOn(context);
 	}
 
@@ -0,0 +1,326 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.MissingPathVarPolicy;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static net.kaczmarzyk.spring.data.jpa.web.annotation.MissingPathVarPolicy.IGNORE;
+
+/**
+ * <p>Opt-in cache of specifications resolved by {@link SpecificationArgumentResolver}. When the same handler parameter
+ * is resolved again with the same values of request inputs read by its specification definitions (HTTP params, headers,
+ * path variables and json paths), the previously built specification is returned instead of building a new one.</p>
+ *
+ * <p>Entries are evicted in the least-recently-used order when the cache is full and expire after the configured time-to-live.
+ * Specifications depending on SpEL expressions (which may evaluate differently for the same request inputs) are never cached.</p>
+ *
+ * <p>Cached specifications are shared between requests (and threads), so the cache should be enabled only if all
+ * specifications used by the application are immutable (which is the case for all specifications provided by the library).
+ * A single cache instance should not be shared between different argument resolvers.</p>
+ */
+public class SpecificationCache {
+
+	private final long timeToLiveNanos;
+	private final LongSupplier nanoClock;
+
+	private final Map<List<Object>, Entry> entries;
+
+	/**
+	 * Inputs read while building the most recent specification for the given definition key.
+	 * Values of the same inputs in the current request make up the lookup key.
+	 */
+	private final Map<Object, List<Input>> inputsByDefinitionKey = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder bypasses = new LongAdder();
+
+	public SpecificationCache(int maxSize, Duration timeToLive) {
+		this(maxSize, timeToLive, System::nanoTime);
+	}
+
+	SpecificationCache(int maxSize, Duration timeToLive, LongSupplier nanoClock) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Max size of the specification cache must be positive, but was: " + maxSize);
+		}
+		if (timeToLive.isNegative() || timeToLive.isZero()) {
+			throw new IllegalArgumentException("Time-to-live of the specification cache must be positive, but was: " + timeToLive);
+		}
+		this.timeToLiveNanos = timeToLive.toNanos();
+		this.nanoClock = nanoClock;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<List<Object>, Entry> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	Specification<?> getOrResolve(ProcessingContext context, Function<ProcessingContext, Specification<?>> resolver) {
+		Object definitionKey = context.getDefinitionKey();
+		if (definitionKey == null) {
+			bypasses.increment();
+			return resolver.apply(context);
+		}
+
+		List<Input> inputs = inputsByDefinitionKey.get(definitionKey);
+		if (inputs != null) {
+			List<Object> key = lookupKey(definitionKey, inputs, context);
+			Entry entry = key != null ? get(key) : null;
+			if (entry != null) {
+				hits.increment();
+				return entry.spec;
+			}
+		}
+
+		InputRecordingProcessingContext recordingContext = new InputRecordingProcessingContext(context);
+		Specification<?> spec = resolver.apply(recordingContext);
+		inputsByDefinitionKey.put(definitionKey, Collections.unmodifiableList(recordingContext.inputs));
+
+		if (recordingContext.nonDeterministic) {
+			bypasses.increment();
+		} else {
+			misses.increment();
+			put(recordingContext.key(definitionKey), new Entry(spec, nanoClock.getAsLong() + timeToLiveNanos));
+		}
+		return spec;
+	}
+
+	/**
+	 * @return {@code null} if any of the inputs cannot be read, in which case the specification has to be built
+	 * (and the same error reported) the regular way
+	 */
+	private static List<Object> lookupKey(Object definitionKey, List<Input> inputs, ProcessingContext context) {
+		List<Object> key = new ArrayList<>(1 + 2 * inputs.size());
+		key.add(definitionKey);
+		try {
+			for (Input input : inputs) {
+				key.add(input);
+				key.add(input.readFrom(context));
+			}
+		} catch (RuntimeException e) {
+			return null;
+		}
+		return key;
+	}
+
+	private synchronized Entry get(List<Object> key) {
+		Entry entry = entries.get(key);
+		if (entry != null && entry.expiresAtNanos - nanoClock.getAsLong() <= 0) {
+			entries.remove(key);
+			return null;
+		}
+		return entry;
+	}
+
+	private synchronized void put(List<Object> key, Entry entry) {
+		entries.put(key, entry);
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return number of resolutions which were not cached at all, e.g. because of SpEL expressions used by the specification
+	 */
+	public long getBypassCount() {
+		return bypasses.sum();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "SpecificationCache [size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+				+ ", bypasses=" + getBypassCount() + "]";
+	}
+
+	private static final class Entry {
+
+		private final Specification<?> spec;
+		private final long expiresAtNanos;
+
+		Entry(Specification<?> spec, long expiresAtNanos) {
+			this.spec = spec;
+			this.expiresAtNanos = expiresAtNanos;
+		}
+	}
+
+	private enum InputType {
+		PARAM, HEADER, PATH_VARIABLE, BODY_PARAM
+	}
+
+	/**
+	 * A single request input read by specification definitions
+	 */
+	private static final class Input {
+
+		private final InputType type;
+		private final String name;
+
+		Input(InputType type, String name) {
+			this.type = type;
+			this.name = name;
+		}
+
+		Object readFrom(ProcessingContext context) {
+			return switch (type) {
+				case PARAM -> valueOf(context.getParameterValues(name));
+				case HEADER -> context.getRequestHeaderValue(name);
+				// a missing path variable is reported while building the specification, if required by its definition
+				case PATH_VARIABLE -> context.getPathVariableValue(name, IGNORE);
+				case BODY_PARAM -> valueOf(context.getBodyParamValues(name));
+			};
+		}
+
+		static Object valueOf(String[] values) {
+			return values == null ? null : Arrays.asList(values);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			Input other = (Input) obj;
+			return type == other.type && Objects.equals(name, other.name);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(type, name);
+		}
+
+		@Override
+		public String toString() {
+			return type + ":" + name;
+		}
+	}
+
+	/**
+	 * Delegates to the actual processing context and records each input read while building the specification
+	 */
+	private static final class InputRecordingProcessingContext implements ProcessingContext {
+
+		private final ProcessingContext delegate;
+		private final List<Input> inputs = new ArrayList<>();
+		private final List<Object> values = new ArrayList<>();
+		private boolean nonDeterministic;
+
+		InputRecordingProcessingContext(ProcessingContext delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Class<?> getParameterType() {
+			return delegate.getParameterType();
+		}
+
+		@Override
+		public Annotation[] getParameterAnnotations() {
+			return delegate.getParameterAnnotations();
+		}
+
+		@Override
+		public QueryContext queryContext() {
+			return delegate.queryContext();
+		}
+
+		@Override
+		public String getRequestHeaderValue(String headerKey) {
+			String value = delegate.getRequestHeaderValue(headerKey);
+			record(InputType.HEADER, headerKey, value);
+			return value;
+		}
+
+		@Override
+		public String[] getParameterValues(String webParamName) {
+			String[] values = delegate.getParameterValues(webParamName);
+			record(InputType.PARAM, webParamName, Input.valueOf(values));
+			return values;
+		}
+
+		@Override
+		public String getPathVariableValue(String pathVariableName, MissingPathVarPolicy missingPathVarPolicy) {
+			String value = delegate.getPathVariableValue(pathVariableName, missingPathVarPolicy);
+			record(InputType.PATH_VARIABLE, pathVariableName, value);
+			return value;
+		}
+
+		@Override
+		public String[] getBodyParamValues(String bodyParamName) {
+			String[] values = delegate.getBodyParamValues(bodyParamName);
+			record(InputType.BODY_PARAM, bodyParamName, Input.valueOf(values));
+			return values;
+		}
+
+		@Override
+		public Object getDefinitionKey() {
+			return delegate.getDefinitionKey();
+		}
+
+		@Override
+		public void markNonDeterministic() {
+			nonDeterministic = true;
+			delegate.markNonDeterministic();
+		}
+
+		private void record(InputType type, String name, Object value) {
+			inputs.add(new Input(type, name));
+			values.add(value);
+		}
+
+		List<Object> key(Object definitionKey) {
+			List<Object> key = new ArrayList<>(1 + 2 * inputs.size());
+			key.add(definitionKey);
+			for (int i = 0; i < inputs.size(); i++) {
+				key.add(inputs.get(i));
+				key.add(values.get(i));
+			}
+			return Collections.unmodifiableList(key);
+		}
+	}
+}
@@ -15,6 +15,7 @@
  */
 package net.kaczmarzyk.spring.data.jpa.web;
 
+import net.kaczmarzyk.spring.data.jpa.domain.InListOptions;
 import net.kaczmarzyk.spring.data.jpa.utils.TypeUtil;
 import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.core.convert.ConversionService;
@@ -22,7 +23,7 @@ import org.springframework.data.jpa.domain.Specification;
 
 import java.lang.annotation.Annotation;
 import java.util.*;
-import java.util.function.Consumer;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Objects.nonNull;
 import static java.util.function.Function.identity;
@@ -36,8 +37,23 @@ public class SpecificationFactory {
 
 	private Map<Class<? extends Annotation>, SpecificationResolver<? extends Annotation>> resolversBySupportedType;
 
+	private final Map<Object, List<SpecificationDefinition>> definitionsByKey = new ConcurrentHashMap<>();
+
+	private final ClassValue<List<SpecificationDefinition>> interfaceSpecificationDefinitions = new ClassValue<>() {
+		@Override
+		protected List<SpecificationDefinition> computeValue(Class<?> specInterface) {
+			return readInterfaceSpecificationDefinitions(specInterface);
+		}
+	};
+
 	public SpecificationFactory(ConversionService conversionService, AbstractApplicationContext abstractApplicationContext, Locale locale) {
-		SimpleSpecificationResolver simpleSpecificationResolver = new SimpleSpecificationResolver(conversionService, abstractApplicationContext, locale);
+		this(conversionService, abstractApplicationContext, locale, InListOptions.DEFAULT);
+	}
+
+	public SpecificationFactory(ConversionService conversionService, AbstractApplicationContext abstractApplicationContext, Locale locale,
+			InListOptions defaultInListOptions) {
+		SimpleSpecificationResolver simpleSpecificationResolver = new SimpleSpecificationResolver(conversionService, abstractApplicationContext, locale,
+				defaultInListOptions);
 
 		resolversBySupportedType = Arrays.asList(
 						simpleSpecificationResolver,
@@ -48,7 +64,8 @@ public class SpecificationFactory {
 						new JoinSpecificationResolver(),
 						new JoinFetchSpecificationResolver(),
 						new RepeatedJoinFetchResolver(),
-						new RepeatedJoinResolver()).stream()
+						new RepeatedJoinResolver(),
+						new KeysetSpecificationResolver(conversionService, locale)).stream()
 				.collect(toMap(
 						SpecificationResolver::getSupportedSpecificationDefinition,
 						identity(),
@@ -75,78 +92,85 @@ public class SpecificationFactory {
 	}
 
 	private List<Specification<Object>> resolveSpec(ProcessingContext context) {
-		List<Specification<Object>> specAccumulator = new ArrayList<>();
+		List<SpecificationDefinition> definitions = specificationDefinitionsFor(context);
+		List<Specification<Object>> specAccumulator = new ArrayList<>(definitions.size());
 
-		resolveSpecFromInterfaceAnnotations(context, specAccumulator);
-		resolveSpecFromParameterAnnotations(context, specAccumulator);
+		for (SpecificationDefinition definition : definitions) {
+			Specification<Object> specification = definition.buildSpecification(context);
+			if (nonNull(specification)) {
+				specAccumulator.add(specification);
+			}
+		}
 
 		return specAccumulator;
 	}
 
-	private void resolveSpecFromParameterAnnotations(ProcessingContext context,
-													 List<Specification<Object>> accum) {
-		forEachSupportedSpecificationDefinition(
-				context.getParameterAnnotations(),
-				specDefinition -> {
-					Specification<Object> specification = buildSpecification(context, specDefinition);
-					if (nonNull(specification)) {
-						accum.add(specification);
-					}
-				}
-		);
-	}
+	/**
+	 * Definitions from the interface tree come first, then definitions from the parameter annotations.
+	 * The result is cached per definition key of the context (see {@link ProcessingContext#getDefinitionKey()}),
+	 * so the reflection-based lookup is performed only once for each handler parameter / specification interface.
+	 */
+	private List<SpecificationDefinition> specificationDefinitionsFor(ProcessingContext context) {
+		Object definitionKey = context.getDefinitionKey();
 
-	private void resolveSpecFromInterfaceAnnotations(ProcessingContext context,
-													 List<Specification<Object>> accumulator) {
-		Collection<Class<?>> ifaceTree = TypeUtil.interfaceTree(context.getParameterType());
-
-		for (Class<?> iface : ifaceTree) {
-			forEachSupportedInterfaceSpecificationDefinition(iface,
-					(specDefinition) -> {
-						Specification<Object> specification = buildSpecification(context, specDefinition);
-						if (nonNull(specification)) {
-							accumulator.add(specification);
-						}
-					}
-			);
+		if (definitionKey == null) {
+			return readSpecificationDefinitions(context);
 		}
+
+		return definitionsByKey.computeIfAbsent(definitionKey, key -> readSpecificationDefinitions(context));
 	}
 
-	private Specification<Object> buildSpecification(ProcessingContext context, Annotation specDef) {
-		SpecificationResolver resolver = resolversBySupportedType.get(specDef.annotationType());
+	private List<SpecificationDefinition> readSpecificationDefinitions(ProcessingContext context) {
+		List<SpecificationDefinition> definitions = new ArrayList<>(interfaceSpecificationDefinitions.get(context.getParameterType()));
 
-		if (resolver == null) {
-			throw new IllegalArgumentException(
-					"Definition is not supported. " +
-							"Specification resolver is not able to build specification from definition of type :" + specDef.annotationType()
-			);
+		for (Annotation annotation : context.getParameterAnnotations()) {
+			SpecificationResolver<? extends Annotation> resolver = resolversBySupportedType.get(annotation.annotationType());
+			if (resolver != null) {
+				definitions.add(new SpecificationDefinition(resolver, annotation));
+			}
 		}
 
-		return resolver.buildSpecification(context, specDef);
+		return Collections.unmodifiableList(definitions);
 	}
 
-	private void forEachSupportedSpecificationDefinition(Annotation[] parameterAnnotations, Consumer<Annotation> specificationBuilder) {
-		for (Annotation annotation : parameterAnnotations) {
-			for (Class<? extends Annotation> annotationType : resolversBySupportedType.keySet()) {
-				if (annotationType.isAssignableFrom(annotation.getClass())) {
-					specificationBuilder.accept(annotation);
-				}
-			}
-		}
-	}
+	private List<SpecificationDefinition> readInterfaceSpecificationDefinitions(Class<?> specInterface) {
+		List<SpecificationDefinition> definitions = new ArrayList<>();
 
-	private void forEachSupportedInterfaceSpecificationDefinition(Class<?> target, Consumer<Annotation> specificationBuilder) {
-		for (Class<? extends Annotation> annotationType : resolversBySupportedType.keySet()) {
-			if (target.getAnnotations().length != 0) {
-				Annotation potentialAnnotation = target.getAnnotation(annotationType);
+		for (Class<?> iface : TypeUtil.interfaceTree(specInterface)) {
+			if (iface.getAnnotations().length == 0) {
+				continue;
+			}
+			for (Map.Entry<Class<? extends Annotation>, SpecificationResolver<? extends Annotation>> resolverEntry : resolversBySupportedType.entrySet()) {
+				Annotation potentialAnnotation = iface.getAnnotation(resolverEntry.getKey());
 				if (potentialAnnotation != null) {
-					specificationBuilder.accept(potentialAnnotation);
+					definitions.add(new SpecificationDefinition(resolverEntry.getValue(), potentialAnnotation));
 				}
 			}
 		}
+
+		return Collections.unmodifiableList(definitions);
 	}
 
 	public Set<Class<? extends Annotation>> getResolversBySupportedType() {
 		return resolversBySupportedType.keySet();
 	}
+
+	/**
+	 * A single specification definition (e.g. {@code @Spec} or {@code @Or}) bound with the resolver supporting it
+	 */
+	private static final class SpecificationDefinition {
+
+		private final SpecificationResolver<Annotation> resolver;
+		private final Annotation definition;
+
+		@SuppressWarnings("unchecked")
+		SpecificationDefinition(SpecificationResolver<? extends Annotation> resolver, Annotation definition) {
+			this.resolver = (SpecificationResolver<Annotation>) resolver;
+			this.definition = definition;
+		}
+
+		Specification<Object> buildSpecification(ProcessingContext context) {
+			return resolver.buildSpecification(context, definition);
+		}
+	}
 }
@@ -0,0 +1,267 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.chrono.ChronoZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>Immutable, canonical representation of a resolved specification (its shape and normalized values) to be used as
+ * a cache key instead of the specification itself, e.g. {@code @Cacheable(value = "customers", keyGenerator = "specificationKeyGenerator")}
+ * (see {@link SpecificationKeyGenerator}). Unlike {@code equals} and {@code hashCode} of specifications, it does not depend on
+ * the (mutable) {@link QueryContext} and its hash code is computed only once, when the fingerprint is created.</p>
+ *
+ * <p>The fingerprint of a specification is computed lazily, when it is requested for the first time, and then reused
+ * for the same specification (it is held only as long as the specification is reachable), so that it is not rebuilt for each cache lookup.</p>
+ *
+ * <p>The canonical form is built from the class names and the fields of specifications, so it is stable across JVMs
+ * and can be used as a key of a distributed cache as well (directly or as a {@link #digest()}). Dates and times are represented
+ * in ISO-8601 (instants in UTC), so that the form does not depend on the default time zone of the JVM. Other values which are not
+ * specifications are represented by their {@code toString()}. Lambdas cannot be represented reliably, so specifications
+ * created with {@code Specification.where(...).and(...)} are not supported -- use {@code Conjunction} and {@code Disjunction} instead.</p>
+ */
+public final class SpecificationFingerprint implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final ClassValue<Field[]> FINGERPRINTED_FIELDS = new ClassValue<>() {
+		@Override
+		protected Field[] computeValue(Class<?> type) {
+			return fingerprintedFields(type);
+		}
+	};
+
+	private static final Map<Specification<?>, SpecificationFingerprint> FINGERPRINTS =
+			new ConcurrentReferenceHashMap<>(16, ReferenceType.WEAK);
+
+	private final String canonicalForm;
+	private final int hashCode;
+
+	private SpecificationFingerprint(String canonicalForm) {
+		this.canonicalForm = canonicalForm;
+		this.hashCode = canonicalForm.hashCode();
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the specification (or one of its inner specifications) is a lambda
+	 */
+	public static SpecificationFingerprint of(Specification<?> spec) {
+		return FINGERPRINTS.computeIfAbsent(spec, SpecificationFingerprint::compute);
+	}
+
+	private static SpecificationFingerprint compute(Specification<?> spec) {
+		StringBuilder canonicalForm = new StringBuilder(128);
+		appendValue(canonicalForm, spec);
+		return new SpecificationFingerprint(canonicalForm.toString());
+	}
+
+	public String asString() {
+		return canonicalForm;
+	}
+
+	public byte[] asBytes() {
+		return canonicalForm.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return hex-encoded SHA-256 of the canonical form, i.e. a compact key of a fixed length
+	 */
+	public String digest() {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(asBytes()));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+	}
+
+	private static void appendValue(StringBuilder result, Object value) {
+		if (value == null) {
+			result.append("null");
+		} else if (value instanceof CharSequence) {
+			appendQuoted(result, value.toString());
+		} else if (value instanceof Enum) {
+			result.append(((Enum<?>) value).name());
+		} else if (value instanceof Class) {
+			result.append(((Class<?>) value).getName());
+		} else if (value.getClass().isArray()) {
+			result.append('[');
+			for (int i = 0; i < Array.getLength(value); i++) {
+				appendSeparator(result, i);
+				appendValue(result, Array.get(value, i));
+			}
+			result.append(']');
+		} else if (value instanceof Collection) {
+			result.append('[');
+			int i = 0;
+			for (Object element : (Collection<?>) value) {
+				appendSeparator(result, i++);
+				appendValue(result, element);
+			}
+			result.append(']');
+		} else if (value instanceof Map) {
+			appendMap(result, (Map<?, ?>) value);
+		} else if (value instanceof Specification) {
+			appendSpecification(result, (Specification<?>) value);
+		} else if (value instanceof Date) { // including java.sql types, which do not support toInstant()
+			appendQuoted(result, Instant.ofEpochMilli(((Date) value).getTime()).toString());
+		} else if (value instanceof Calendar) {
+			appendQuoted(result, ((Calendar) value).toInstant().toString());
+		} else if (value instanceof ChronoZonedDateTime) {
+			appendQuoted(result, ((ChronoZonedDateTime<?>) value).toInstant().toString());
+		} else if (value instanceof OffsetDateTime) {
+			appendQuoted(result, ((OffsetDateTime) value).toInstant().toString());
+		} else if (value instanceof Locale) {
+			appendQuoted(result, ((Locale) value).toLanguageTag());
+		} else { // including local dates and times and instants, which are represented in ISO-8601 regardless of the time zone
+			appendQuoted(result, value.toString());
+		}
+	}
+
+	private static void appendSpecification(StringBuilder result, Specification<?> spec) {
+		Class<?> wrappingIface = EnhancerUtil.wrappingIface(spec);
+		if (wrappingIface != null) {
+			result.append(wrappingIface.getName()).append('[');
+			appendValue(result, EnhancerUtil.wrappedSpec(spec));
+			result.append(']');
+			return;
+		}
+		Class<?> specType = spec.getClass();
+		if (specType.isSynthetic() || specType.isHidden()) {
+			throw new IllegalArgumentException("Fingerprint cannot be created for a lambda specification: " + spec);
+		}
+		result.append(specType.getName()).append('(');
+		Field[] fields = FINGERPRINTED_FIELDS.get(specType);
+		for (int i = 0; i < fields.length; i++) {
+			appendSeparator(result, i);
+			result.append(fields[i].getName()).append('=');
+			try {
+				appendValue(result, fields[i].get(spec));
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException("Cannot read field " + fields[i] + " of " + specType, e);
+			}
+		}
+		result.append(')');
+	}
+
+	/**
+	 * Entries are sorted by the canonical form of their keys, so the iteration order of the map does not matter
+	 */
+	private static void appendMap(StringBuilder result, Map<?, ?> map) {
+		Map<String, String> entries = new TreeMap<>();
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			StringBuilder key = new StringBuilder();
+			appendValue(key, entry.getKey());
+			StringBuilder value = new StringBuilder();
+			appendValue(value, entry.getValue());
+			entries.put(key.toString(), value.toString());
+		}
+		result.append('{');
+		int i = 0;
+		for (Map.Entry<String, String> entry : entries.entrySet()) {
+			appendSeparator(result, i++);
+			result.append(entry.getKey()).append('=').append(entry.getValue());
+		}
+		result.append('}');
+	}
+
+	private static void appendQuoted(StringBuilder result, String value) {
+		result.append('\'');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\'' || c == '\\') {
+				result.append('\\');
+			}
+			result.append(c);
+		}
+		result.append('\'');
+	}
+
+	private static void appendSeparator(StringBuilder result, int index) {
+		if (index > 0) {
+			result.append(',');
+		}
+	}
+
+	/**
+	 * Instance fields of the class and its superclasses (sorted by name within each class, so that the order does not depend
+	 * on the JVM), except for the query context, which is shared state of the specifications rather than their definition
+	 */
+	private static Field[] fingerprintedFields(Class<?> type) {
+		List<Field> fields = new ArrayList<>();
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			Field[] declaredFields = current.getDeclaredFields();
+			Arrays.sort(declaredFields, Comparator.comparing(Field::getName));
+			List<Field> fieldsOfClass = new ArrayList<>();
+			for (Field field : declaredFields) {
+				int modifiers = field.getModifiers();
+				if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+						|| QueryContext.class.isAssignableFrom(field.getType())) {
+					continue;
+				}
+				field.setAccessible(true);
+				fieldsOfClass.add(field);
+			}
+			fields.addAll(0, fieldsOfClass);
+		}
+		return fields.toArray(new Field[0]);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		SpecificationFingerprint other = (SpecificationFingerprint) obj;
+		return hashCode == other.hashCode && canonicalForm.equals(other.canonicalForm);
+	}
+
+	@Override
+	public String toString() {
+		return canonicalForm;
+	}
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import net.kaczmarzyk.spring.data.jpa.domain.InListOptions;
+import net.kaczmarzyk.spring.data.jpa.domain.LocaleAware;
+import net.kaczmarzyk.spring.data.jpa.domain.ZeroArgSpecification;
+import net.kaczmarzyk.spring.data.jpa.utils.Converter;
+import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Creates instances of a specification class using one of its supported constructors.
+ * The constructor is looked up only once per specification class and then adapted to a single calling convention:
+ * {@code (QueryContext queryCtx, String path, String[] args, Converter converter, String[] config, InListOptions inListOptions)}.
+ * Specification classes exposing a {@code (QueryContext queryCtx, String path, String[] args, Converter converter, InListOptions inListOptions)}
+ * constructor (e.g. {@code In}) are always created with it, as their config is passed through the converter and the IN-list options.
+ */
+final class SpecificationInstantiator {
+
+	private static final MethodType FACTORY_TYPE = MethodType.methodType(
+			Specification.class, QueryContext.class, String.class, String[].class, Converter.class, String[].class, InListOptions.class);
+
+	private static final ClassValue<SpecificationInstantiator> INSTANTIATORS = new ClassValue<>() {
+		@Override
+		protected SpecificationInstantiator computeValue(Class<?> specClass) {
+			return new SpecificationInstantiator(specClass);
+		}
+	};
+
+	private final Class<?> specClass;
+	private final boolean localeAware;
+	private final boolean inListOptionsAccepted;
+	private final boolean zeroArgSpec;
+
+	/**
+	 * Used when {@code @Spec.config} is empty, {@code null} if the spec class does not expose a matching constructor
+	 */
+	private final MethodHandle constructorWithoutConfig;
+
+	/**
+	 * Used when {@code @Spec.config} is not empty, {@code null} if the spec class does not expose a matching constructor
+	 */
+	private final MethodHandle constructorWithConfig;
+
+	private SpecificationInstantiator(Class<?> specClass) {
+		this.specClass = specClass;
+		this.localeAware = LocaleAware.class.isAssignableFrom(specClass);
+		this.zeroArgSpec = ZeroArgSpecification.class.isAssignableFrom(specClass);
+		MethodHandle constructorWithInListOptions = findConstructorWithInListOptions(specClass);
+		this.inListOptionsAccepted = constructorWithInListOptions != null;
+		this.constructorWithoutConfig = inListOptionsAccepted ? constructorWithInListOptions : findConstructorWithoutConfig(specClass);
+		this.constructorWithConfig = inListOptionsAccepted ? constructorWithInListOptions : findConstructorWithConfig(specClass);
+	}
+
+	static SpecificationInstantiator of(Class<?> specClass) {
+		return INSTANTIATORS.get(specClass);
+	}
+
+	boolean isLocaleAware() {
+		return localeAware;
+	}
+
+	boolean acceptsInListOptions() {
+		return inListOptionsAccepted;
+	}
+
+	boolean isZeroArgSpec() {
+		return zeroArgSpec;
+	}
+
+	@SuppressWarnings("unchecked")
+	Specification<Object> newInstance(QueryContext queryCtx, String path, String[] args, Converter converter, String[] config,
+			InListOptions inListOptions) throws NoSuchMethodException, InvocationTargetException {
+
+		MethodHandle constructor = config.length == 0 ? constructorWithoutConfig : constructorWithConfig;
+		if (constructor == null) {
+			throw new NoSuchMethodException(specClass.getName() + ".<init>(...)");
+		}
+
+		try {
+			return (Specification<Object>) constructor.invokeExact(queryCtx, path, args, converter, config, inListOptions);
+		} catch (Throwable e) {
+			// wrapping the same way as reflective instantiation does, to retain backward-compatibility
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	private static MethodHandle findConstructorWithInListOptions(Class<?> specClass) {
+		MethodHandle constructor = findConstructor(specClass, QueryContext.class, String.class, String[].class, Converter.class, InListOptions.class);
+		if (constructor != null) {
+			return MethodHandles.dropArguments(constructor, 4, String[].class).asType(FACTORY_TYPE);
+		}
+		return null;
+	}
+
+	private static MethodHandle findConstructorWithoutConfig(Class<?> specClass) {
+		MethodHandle constructor = findConstructor(specClass, QueryContext.class, String.class, String[].class);
+		if (constructor != null) {
+			return adapt(MethodHandles.dropArguments(constructor, 3, Converter.class, String[].class));
+		}
+		constructor = findConstructor(specClass, QueryContext.class, String.class, String[].class, Converter.class);
+		if (constructor != null) {
+			return adapt(MethodHandles.dropArguments(constructor, 4, String[].class));
+		}
+		return null;
+	}
+
+	private static MethodHandle findConstructorWithConfig(Class<?> specClass) {
+		MethodHandle constructor = findConstructor(specClass, QueryContext.class, String.class, String[].class, Converter.class, String[].class);
+		if (constructor != null) {
+			return adapt(constructor);
+		}
+		constructor = findConstructor(specClass, QueryContext.class, String.class, String[].class, Converter.class);
+		if (constructor != null) {
+			return adapt(MethodHandles.dropArguments(constructor, 4, String[].class));
+		}
+		// legacy constructor support, to retain backward-compatibility
+		constructor = findConstructor(specClass, String.class, String[].class, String[].class);
+		if (constructor != null) {
+			MethodHandle withoutQueryContext = MethodHandles.dropArguments(constructor, 0, QueryContext.class);
+			return adapt(MethodHandles.dropArguments(withoutQueryContext, 3, Converter.class));
+		}
+		return null;
+	}
+
+	private static MethodHandle findConstructor(Class<?> specClass, Class<?>... parameterTypes) {
+		try {
+			return MethodHandles.lookup().unreflectConstructor(specClass.getConstructor(parameterTypes));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	private static MethodHandle adapt(MethodHandle constructor) {
+		return MethodHandles.dropArguments(constructor, 5, InListOptions.class).asType(FACTORY_TYPE);
+	}
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>Cache key generator which replaces specification arguments with their {@link SpecificationFingerprint}s
+ * (other arguments are used as they are, as by {@link SimpleKeyGenerator}). The fingerprint of a specification is computed
+ * only once, on the first key generation, so subsequent keys of the same specification do not walk its tree again.</p>
+ *
+ * <p>It can be registered as a bean and referred to by {@code @Cacheable(keyGenerator = "...")}
+ * or configured as the default key generator of the application.</p>
+ */
+public class SpecificationKeyGenerator implements KeyGenerator {
+
+	@Override
+	public Object generate(Object target, Method method, Object... params) {
+		Object[] keyParams = new Object[params.length];
+		for (int i = 0; i < params.length; i++) {
+			keyParams[i] = params[i] instanceof Specification ? SpecificationFingerprint.of((Specification<?>) params[i]) : params[i];
+		}
+		return SimpleKeyGenerator.generateKey(keyParams);
+	}
+}
@@ -72,6 +72,11 @@ public class StandaloneProcessingContext implements ProcessingContext {
 		return new Annotation[]{};
 	}
 
+	@Override
+	public Object getDefinitionKey() {
+		return specInterface;
+	}
+
 	@Override
 	public QueryContext queryContext() {
 		return queryContext;
@@ -21,9 +21,12 @@ import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.parseMediaType;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -32,12 +35,14 @@ import net.kaczmarzyk.spring.data.jpa.web.annotation.MissingPathVarPolicy;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.MediaType;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.util.ContentCachingRequestWrapper;
 
 import net.kaczmarzyk.spring.data.jpa.utils.BodyParams;
 import net.kaczmarzyk.spring.data.jpa.utils.IOUtils;
 import net.kaczmarzyk.spring.data.jpa.utils.JsonBodyParams;
 import net.kaczmarzyk.spring.data.jpa.utils.PathVariableResolver;
 import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
+import net.kaczmarzyk.spring.data.jpa.utils.StreamingJsonBodyParams;
 
 /**
  *
@@ -50,6 +55,8 @@ public class WebRequestProcessingContext implements ProcessingContext {
 
 	private final MethodParameter methodParameter;
 	private final NativeWebRequest webRequest;
+	private final Collection<String> jsonPaths;
+	private final long maxBodySize;
 	private BodyParams bodyParams;
 
 	private Map<String, String> resolvedPathVariables;
@@ -57,9 +64,19 @@ public class WebRequestProcessingContext implements ProcessingContext {
 	private QueryContext queryContext;
 	
 	public WebRequestProcessingContext(MethodParameter methodParameter, NativeWebRequest webRequest) {
+		this(methodParameter, webRequest, null, 0);
+	}
+
+	/**
+	 * @param jsonPaths   all json paths which may be requested from the body (see {@link StreamingJsonBodyParams}),
+	 *                    {@code null} to parse the whole body instead
+	 * @param maxBodySize max size of the request body in bytes (applied only when json paths are provided), {@code 0} means no limit
+	 */
+	public WebRequestProcessingContext(MethodParameter methodParameter, NativeWebRequest webRequest, Collection<String> jsonPaths, long maxBodySize) {
 		this.methodParameter = methodParameter;
 		this.webRequest = webRequest;
-		this.queryContext = new DefaultQueryContext();
+		this.jsonPaths = jsonPaths;
+		this.maxBodySize = maxBodySize;
 	}
 
 	@Override
@@ -77,15 +94,25 @@ public class WebRequestProcessingContext implements ProcessingContext {
 		return webRequest.getParameterValues(webParamName);
 	}
 
+	@Override
+	public Object getDefinitionKey() {
+		return methodParameter;
+	}
+
 	@Override
 	public QueryContext queryContext() {
+		if (queryContext == null) {
+			// created lazily, as it is not needed when a cached specification is returned
+			queryContext = new DefaultQueryContext();
+		}
 		return queryContext;
 	}
 
 	@Override
 	public String getPathVariableValue(String pathVariableName, MissingPathVarPolicy missingPathVarPolicy) {
 		if (resolvedPathVariables == null) {
-			resolvedPathVariables = PathVariableResolver.resolvePathVariables(webRequest, methodParameter);
+			resolvedPathVariables = RequestScopedInputs.pathVariables(webRequest, methodParameter != null ? methodParameter.getExecutable() : null,
+					() -> PathVariableResolver.resolvePathVariables(webRequest, methodParameter));
 		}
 
 		String value = resolvedPathVariables.get(pathVariableName);
@@ -109,22 +136,51 @@ public class WebRequestProcessingContext implements ProcessingContext {
 		if (isNull(bodyParams)) {
 			String contentType = getRequestHeaderValue(CONTENT_TYPE);
 			MediaType mediaType = parseMediaType(contentType);
-			if (APPLICATION_JSON.includes(mediaType)) {
-				this.bodyParams = JsonBodyParams.parse(getRequestBody());
-			} else {
+			if (!APPLICATION_JSON.includes(mediaType)) {
 				throw new IllegalArgumentException("Content-type not supported, content-type=" + contentType);
 			}
+			// the body can be read only once, so body params are shared by all specification parameters of the handler
+			this.bodyParams = RequestScopedInputs.bodyParams(webRequest, this::readBodyParams);
 		}
 		return bodyParams;
 	}
 
+	private BodyParams readBodyParams() {
+		if (jsonPaths == null) {
+			return JsonBodyParams.parse(getRequestBody());
+		}
+		byte[] bufferedBody = getBufferedRequestBody();
+		InputStream body = bufferedBody != null ? new ByteArrayInputStream(bufferedBody) : getRequestBodyStream();
+		return StreamingJsonBodyParams.parse(body, StandardCharsets.UTF_8, jsonPaths, maxBodySize);
+	}
+
+	/**
+	 * @return the body already read by the handler (e.g. for a {@code @RequestBody} parameter) and cached
+	 * by {@link ContentCachingRequestWrapper}, {@code null} if it has not been read yet
+	 */
+	private byte[] getBufferedRequestBody() {
+		ContentCachingRequestWrapper cachingRequest = webRequest.getNativeRequest(ContentCachingRequestWrapper.class);
+		if (cachingRequest == null || cachingRequest.getContentAsByteArray().length == 0) {
+			return null;
+		}
+		return cachingRequest.getContentAsByteArray();
+	}
+
 	private String getRequestBody() {
+		return IOUtils.toString(getRequestBodyStream(), StandardCharsets.UTF_8);
+	}
+
+	private InputStream getRequestBodyStream() {
 		try {
 			HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
 			if (request == null) {
 				throw new IllegalStateException("Request body not present");
 			}
-			return IOUtils.toString(request.getInputStream(), StandardCharsets.UTF_8);
+			if (maxBodySize > 0 && request.getContentLengthLong() > maxBodySize) {
+				// rejected up front if the declared length is known, otherwise while reading the body
+				throw new IllegalArgumentException("Request body exceeds the max size of " + maxBodySize + " bytes");
+			}
+			return request.getInputStream();
 		} catch (IOException ex) {
 			throw new RuntimeException("Cannot read request body", ex);
 		}
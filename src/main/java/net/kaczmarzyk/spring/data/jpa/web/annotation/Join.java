@@ -43,8 +43,16 @@ public @interface Join {
 	 * For the paged and count queries the distinct should be set to true (default behaviour) in main cases.
 	 *
 	 * Changing distinct to false (when using Hibernate) makes sense only in count queries -- in all other cases it will lead to unexpected behaviour.
+	 *
+	 * The query is made distinct only if the join is evaluated (i.e. it is used by some spec or it is an inner join) and it joins a collection.
 	 */
 	boolean distinct() default true;
 	
 	JoinType type() default JoinType.LEFT;
+
+	/**
+	 * Specifies whether the collection is joined to the query or specs referencing the alias are rendered into
+	 * a correlated {@code EXISTS} subquery (in which case {@link #distinct()} is not applied), see {@link JoinStrategy}
+	 */
+	JoinStrategy strategy() default JoinStrategy.JOIN;
 }
@@ -0,0 +1,36 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web.annotation;
+
+/**
+ * Determines how specs referencing the alias of a {@link Join} are applied to the query.
+ */
+public enum JoinStrategy {
+
+	/**
+	 * The collection is joined to the root query (which is made distinct if {@code Join.distinct} is set)
+	 */
+	JOIN,
+
+	/**
+	 * Specs referencing the alias are rendered into a correlated {@code EXISTS} subquery which joins the collection,
+	 * so the root query is neither multiplied by the joined rows nor made distinct. Specs referencing the same alias
+	 * (or joins defined on top of it) are rendered into the same subquery, i.e. they are matched against the same joined row.
+	 * Regardless of the join type, filtering on the alias behaves like an inner join (the root entity must have a matching element).
+	 */
+	EXISTS
+
+}
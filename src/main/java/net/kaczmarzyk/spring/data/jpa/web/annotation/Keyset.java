@@ -0,0 +1,48 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web.annotation;
+
+import org.springframework.data.domain.Sort.Direction;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Specifies the keyset pagination: if the HTTP parameter with the cursor is present, only the rows following
+ * the row pointed by the cursor (in the order of the sort keys) are returned,
+ * e.g. {@code where (registrationDate, id) > (:lastRegistrationDate, :lastId)}.</p>
+ *
+ * <p>The query must be sorted by the same keys and the next cursor can be created with
+ * {@link net.kaczmarzyk.spring.data.jpa.utils.KeysetCursor#next(java.util.List, String...)}.</p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.PARAMETER, ElementType.TYPE })
+public @interface Keyset {
+
+	/**
+	 * Name of the HTTP parameter with the cursor, e.g. "after"
+	 */
+	String param();
+
+	/**
+	 * Paths of the sort keys, e.g. {@code { "registrationDate", "id" }}. The last key should be unique.
+	 */
+	String[] keys();
+
+	Direction direction() default Direction.ASC;
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web.annotation;
+
+/**
+ * Determines how often SpEL expressions of {@link Spec} (see {@link Spec#valueInSpEL()} and {@link Spec#paramsInSpEL()}) are evaluated.
+ * Property placeholders are resolved for each request with {@link #DYNAMIC} evaluation and only once otherwise.
+ */
+public enum SpELEvaluation {
+
+	/**
+	 * Placeholders are resolved and expressions are evaluated for each request (e.g. if they refer to the authenticated user)
+	 */
+	DYNAMIC,
+
+	/**
+	 * Expressions are evaluated once and the result is reused afterwards. The evaluation is lazy: it happens when the value
+	 * is needed for the first time (i.e. on the first request resolving the spec), not at application startup.
+	 */
+	STATIC,
+
+	/**
+	 * Expressions are evaluated at most once per time interval (see {@link Spec#spelRefreshInterval()}), e.g. {@code T(java.time.LocalDate).now()}
+	 * with one-day interval. Intervals are aligned to the system default time zone, so one-day intervals start at the local midnight.
+	 */
+	TIME_BUCKETED
+
+}
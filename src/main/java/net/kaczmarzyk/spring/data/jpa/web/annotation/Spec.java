@@ -90,6 +90,18 @@ public @interface Spec {
      */
     boolean paramsInSpEL() default false;
 
+    /**
+     * Determines how often SpEL expressions of {@code constVal}, {@code defaultVal} and {@code params} are evaluated.
+     * By default they are evaluated for each request.
+     */
+    SpELEvaluation spelEvaluation() default SpELEvaluation.DYNAMIC;
+
+    /**
+     * Interval after which expressions with {@link SpELEvaluation#TIME_BUCKETED} evaluation are evaluated again,
+     * in ISO-8601 duration format, e.g. {@code "PT10M"} or {@code "P1D"}.
+     */
+    String spelRefreshInterval() default "";
+
     OnTypeMismatch onTypeMismatch() default OnTypeMismatch.EMPTY_RESULT;
     
     /**
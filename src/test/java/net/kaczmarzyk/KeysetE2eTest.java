@@ -0,0 +1,139 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk;
+
+import net.kaczmarzyk.spring.data.jpa.Customer;
+import net.kaczmarzyk.spring.data.jpa.CustomerRepository;
+import net.kaczmarzyk.spring.data.jpa.domain.Equal;
+import net.kaczmarzyk.spring.data.jpa.utils.KeysetCursor;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.Keyset;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.Spec;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class KeysetE2eTest extends E2eTestBase {
+
+	@Controller
+	public static class TestController {
+
+		@Autowired
+		CustomerRepository customerRepo;
+
+		@RequestMapping(value = "/keyset/customers")
+		@ResponseBody
+		public Object findCustomersAfterCursor(
+				@Keyset(param = "after", keys = { "registrationDate", "id" })
+				@Spec(path = "lastName", spec = Equal.class) Specification<Customer> spec) {
+
+			return page(spec, Sort.by("registrationDate", "id"));
+		}
+
+		@RequestMapping(value = "/keyset-desc/customers")
+		@ResponseBody
+		public Object findCustomersBeforeCursor(
+				@Keyset(param = "after", keys = { "registrationDate", "id" }, direction = Direction.DESC)
+				@Spec(path = "lastName", spec = Equal.class) Specification<Customer> spec) {
+
+			return page(spec, Sort.by(Direction.DESC, "registrationDate", "id"));
+		}
+
+		private Map<String, Object> page(Specification<Customer> spec, Sort sort) {
+			List<Customer> content = customerRepo.findAll(spec, PageRequest.of(0, 2, sort)).getContent();
+
+			Map<String, Object> page = new HashMap<>();
+			page.put("content", content);
+			page.put("next", KeysetCursor.next(content, "registrationDate", "id"));
+			return page;
+		}
+	}
+
+	@Test
+	public void returnsFirstPageIfCursorIsNotPresent() throws Exception {
+		mockMvc.perform(get("/keyset/customers")
+				.accept(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].firstName").value("Homer"))
+			.andExpect(jsonPath("$.content[1].firstName").value("Moe"))
+			.andExpect(jsonPath("$.content[2]").doesNotExist())
+			.andExpect(jsonPath("$.next").value(cursorOf(moeSzyslak)));
+	}
+
+	@Test
+	public void returnsRowsFollowingTheCursorIncludingRowsWithTheSameValueOfTheFirstKey() throws Exception {
+		mockMvc.perform(get("/keyset/customers")
+				.param("after", cursorOf(bartSimpson))
+				.accept(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].firstName").value("Ned"))
+			.andExpect(jsonPath("$.content[1].firstName").value("Lisa"))
+			.andExpect(jsonPath("$.content[2]").doesNotExist())
+			.andExpect(jsonPath("$.next").value(cursorOf(lisaSimpson)));
+	}
+
+	@Test
+	public void combinesCursorWithOtherSpecifications() throws Exception {
+		mockMvc.perform(get("/keyset/customers")
+				.param("lastName", "Simpson")
+				.param("after", cursorOf(homerSimpson))
+				.accept(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].firstName").value("Marge"))
+			.andExpect(jsonPath("$.content[1].firstName").value("Bart"))
+			.andExpect(jsonPath("$.content[2]").doesNotExist());
+	}
+
+	@Test
+	public void returnsRowsPrecedingTheCursorInDescendingOrder() throws Exception {
+		mockMvc.perform(get("/keyset-desc/customers")
+				.param("after", cursorOf(nedFlanders))
+				.accept(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0].firstName").value("Bart"))
+			.andExpect(jsonPath("$.content[1].firstName").value("Marge"))
+			.andExpect(jsonPath("$.content[2]").doesNotExist());
+	}
+
+	@Test
+	public void returnsEmptyPageAndNoCursorAfterTheLastRow() throws Exception {
+		mockMvc.perform(get("/keyset/customers")
+				.param("after", cursorOf(minnieSzyslak))
+				.accept(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content[0]").doesNotExist())
+			.andExpect(jsonPath("$.next").doesNotExist());
+	}
+
+	private String cursorOf(Customer customer) {
+		return KeysetCursor.next(asList(customer), "registrationDate", "id");
+	}
+}
@@ -15,6 +15,7 @@
  */
 package net.kaczmarzyk;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.gson.JsonParseException;
 import net.kaczmarzyk.spring.data.jpa.Customer;
 import net.kaczmarzyk.spring.data.jpa.CustomerRepository;
@@ -30,10 +31,12 @@ import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -86,6 +89,36 @@ public class RequestBodyHandlingE2eTest extends E2eTestBase {
             return customerRepo.findAll(spec);
         }
 
+        @PostMapping(value = "/customers/search/twoSpecs")
+        public List<Customer> findByBodyValuesOfTwoSpecificationParameters(
+                @Spec(path = "lastName", jsonPaths = "lastName", spec = Equal.class) Specification<Customer> lastNameSpec,
+                @Spec(path = "firstName", jsonPaths = "firstName", spec = Equal.class) Specification<Customer> firstNameSpec) {
+
+            return customerRepo.findAll(lastNameSpec.and(firstNameSpec));
+        }
+
+        @PostMapping(value = "/customers/search/withRequestBody")
+        public List<Customer> findByBodyValuesWithRequestBodyParameter(
+                @RequestBody Map<String, Object> body,
+                @Spec(path = "firstName", jsonPaths = "firstName", spec = Equal.class) Specification<Customer> spec) {
+
+            if (!body.containsKey("firstName")) {
+                throw new IllegalStateException("request body has not been read");
+            }
+            return customerRepo.findAll(spec);
+        }
+
+        @PostMapping(value = "/customers/search/withJsonTree")
+        public List<Customer> findByBodyValuesWithJsonTreeParameter(
+                @RequestBody JsonNode body,
+                @Spec(path = "firstName", jsonPaths = "filters.firstName", spec = Equal.class) Specification<Customer> spec) {
+
+            if (!body.has("filters")) {
+                throw new IllegalStateException("request body has not been read");
+            }
+            return customerRepo.findAll(spec);
+        }
+
     }
 
     @Test
@@ -188,4 +221,37 @@ public class RequestBodyHandlingE2eTest extends E2eTestBase {
             .andExpect(jsonPath("$[?(@.firstName=='Bart')]").exists())
             .andExpect(jsonPath("$.length()").value(2));
     }
+
+    @Test
+    public void sharesRequestBodyBetweenSpecificationParameters() throws Exception {
+        mockMvc.perform(post("/customers/search/twoSpecs")
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(" { \"lastName\": \"Simpson\", \"firstName\": \"Lisa\" }"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].firstName").value("Lisa"));
+    }
+
+    @Test
+    public void reusesBodyReadForRequestBodyParameter() throws Exception {
+        mockMvc.perform(post("/customers/search/withRequestBody")
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(" { \"firstName\": \"Homer\" }"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].firstName").value("Homer"));
+    }
+
+    @Test
+    public void reusesJsonTreeReadForRequestBodyParameter() throws Exception {
+        mockMvc.perform(post("/customers/search/withJsonTree")
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(" { \"filters\": { \"firstName\": \"Marge\" } }"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].firstName").value("Marge"));
+    }
 }
@@ -226,6 +226,7 @@ public class BetweenTest extends IntegrationTestBase {
 		EqualsVerifier.forClass(Between.class)
 				.usingGetClass()
 				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
 				.verify();
 	}
 
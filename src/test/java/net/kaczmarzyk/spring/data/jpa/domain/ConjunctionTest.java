@@ -18,14 +18,18 @@ package net.kaczmarzyk.spring.data.jpa.domain;
 import com.jparams.verifier.tostring.ToStringVerifier;
 import net.kaczmarzyk.spring.data.jpa.Customer;
 import net.kaczmarzyk.spring.data.jpa.IntegrationTestBase;
+import net.kaczmarzyk.utils.interceptor.HibernateStatementInspector;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
 import java.text.ParseException;
 import java.util.List;
 
+import static jakarta.persistence.criteria.JoinType.LEFT;
 import static net.kaczmarzyk.spring.data.jpa.CustomerBuilder.customer;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -59,19 +63,53 @@ public class ConjunctionTest extends IntegrationTestBase {
             .containsOnly(homerSimpson, margeSimpson);
     }
 
+    @Test
+    public void rendersNestedConjunctionsWithoutDuplicates() {
+        Like<Customer> streetWithEvergreen = new Like<>(queryCtx, "address.street", "Evergreen");
+        LessThan<Customer> registeredBefore21st = new LessThan<>(queryCtx, "registrationDate", new String[] {"2014-03-21"}, defaultConverter);
+        Conjunction<Customer> spec = new Conjunction<>(
+                new Conjunction<>(streetWithEvergreen, registeredBefore21st),
+                new Conjunction<>(new Like<>(queryCtx, "address.street", "Evergreen")));
+        HibernateStatementInspector.clearInterceptedStatements();
+
+        List<Customer> result = customerRepo.findAll(spec);
+
+        assertThat(result).containsOnly(homerSimpson, margeSimpson);
+        List<String> statements = HibernateStatementInspector.getInterceptedStatements();
+        assertThat(statements).hasSize(1);
+        String whereClause = statements.get(0).substring(statements.get(0).indexOf(" where "));
+        assertThat(whereClause.split("street", -1)).hasSize(2);
+    }
+
+    @Test
+    public void canBeReusedForMultipleQueries() {
+        homerSimpson = customer("Homer", "Simpson").orders("Duff Beer", "Donuts").build(em);
+        JoinFetch<Customer> ordersFetch = new JoinFetch<>(queryCtx, new String[]{"orders"}, "o", LEFT, true);
+        Like<Customer> orderedDuff = new Like<>(queryCtx, "o.itemName", "Duff");
+        Conjunction<Customer> spec = new Conjunction<>(ordersFetch, orderedDuff);
+
+        List<Customer> firstResult = customerRepo.findAll(spec);
+        List<Customer> secondResult = customerRepo.findAll(spec);
+        Page<Customer> pagedResult = customerRepo.findAll(spec, PageRequest.of(0, 1));
+
+        assertThat(firstResult).containsOnly(homerSimpson);
+        assertThat(secondResult).containsOnly(homerSimpson);
+        assertThat(pagedResult.getContent()).containsOnly(homerSimpson);
+        assertThat(pagedResult.getTotalElements()).isEqualTo(1);
+    }
+
     @Test
     public void equalsAndHashCodeContract() {
         EqualsVerifier.forClass(Conjunction.class)
                 .usingGetClass()
-                .suppress(Warning.NONFINAL_FIELDS)
-                .withIgnoredFields("queriesWithInitializedFakes")
+                .withCachedHashCode("cachedHashCode", "calculateHashCode", new Conjunction<Customer>(new Like<>(queryCtx, "lastName", "Simpson")))
                 .verify();
     }
 
     @Test
     public void toStringVerifier() {
         ToStringVerifier.forClass(Conjunction.class)
-                .withIgnoredFields("queriesWithInitializedFakes")
+                .withIgnoredFields("conjuncts", "cachedHashCode")
                 .verify();
     }
 }
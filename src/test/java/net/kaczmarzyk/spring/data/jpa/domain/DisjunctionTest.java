@@ -18,12 +18,15 @@ package net.kaczmarzyk.spring.data.jpa.domain;
 import com.jparams.verifier.tostring.ToStringVerifier;
 import net.kaczmarzyk.spring.data.jpa.Customer;
 import net.kaczmarzyk.spring.data.jpa.IntegrationTestBase;
+import net.kaczmarzyk.utils.interceptor.HibernateStatementInspector;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static net.kaczmarzyk.spring.data.jpa.CustomerBuilder.customer;
@@ -58,17 +61,85 @@ public class DisjunctionTest extends IntegrationTestBase {
             .containsOnly(homerSimpson, margeSimpson, bartSimpson, moeSzyslak);
     }
 
+    @Test
+    public void mergesEqualsOnTheSamePathIntoSingleIn() {
+        Disjunction<Customer> spec = new Disjunction<>(
+                new EmptyResultOnTypeMismatch<>(new Equal<>(queryCtx, "firstName", new String[] { "Homer" }, defaultConverter)),
+                new Like<>(queryCtx, "lastName", "Flanders"),
+                new EmptyResultOnTypeMismatch<>(new Equal<>(queryCtx, "firstName", new String[] { "Marge" }, defaultConverter)));
+
+        String whereClause = executedWhereClause(spec, homerSimpson, margeSimpson, nedFlanders);
+
+        assertThat(occurrencesOf("first_name", whereClause)).isEqualTo(1);
+        assertThat(whereClause).contains(" in(");
+    }
+
+    @Test
+    public void usesInListOptionsForMergedEquals() {
+        String whereClauseForThreeValues = executedWhereClause(firstNameIsOneOf("Homer", "Marge", "Bart"),
+                homerSimpson, margeSimpson, bartSimpson);
+        String whereClauseForFourValues = executedWhereClause(firstNameIsOneOf("Homer", "Marge", "Bart", "Ned"),
+                homerSimpson, margeSimpson, bartSimpson, nedFlanders);
+
+        assertThat(whereClauseForThreeValues).isEqualTo(whereClauseForFourValues);
+    }
+
+    @Test
+    public void skipsValuesRejectedByConverterOfMergedEquals() {
+        Disjunction<Customer> spec = new Disjunction<>(
+                new EmptyResultOnTypeMismatch<>(new Equal<>(queryCtx, "id", new String[] { "not-a-number" }, defaultConverter)),
+                new EmptyResultOnTypeMismatch<>(new Equal<>(queryCtx, "id", new String[] { homerSimpson.getId().toString() }, defaultConverter)));
+
+        assertThat(customerRepo.findAll(spec)).containsOnly(homerSimpson);
+    }
+
+    @Test
+    public void rendersNestedDisjunctionsAsSingleOrWithoutDuplicates() {
+        Like<Customer> lastNameSimpson = new Like<>(queryCtx, "lastName", "Simpson");
+        Disjunction<Customer> spec = new Disjunction<>(
+                lastNameSimpson,
+                new Disjunction<>(new Like<>(queryCtx, "lastName", "Szyslak"), new Like<>(queryCtx, "lastName", "Simpson")));
+
+        String whereClause = executedWhereClause(spec, homerSimpson, margeSimpson, bartSimpson, moeSzyslak);
+
+        assertThat(occurrencesOf("last_name", whereClause)).isEqualTo(2);
+    }
+
     @Test
     public void equalsAndHashCodeContract() {
         EqualsVerifier.forClass(Disjunction.class)
                 .usingGetClass()
-                .suppress(Warning.NONFINAL_FIELDS)
+                .withCachedHashCode("cachedHashCode", "calculateHashCode", new Disjunction<Customer>(new Like<>(queryCtx, "lastName", "Simpson")))
                 .verify();
     }
 
+    private String executedWhereClause(Specification<Customer> spec, Customer... expectedResult) {
+        HibernateStatementInspector.clearInterceptedStatements();
+
+        assertThat(customerRepo.findAll(spec)).containsOnly(expectedResult);
+
+        List<String> statements = HibernateStatementInspector.getInterceptedStatements();
+        assertThat(statements).hasSize(1);
+        String sql = statements.get(0);
+        return sql.substring(sql.indexOf(" where "));
+    }
+
+    private Disjunction<Customer> firstNameIsOneOf(String... firstNames) {
+        List<Specification<Customer>> equals = new ArrayList<>();
+        for (String firstName : firstNames) {
+            equals.add(new EmptyResultOnTypeMismatch<>(new Equal<>(queryCtx, "firstName", new String[] { firstName }, defaultConverter)));
+        }
+        return new Disjunction<>(InListOptions.of(true, 0), equals);
+    }
+
+    private static int occurrencesOf(String fragment, String whereClause) {
+        return whereClause.split(fragment, -1).length - 1;
+    }
+
     @Test
     public void toStringVerifier() {
         ToStringVerifier.forClass(Disjunction.class)
+                .withIgnoredFields("disjuncts", "cachedHashCode")
                 .verify();
     }
 }
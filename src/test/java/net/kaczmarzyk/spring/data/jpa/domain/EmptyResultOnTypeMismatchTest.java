@@ -19,6 +19,7 @@ import com.jparams.verifier.tostring.ToStringVerifier;
 import net.kaczmarzyk.spring.data.jpa.Customer;
 import net.kaczmarzyk.spring.data.jpa.Gender;
 import net.kaczmarzyk.spring.data.jpa.IntegrationTestBase;
+import net.kaczmarzyk.spring.data.jpa.utils.ConversionResult;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 import org.junit.Before;
@@ -28,6 +29,11 @@ import java.util.List;
 
 import static net.kaczmarzyk.spring.data.jpa.CustomerBuilder.customer;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Tomasz Kaczmarzyk
@@ -92,6 +98,25 @@ public class EmptyResultOnTypeMismatchTest extends IntegrationTestBase {
 		assertThat(result).hasSize(1).contains(homerSimpson);
 	}
 
+	@Test
+	public void producesEmptyResultOnTypeMismatch_betweenWithInvalidUpperBoundary() {
+		EmptyResultOnTypeMismatch<Customer> weightQuery = new EmptyResultOnTypeMismatch<>(new Between<Customer>(queryCtx, "weight", new String[] { "50", "not an int" }, defaultConverter));
+		List<Customer> result = customerRepo.findAll(weightQuery);
+		assertThat(result).isEmpty();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void usesRejectionReportedByTypeMismatchAwareSpecInsteadOfCatchingException() {
+		Equal<Customer> wrappedSpec = mock(Equal.class);
+		when(wrappedSpec.toPredicateOrRejection(any(), any(), any())).thenReturn(ConversionResult.rejected("not a long", "number format exception"));
+
+		List<Customer> result = customerRepo.findAll(new EmptyResultOnTypeMismatch<>(wrappedSpec));
+
+		assertThat(result).isEmpty();
+		verify(wrappedSpec, never()).toPredicate(any(), any(), any());
+	}
+
 	@Test
 	public void equalsAndHashCodeContract() {
 		EqualsVerifier.forClass(EmptyResultOnTypeMismatch.class)
@@ -87,6 +87,7 @@ public class EndingWithIgnoreCaseTest extends IntegrationTestBase {
 		EqualsVerifier.forClass(EndingWithIgnoreCase.class)
 				.usingGetClass()
 				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
 				.verify();
 	}
 
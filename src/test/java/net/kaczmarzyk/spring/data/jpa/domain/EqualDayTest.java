@@ -27,6 +27,7 @@ public class EqualDayTest {
 		EqualsVerifier.forClass(EqualDay.class)
 			.usingGetClass()
 			.suppress(Warning.NONFINAL_FIELDS)
+			.withIgnoredFields("queryContext")
 			.verify();
 	}
 
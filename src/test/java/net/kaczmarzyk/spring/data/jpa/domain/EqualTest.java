@@ -27,6 +27,7 @@ public class EqualTest {
 		EqualsVerifier.forClass(Equal.class)
 				.usingGetClass()
 				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
 				.verify();
 	}
 
@@ -108,6 +108,7 @@ public class FalseTest extends IntegrationTestBase {
         EqualsVerifier.forClass(False.class)
                 .usingGetClass()
                 .suppress(Warning.NONFINAL_FIELDS)
+                .withIgnoredFields("queryContext")
                 .verify();
     }
 
@@ -148,6 +148,7 @@ public class GreaterThanOrEqualTest extends ComparableWithConverterTestBase {
 		EqualsVerifier.forClass(GreaterThanOrEqual.class)
 				.usingGetClass()
 				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
 				.verify();
 	}
     
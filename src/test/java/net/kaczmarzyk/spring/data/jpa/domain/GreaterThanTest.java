@@ -140,6 +140,7 @@ public class GreaterThanTest extends ComparableWithConverterTestBase {
 		EqualsVerifier.forClass(GreaterThan.class)
 				.usingGetClass()
 				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
 				.verify();
 	}
     
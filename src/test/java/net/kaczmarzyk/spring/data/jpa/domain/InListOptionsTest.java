@@ -0,0 +1,101 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.domain;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static net.kaczmarzyk.spring.data.jpa.utils.ThrowableAssertions.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InListOptionsTest {
+
+	@Test
+	public void doesNotModifyValuesByDefault() {
+		List<List<Integer>> split = InListOptions.DEFAULT.split(asList(1, 2, 3));
+
+		assertThat(split).containsExactly(asList(1, 2, 3));
+	}
+
+	@Test
+	public void padsValuesToTheNearestPowerOfTwoWithTheLastValue() {
+		InListOptions padding = InListOptions.of(true, 0);
+
+		assertThat(padding.split(asList(1))).containsExactly(asList(1));
+		assertThat(padding.split(asList(1, 2))).containsExactly(asList(1, 2));
+		assertThat(padding.split(asList(1, 2, 3))).containsExactly(asList(1, 2, 3, 3));
+		assertThat(padding.split(asList(1, 2, 3, 4, 5))).containsExactly(asList(1, 2, 3, 4, 5, 5, 5, 5));
+	}
+
+	@Test
+	public void splitsValuesIntoListsOfMaxSize() {
+		InListOptions maxSize = InListOptions.of(false, 2);
+
+		assertThat(maxSize.split(asList(1, 2))).containsExactly(asList(1, 2));
+		assertThat(maxSize.split(asList(1, 2, 3, 4, 5))).containsExactly(asList(1, 2), asList(3, 4), asList(5));
+	}
+
+	@Test
+	public void padsTheLastListToPowerOfTwoNotExceedingMaxSize() {
+		assertThat(InListOptions.of(true, 4).split(asList(1, 2, 3, 4, 5, 6, 7)))
+				.containsExactly(asList(1, 2, 3, 4), asList(5, 6, 7, 7));
+		assertThat(InListOptions.of(true, 6).split(asList(1, 2, 3, 4, 5)))
+				.containsExactly(asList(1, 2, 3, 4, 5, 5));
+	}
+
+	@Test
+	public void readsOptionsFromConfigAndUsesDefaultsForTheMissingOnes() {
+		InListOptions defaults = InListOptions.of(true, 1000);
+
+		assertThat(InListOptions.fromConfig(new String[] { "yyyy-MM-dd" }, defaults)).isEqualTo(defaults);
+		assertThat(InListOptions.fromConfig(new String[] { "inListMaxSize=10" }, defaults)).isEqualTo(InListOptions.of(true, 10));
+		assertThat(InListOptions.fromConfig(new String[] { "inListPadding=false" }, defaults)).isEqualTo(InListOptions.of(false, 1000));
+		assertThat(InListOptions.fromConfig(new String[] { "inListPadding" }, InListOptions.DEFAULT)).isEqualTo(InListOptions.of(true, 0));
+	}
+
+	@Test
+	public void readsArrayFunctionFromConfig() {
+		InListOptions arrayBinding = InListOptions.fromConfig(new String[] { "inListArrayFunction=array_contains" }, InListOptions.DEFAULT);
+
+		assertThat(arrayBinding.isArrayBinding()).isTrue();
+		assertThat(arrayBinding.getArrayFunction()).isEqualTo("array_contains");
+		assertThat(InListOptions.fromConfig(new String[] { "inListArrayFunction=" }, arrayBinding).isArrayBinding()).isFalse();
+		assertThat(InListOptions.withoutOptions(new String[] { "inListArrayFunction=array_contains" })).isEmpty();
+	}
+
+	@Test
+	public void rejectsInvalidMaxSize() {
+		assertThrows(IllegalArgumentException.class, () -> InListOptions.fromConfig(new String[] { "inListMaxSize=abc" }, InListOptions.DEFAULT));
+		assertThrows(IllegalArgumentException.class, () -> InListOptions.of(false, -1));
+	}
+
+	@Test
+	public void removesOptionsFromConfig() {
+		assertThat(InListOptions.withoutOptions(new String[] { "inListPadding", "yyyy-MM-dd", "inListMaxSize=10" }))
+				.containsExactly("yyyy-MM-dd");
+		assertThat(InListOptions.withoutOptions(new String[] { "inListPadding=true" })).isEmpty();
+	}
+
+	@Test
+	public void equalsAndHashCodeContract() {
+		EqualsVerifier.forClass(InListOptions.class)
+				.usingGetClass()
+				.verify();
+	}
+}
@@ -21,6 +21,7 @@ import net.kaczmarzyk.spring.data.jpa.Gender;
 import net.kaczmarzyk.spring.data.jpa.IntegrationTestBase;
 import net.kaczmarzyk.spring.data.jpa.utils.Converter;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.OnTypeMismatch;
+import net.kaczmarzyk.utils.interceptor.HibernateStatementInspector;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 import org.hamcrest.CoreMatchers;
@@ -169,6 +170,47 @@ public class InTest extends IntegrationTestBase {
     	assertThat(found).hasSize(3).containsOnly(homerSimpson, margeSimpson, moeSzyslak);
     }
 
+	@Test
+	public void filtersWithPaddedInList() {
+		In<Customer> spec = new In<>(queryCtx, "lastName", new String[] { "Simpson", "Quimby", "Flanders" }, defaultConverter, InListOptions.of(true, 0));
+
+		List<Customer> found = customerRepo.findAll(spec);
+
+		assertThat(found).hasSize(3).containsOnly(homerSimpson, margeSimpson, joeQuimby);
+	}
+
+	@Test
+	public void generatesTheSameSqlForInListsPaddedToTheSameSize() {
+		String sqlForThreeValues = executedSql(new String[] { "Simpson", "Quimby", "Flanders" });
+		String sqlForFourValues = executedSql(new String[] { "Simpson", "Quimby", "Flanders", "Szyslak" });
+
+		assertThat(sqlForThreeValues).isEqualTo(sqlForFourValues);
+	}
+
+	@Test
+	public void splitsInListLongerThanMaxSize() {
+		In<Customer> spec = new In<>(queryCtx, "lastName", new String[] { "Simpson", "Flanders", "Quimby" }, defaultConverter, InListOptions.of(false, 2));
+		HibernateStatementInspector.clearInterceptedStatements();
+
+		List<Customer> found = customerRepo.findAll(spec);
+
+		assertThat(found).hasSize(3).containsOnly(homerSimpson, margeSimpson, joeQuimby);
+		assertThat(HibernateStatementInspector.getInterceptedStatements())
+				.hasSize(1)
+				.allMatch(sql -> sql.contains(" or "));
+	}
+
+	private String executedSql(String[] lastNames) {
+		In<Customer> spec = new In<>(queryCtx, "lastName", lastNames, defaultConverter, InListOptions.of(true, 0));
+		HibernateStatementInspector.clearInterceptedStatements();
+
+		customerRepo.findAll(spec);
+
+		List<String> statements = HibernateStatementInspector.getInterceptedStatements();
+		assertThat(statements).hasSize(1);
+		return statements.get(0);
+	}
+
 	@Test
 	public void rejectsNullArgumentArray() {
 		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
@@ -192,6 +234,7 @@ public class InTest extends IntegrationTestBase {
 		EqualsVerifier.forClass(In.class)
 				.usingGetClass()
 				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
 				.verify();
 	}
 
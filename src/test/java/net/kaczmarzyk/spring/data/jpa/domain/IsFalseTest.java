@@ -80,6 +80,7 @@ public class IsFalseTest extends IntegrationTestBase {
         EqualsVerifier.forClass(IsFalse.class)
                 .usingGetClass()
                 .suppress(Warning.NONFINAL_FIELDS)
+                .withIgnoredFields("queryContext")
                 .verify();
     }
 
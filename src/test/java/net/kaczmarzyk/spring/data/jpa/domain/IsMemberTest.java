@@ -99,6 +99,7 @@ public class IsMemberTest extends IntegrationTestBase {
         EqualsVerifier.forClass(IsMember.class)
                 .usingGetClass()
                 .suppress(Warning.NONFINAL_FIELDS)
+                .withIgnoredFields("queryContext")
                 .verify();
     }
 
@@ -65,6 +65,7 @@ public class IsNotEmptyTest extends IntegrationTestBase {
 		EqualsVerifier.forClass(IsNotEmpty.class)
 			.usingGetClass()
 			.suppress(Warning.NONFINAL_FIELDS)
+			.withIgnoredFields("queryContext")
 			.verify();
 	}
 
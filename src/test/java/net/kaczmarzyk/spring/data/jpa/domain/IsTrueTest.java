@@ -80,6 +80,7 @@ public class IsTrueTest extends IntegrationTestBase {
         EqualsVerifier.forClass(IsTrue.class)
                 .usingGetClass()
                 .suppress(Warning.NONFINAL_FIELDS)
+                .withIgnoredFields("queryContext")
                 .verify();
     }
 
@@ -352,6 +352,7 @@ public class JoinFetchTest extends IntegrationTestBase {
         EqualsVerifier.forClass(JoinFetch.class)
                 .usingGetClass()
                 .suppress(Warning.NONFINAL_FIELDS)
+                .withIgnoredFields("context")
                 .verify();
     }
 
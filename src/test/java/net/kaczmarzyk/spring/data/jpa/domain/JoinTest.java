@@ -17,6 +17,7 @@ package net.kaczmarzyk.spring.data.jpa.domain;
 
 import static jakarta.persistence.criteria.JoinType.INNER;
 import static jakarta.persistence.criteria.JoinType.LEFT;
+import static net.kaczmarzyk.spring.data.jpa.web.annotation.JoinStrategy.EXISTS;
 import static net.kaczmarzyk.spring.data.jpa.CustomerBuilder.customer;
 import static net.kaczmarzyk.spring.data.jpa.ItemTagBuilder.itemTag;
 import static net.kaczmarzyk.spring.data.jpa.OrderBuilder.order;
@@ -30,14 +31,18 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
 
 import com.jparams.verifier.tostring.ToStringVerifier;
 
 import net.kaczmarzyk.spring.data.jpa.Customer;
 import net.kaczmarzyk.spring.data.jpa.IntegrationTestBase;
 import net.kaczmarzyk.spring.data.jpa.ItemTag;
+import net.kaczmarzyk.spring.data.jpa.Order;
 import net.kaczmarzyk.utils.interceptor.HibernateStatementInspector;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
@@ -67,6 +72,7 @@ public class JoinTest extends IntegrationTestBase {
 				.orders(order("Comic Books").withTags(books))
 				.build(em);
 
+		em.flush();
 		HibernateStatementInspector.clearInterceptedStatements();
 	}
 
@@ -267,11 +273,124 @@ public class JoinTest extends IntegrationTestBase {
 			.hasNumberOfJoins(0);
 	}
 
+	@Test
+	public void doesNotMakeQueryDistinctIfJoinIsNotEvaluated() {
+		Join<Customer> joinOrders = new Join<>(queryCtx, "orders", "o", LEFT, true);
+		Equal<Customer> firstName = new Equal<>(queryCtx, "firstName", new String[]{ "Homer" }, defaultConverter);
+
+		assertThat(customerRepo.findAll(new Conjunction<>(joinOrders, firstName)))
+				.extracting(Customer::getFirstName)
+				.containsExactly("Homer");
+
+		assertThat(HibernateStatementInspector.getInterceptedStatements().get(0))
+				.doesNotContain("distinct");
+	}
+
+	@Test
+	public void makesQueryDistinctIfJoinedCollectionIsUsedForFiltering() {
+		Join<Customer> joinOrders = new Join<>(queryCtx, "orders", "o", LEFT, true);
+		Like<Customer> orderedItemName = new Like<>(queryCtx, "o.itemName", "D");
+
+		assertThat(customerRepo.count(new Conjunction<>(joinOrders, orderedItemName)))
+				.isEqualTo(1);
+
+		assertThat(HibernateStatementInspector.getInterceptedStatements().get(0))
+				.contains("count(distinct");
+	}
+
+	@Test
+	public void doesNotMakeQueryDistinctForJoinOfToOneAssociation() {
+		SimpleJpaRepository<Order, Long> orderRepo = new SimpleJpaRepository<>(Order.class, em);
+		Join<Order> innerJoinCustomer = new Join<>(queryCtx, "customer", "c", INNER, true);
+
+		assertThat(orderRepo.findAll(innerJoinCustomer))
+				.hasSize(3);
+
+		assertThat(HibernateStatementInspector.getInterceptedStatements().get(0))
+				.doesNotContain("distinct");
+	}
+
+	@Test
+	public void makesQueryDistinctIfAnyOfEvaluatedCollectionJoinsRequiresIt() {
+		Join<Customer> distinctJoinOrders = new Join<>(queryCtx, "orders", "o", LEFT, true);
+		Join<Customer> nonDistinctJoinTags = new Join<>(queryCtx, "o.tags", "t", LEFT, false);
+		Equal<Customer> tagEqual = new Equal<>(queryCtx, "t.name", new String[]{ "books" }, defaultConverter);
+
+		customerRepo.count(new Conjunction<>(distinctJoinOrders, nonDistinctJoinTags, tagEqual));
+
+		assertThat(HibernateStatementInspector.getInterceptedStatements().get(0))
+				.contains("count(distinct");
+	}
+
+	@Test
+	public void rendersSpecsOnSemiJoinAsExistsSubqueryWithoutDistinct() {
+		Join<Customer> joinOrders = new Join<>(queryCtx, "orders", "o", LEFT, true, EXISTS);
+		Equal<Customer> orderedItemName = new Equal<>(queryCtx, "o.itemName", new String[]{ "Duff Beer" }, defaultConverter);
+
+		List<Customer> customers = customerRepo.findAll(new Conjunction<>(joinOrders, orderedItemName), Sort.by("id"));
+
+		assertThat(customers)
+				.extracting(Customer::getFirstName)
+				.containsExactly("Homer");
+
+		List<String> statements = HibernateStatementInspector.getInterceptedStatements();
+		assertThat(statements).hasSize(1);
+		assertThat(statements.get(0))
+				.contains("exists")
+				.doesNotContain("distinct");
+	}
+
+	@Test
+	public void matchesSpecsOnTheSameSemiJoinAgainstTheSameJoinedRow() {
+		Join<Customer> joinOrders = new Join<>(queryCtx, "orders", "o", LEFT, true, EXISTS);
+		Equal<Customer> duffBeer = new Equal<>(queryCtx, "o.itemName", new String[]{ "Duff Beer" }, defaultConverter);
+		Equal<Customer> donuts = new Equal<>(queryCtx, "o.itemName", new String[]{ "Donuts" }, defaultConverter);
+		Equal<Customer> comicBooks = new Equal<>(queryCtx, "o.itemName", new String[]{ "Comic Books" }, defaultConverter);
+
+		assertThat(customerRepo.findAll(new Conjunction<>(joinOrders, duffBeer, donuts)))
+				.isEmpty();
+		assertThat(customerRepo.findAll(new Conjunction<>(joinOrders, new Disjunction<>(duffBeer, comicBooks)), Sort.by("id")))
+				.extracting(Customer::getFirstName)
+				.containsExactly("Homer", "Bart");
+	}
+
+	@Test
+	public void rendersJoinsOnTopOfSemiJoinIntoTheSameExistsSubquery() {
+		Join<Customer> joinOrders = new Join<>(queryCtx, "orders", "o", LEFT, true, EXISTS);
+		Join<Customer> joinTags = new Join<>(queryCtx, "o.tags", "t", LEFT, true);
+		Equal<Customer> tagEqual = new Equal<>(queryCtx, "t.name", new String[]{ "books" }, defaultConverter);
+		Equal<Customer> orderedItemName = new Equal<>(queryCtx, "o.itemName", new String[]{ "Comic Books" }, defaultConverter);
+
+		List<Customer> customers = customerRepo.findAll(new Conjunction<>(joinOrders, joinTags, tagEqual, orderedItemName));
+
+		assertThat(customers)
+				.extracting(Customer::getFirstName)
+				.containsExactly("Bart");
+
+		String sql = HibernateStatementInspector.getInterceptedStatements().get(0);
+		assertThat(sql.split("exists", -1)).hasSize(2);
+		assertThat(sql).doesNotContain("distinct");
+	}
+
+	@Test
+	public void countsRootEntitiesMatchingSpecsOnSemiJoin() {
+		Join<Customer> joinOrders = new Join<>(queryCtx, "orders", "o", LEFT, true, EXISTS);
+		In<Customer> orderedItemNames = new In<>(queryCtx, "o.itemName", new String[]{ "Duff Beer", "Donuts", "Comic Books" }, defaultConverter);
+
+		Page<Customer> page = customerRepo.findAll(new Conjunction<>(joinOrders, orderedItemNames), PageRequest.of(0, 1, Sort.by("id")));
+
+		assertThat(page.getContent())
+				.extracting(Customer::getFirstName)
+				.containsExactly("Homer");
+		assertThat(page.getTotalElements()).isEqualTo(2);
+	}
+
 	@Test
 	public void equalsAndHashCodeContract() {
 		EqualsVerifier.forClass(Join.class)
 				.usingGetClass()
 				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
 				.verify();
 	}
 
@@ -0,0 +1,138 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.domain;
+
+import com.jparams.verifier.tostring.ToStringVerifier;
+import net.kaczmarzyk.spring.data.jpa.Customer;
+import net.kaczmarzyk.spring.data.jpa.IntegrationTestBase;
+import net.kaczmarzyk.spring.data.jpa.utils.Converter;
+import net.kaczmarzyk.spring.data.jpa.utils.KeysetCursor;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.OnTypeMismatch;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.Arrays.asList;
+import static net.kaczmarzyk.spring.data.jpa.CustomerBuilder.customer;
+import static net.kaczmarzyk.spring.data.jpa.utils.ThrowableAssertions.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeysetTest extends IntegrationTestBase {
+
+	private Customer homerSimpson;
+	private Customer margeSimpson;
+	private Customer moeSzyslak;
+	private Customer nedFlanders;
+
+	@Before
+	public void initData() {
+		homerSimpson = customer("Homer", "Simpson").registrationDate(2015, 3, 1).build(em);
+		margeSimpson = customer("Marge", "Simpson").registrationDate(2015, 3, 2).build(em);
+		moeSzyslak = customer("Moe", "Szyslak").registrationDate(2015, 3, 1).build(em);
+		nedFlanders = customer("Ned", "Flanders").registrationDate(2015, 3, 3).build(em);
+	}
+
+	@Test
+	public void filtersRowsFollowingTheLastRowInAscendingOrder() {
+		Keyset<Customer> afterHomer = keyset(Direction.ASC, "2015-03-01", homerSimpson.getId());
+
+		List<Customer> found = customerRepo.findAll(afterHomer, Sort.by("registrationDate", "id"));
+
+		assertThat(found).containsExactly(moeSzyslak, margeSimpson, nedFlanders);
+	}
+
+	@Test
+	public void filtersRowsFollowingTheLastRowInDescendingOrder() {
+		Keyset<Customer> afterMarge = keyset(Direction.DESC, "2015-03-02", margeSimpson.getId());
+
+		List<Customer> found = customerRepo.findAll(afterMarge, Sort.by(Direction.DESC, "registrationDate", "id"));
+
+		assertThat(found).containsExactly(moeSzyslak, homerSimpson);
+	}
+
+	@Test
+	public void filtersBySingleKey() {
+		Keyset<Customer> afterMoe = new Keyset<>(queryCtx, new String[] { "id" }, new String[] { moeSzyslak.getId().toString() },
+				Direction.ASC, defaultConverter);
+
+		List<Customer> found = customerRepo.findAll(afterMoe, Sort.by("id"));
+
+		assertThat(found).containsExactly(nedFlanders);
+	}
+
+	@Test
+	public void distinguishesRowsWithTheSameDayUsingCursorOfTheLastRow() {
+		Customer bart = customer("Bart", "Simpson").registrationDate(2015, 3, 4, 10, 15, 30, 100).build(em);
+		Customer lisa = customer("Lisa", "Simpson").registrationDate(2015, 3, 4, 10, 15, 30, 200).build(em);
+		Customer maggie = customer("Maggie", "Simpson").registrationDate(2015, 3, 4, 10, 15, 30, 300).build(em);
+
+		List<Customer> found = customerRepo.findAll(keysetAfter(lisa, "registrationDate"), Sort.by("registrationDate"));
+
+		assertThat(found).containsExactly(maggie);
+	}
+
+	@Test
+	public void distinguishesRowsWithTheSameSecondUsingCursorOfTheLastRow() {
+		Customer bart = customer("Bart", "Simpson").lastOrderTime(LocalDateTime.of(2015, 3, 4, 10, 15, 30, 100_000)).build(em);
+		Customer lisa = customer("Lisa", "Simpson").lastOrderTime(LocalDateTime.of(2015, 3, 4, 10, 15, 30, 200_000)).build(em);
+		Customer maggie = customer("Maggie", "Simpson").lastOrderTime(LocalDateTime.of(2015, 3, 4, 10, 15, 30, 300_000)).build(em);
+
+		List<Customer> found = customerRepo.findAll(keysetAfter(bart, "lastOrderTime"), Sort.by("lastOrderTime"));
+
+		assertThat(found).containsExactly(lisa, maggie);
+	}
+
+	@Test
+	public void rejectsValuesNotMatchingTheKeys() {
+		assertThrows(IllegalArgumentException.class,
+				() -> new Keyset<>(queryCtx, new String[] { "registrationDate", "id" }, new String[] { "2015-03-01" }, Direction.ASC, defaultConverter),
+				"Expected values of 2 sort keys [registrationDate, id], but was [2015-03-01]");
+	}
+
+	@Test
+	public void equalsAndHashCodeContract() {
+		EqualsVerifier.forClass(Keyset.class)
+				.usingGetClass()
+				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
+				.verify();
+	}
+
+	@Test
+	public void toStringVerifier() {
+		ToStringVerifier.forClass(Keyset.class)
+				.withIgnoredFields("queryContext")
+				.verify();
+	}
+
+	private Keyset<Customer> keysetAfter(Customer lastRow, String key) {
+		String[] lastValues = KeysetCursor.decode(KeysetCursor.next(asList(lastRow), key));
+		return new Keyset<>(queryCtx, new String[] { key }, lastValues, Direction.ASC,
+				Converter.forKeysetCursor(OnTypeMismatch.EXCEPTION, null, Locale.getDefault()));
+	}
+
+	private Keyset<Customer> keyset(Direction direction, String lastRegistrationDate, Long lastId) {
+		return new Keyset<>(queryCtx, new String[] { "registrationDate", "id" }, new String[] { lastRegistrationDate, lastId.toString() },
+				direction, defaultConverter);
+	}
+}
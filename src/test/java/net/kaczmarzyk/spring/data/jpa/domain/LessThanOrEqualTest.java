@@ -145,6 +145,7 @@ public class LessThanOrEqualTest extends ComparableWithConverterTestBase {
 		EqualsVerifier.forClass(LessThanOrEqual.class)
 				.usingGetClass()
 				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
 				.verify();
 	}
 
@@ -132,6 +132,7 @@ public class LessThanTest extends ComparableWithConverterTestBase {
 		EqualsVerifier.forClass(LessThan.class)
 				.usingGetClass()
 				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
 				.verify();
 	}
   
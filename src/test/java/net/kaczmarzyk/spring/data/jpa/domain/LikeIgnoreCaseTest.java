@@ -86,6 +86,7 @@ public class LikeIgnoreCaseTest extends IntegrationTestBase {
         EqualsVerifier.forClass(LikeIgnoreCase.class)
                 .usingGetClass()
                 .suppress(Warning.NONFINAL_FIELDS)
+                .withIgnoredFields("queryContext")
                 .verify();
     }
 }
@@ -82,6 +82,7 @@ public class LikeTest extends IntegrationTestBase {
         EqualsVerifier.forClass(Like.class)
                 .usingGetClass()
                 .suppress(Warning.NONFINAL_FIELDS)
+                .withIgnoredFields("queryContext")
                 .verify();
     }
 
@@ -103,6 +103,7 @@ public class NotEqualIgnoreCaseTest extends NotEqualTest {
 		EqualsVerifier.forClass(NotEqualIgnoreCase.class)
 				.usingGetClass()
 				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
 				.verify();
 	}
 
@@ -21,6 +21,7 @@ import net.kaczmarzyk.spring.data.jpa.Gender;
 import net.kaczmarzyk.spring.data.jpa.IntegrationTestBase;
 import net.kaczmarzyk.spring.data.jpa.utils.Converter;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.OnTypeMismatch;
+import net.kaczmarzyk.utils.interceptor.HibernateStatementInspector;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 import org.junit.Before;
@@ -157,6 +158,47 @@ public class NotInTest extends IntegrationTestBase {
     	assertThat(found).hasSize(1).containsOnly(joeQuimby);
     }
 
+	@Test
+	public void filtersWithPaddedInList() {
+		NotIn<Customer> spec = new NotIn<>(queryCtx, "lastName", new String[] { "Simpson", "Quimby", "Flanders" }, defaultConverter, InListOptions.of(true, 0));
+
+		List<Customer> found = customerRepo.findAll(spec);
+
+		assertThat(found).hasSize(1).containsOnly(moeSzyslak);
+	}
+
+	@Test
+	public void generatesTheSameSqlForInListsPaddedToTheSameSize() {
+		String sqlForThreeValues = executedSql(new String[] { "Simpson", "Quimby", "Flanders" });
+		String sqlForFourValues = executedSql(new String[] { "Simpson", "Quimby", "Flanders", "Szyslak" });
+
+		assertThat(sqlForThreeValues).isEqualTo(sqlForFourValues);
+	}
+
+	@Test
+	public void splitsInListLongerThanMaxSize() {
+		NotIn<Customer> spec = new NotIn<>(queryCtx, "lastName", new String[] { "Simpson", "Flanders", "Quimby" }, defaultConverter, InListOptions.of(false, 2));
+		HibernateStatementInspector.clearInterceptedStatements();
+
+		List<Customer> found = customerRepo.findAll(spec);
+
+		assertThat(found).hasSize(1).containsOnly(moeSzyslak);
+		assertThat(HibernateStatementInspector.getInterceptedStatements())
+				.hasSize(1)
+				.allMatch(sql -> sql.contains(" and "));
+	}
+
+	private String executedSql(String[] lastNames) {
+		NotIn<Customer> spec = new NotIn<>(queryCtx, "lastName", lastNames, defaultConverter, InListOptions.of(true, 0));
+		HibernateStatementInspector.clearInterceptedStatements();
+
+		customerRepo.findAll(spec);
+
+		List<String> statements = HibernateStatementInspector.getInterceptedStatements();
+		assertThat(statements).hasSize(1);
+		return statements.get(0);
+	}
+
 	@Test
 	public void rejectsNullArgumentArray() {
 		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
@@ -179,6 +221,7 @@ public class NotInTest extends IntegrationTestBase {
 		EqualsVerifier.forClass(NotIn.class)
 				.usingGetClass()
 				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
 				.verify();
 	}
 
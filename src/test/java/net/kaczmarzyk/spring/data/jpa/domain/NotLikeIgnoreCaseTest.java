@@ -83,6 +83,7 @@ public class NotLikeIgnoreCaseTest extends IntegrationTestBase {
         EqualsVerifier.forClass(NotLikeIgnoreCase.class)
                 .usingGetClass()
                 .suppress(Warning.NONFINAL_FIELDS)
+                .withIgnoredFields("queryContext")
                 .verify();
     }
 
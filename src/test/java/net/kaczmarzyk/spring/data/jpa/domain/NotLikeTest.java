@@ -82,6 +82,7 @@ public class NotLikeTest extends IntegrationTestBase {
         EqualsVerifier.forClass(NotLike.class)
                 .usingGetClass()
                 .suppress(Warning.NONFINAL_FIELDS)
+                .withIgnoredFields("queryContext")
                 .verify();
     }
 
@@ -97,6 +97,7 @@ public class NotNullTest extends IntegrationTestBase {
         EqualsVerifier.forClass(NotNull.class)
                 .usingGetClass()
                 .suppress(Warning.NONFINAL_FIELDS)
+                .withIgnoredFields("queryContext")
                 .verify();
     }
 
@@ -90,6 +90,7 @@ public class StartingWithIgnoreCaseTest extends IntegrationTestBase {
 		EqualsVerifier.forClass(StartingWithIgnoreCase.class)
 				.usingGetClass()
 				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
 				.verify();
 	}
 }
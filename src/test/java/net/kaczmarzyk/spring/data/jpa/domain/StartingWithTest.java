@@ -80,6 +80,7 @@ public class StartingWithTest extends IntegrationTestBase {
 		EqualsVerifier.forClass(StartingWith.class)
 				.usingGetClass()
 				.suppress(Warning.NONFINAL_FIELDS)
+				.withIgnoredFields("queryContext")
 				.verify();
 	}
 }
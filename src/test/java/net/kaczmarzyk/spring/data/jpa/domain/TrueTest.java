@@ -108,6 +108,7 @@ public class TrueTest extends IntegrationTestBase {
         EqualsVerifier.forClass(True.class)
                 .usingGetClass()
                 .suppress(Warning.NONFINAL_FIELDS)
+                .withIgnoredFields("queryContext")
                 .verify();
     }
 
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.repository;
+
+import net.kaczmarzyk.spring.data.jpa.Customer;
+import net.kaczmarzyk.spring.data.jpa.Gender;
+import net.kaczmarzyk.spring.data.jpa.IntegrationTestBase;
+import net.kaczmarzyk.spring.data.jpa.domain.Between;
+import net.kaczmarzyk.spring.data.jpa.domain.Conjunction;
+import net.kaczmarzyk.spring.data.jpa.domain.Equal;
+import net.kaczmarzyk.spring.data.jpa.domain.EqualIgnoreCase;
+import net.kaczmarzyk.spring.data.jpa.domain.GreaterThan;
+import net.kaczmarzyk.spring.data.jpa.domain.In;
+import net.kaczmarzyk.spring.data.jpa.domain.InListOptions;
+import net.kaczmarzyk.spring.data.jpa.domain.Like;
+import net.kaczmarzyk.spring.data.jpa.domain.NotIn;
+import net.kaczmarzyk.spring.data.jpa.utils.QueryParameters;
+import net.kaczmarzyk.utils.interceptor.HibernateStatementInspector;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static net.kaczmarzyk.spring.data.jpa.CustomerBuilder.customer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParameterBindingJpaRepositoryTest extends IntegrationTestBase {
+
+	ParameterBindingJpaRepository<Customer, Long> repository;
+
+	Customer homerSimpson;
+	Customer margeSimpson;
+	Customer moeSzyslak;
+
+	@Before
+	public void initData() {
+		repository = new ParameterBindingJpaRepository<>(Customer.class, em);
+
+		homerSimpson = customer("Homer", "Simpson").gender(Gender.MALE).weight(121).registrationDate(2014, 3, 15).build(em);
+		margeSimpson = customer("Marge", "Simpson").gender(Gender.FEMALE).weight(55).registrationDate(2014, 3, 20).build(em);
+		moeSzyslak = customer("Moe", "Szyslak").gender(Gender.MALE).weight(65).registrationDate(2014, 3, 25).build(em);
+	}
+
+	@Test
+	public void generatesIdenticalSqlForDifferentFilterValues() {
+		String homerSql = executedSql(filter("Homer", "homer", "100", "2014-03-01", "2014-03-16", "MALE", "OTHER"), homerSimpson);
+		String margeSql = executedSql(filter("Marge", "marge", "50", "2014-03-19", "2014-03-21", "FEMALE", "OTHER"), margeSimpson);
+
+		assertThat(homerSql).isEqualTo(margeSql);
+	}
+
+	@Test
+	public void bindsValuesAsParameters() {
+		String sql = executedSql(new Equal<>(queryCtx, "firstName", new String[] { "Homer" }, defaultConverter), homerSimpson);
+
+		assertThat(sql)
+				.contains("?")
+				.doesNotContain("Homer");
+	}
+
+	@Test
+	public void bindsValuesOfPagedAndCountQueries() {
+		Specification<Customer> spec = new Like<>(queryCtx, "lastName", "Simpson");
+
+		Page<Customer> page = repository.findAll(spec, PageRequest.of(0, 1));
+
+		assertThat(page.getContent()).hasSize(1);
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		assertThat(repository.count(spec)).isEqualTo(2);
+	}
+
+	@Test
+	public void rendersValuesAsParametersOnlyForQueriesCreatedByTheRepository() {
+		assertThat(QueryParameters.isEnabled()).isFalse();
+
+		List<Customer> result = customerRepo.findAll(new Equal<>(queryCtx, "firstName", new String[] { "Moe" }, defaultConverter));
+
+		assertThat(result).containsOnly(moeSzyslak);
+		assertThat(QueryParameters.isEnabled()).isFalse();
+	}
+
+	@Test
+	public void bindsInListAsSingleArrayParameter() {
+		In<Customer> ids = new In<>(queryCtx, "id", ids(homerSimpson, moeSzyslak, 999_999L), defaultConverter, InListOptions.DEFAULT.withArrayFunction("array_contains"));
+
+		String sql = executedSql(ids, homerSimpson, moeSzyslak);
+
+		assertThat(sql).contains("array_contains(?");
+		assertThat(sql.chars().filter(c -> c == '?').count()).isEqualTo(1);
+	}
+
+	@Test
+	public void bindsNotInListAsSingleArrayParameter() {
+		NotIn<Customer> ids = new NotIn<>(queryCtx, "id", ids(homerSimpson, moeSzyslak), defaultConverter, InListOptions.DEFAULT.withArrayFunction("array_contains"));
+
+		String sql = executedSql(ids, margeSimpson);
+
+		assertThat(sql).contains("array_contains(?");
+	}
+
+	@Test
+	public void rendersRegularInListIfValuesAreNotBoundAsParameters() {
+		In<Customer> ids = new In<>(queryCtx, "id", ids(margeSimpson), defaultConverter, InListOptions.DEFAULT.withArrayFunction("array_contains"));
+
+		assertThat(customerRepo.findAll(ids)).containsOnly(margeSimpson);
+	}
+
+	private String[] ids(Object... customersOrIds) {
+		String[] ids = new String[customersOrIds.length];
+		for (int i = 0; i < ids.length; i++) {
+			Object customerOrId = customersOrIds[i];
+			ids[i] = String.valueOf(customerOrId instanceof Customer ? ((Customer) customerOrId).getId() : customerOrId);
+		}
+		return ids;
+	}
+
+	private Specification<Customer> filter(String firstName, String firstNameIgnoringCase, String minWeight,
+			String registeredAfter, String registeredBefore, String... genders) {
+		return new Conjunction<>(
+				new Equal<>(queryCtx, "firstName", new String[] { firstName }, defaultConverter),
+				new EqualIgnoreCase<>(queryCtx, "firstName", new String[] { firstNameIgnoringCase }, defaultConverter),
+				new GreaterThan<>(queryCtx, "weightInt", new String[] { minWeight }, defaultConverter),
+				new Between<>(queryCtx, "registrationDate", new String[] { registeredAfter, registeredBefore }, defaultConverter),
+				new In<>(queryCtx, "gender", genders, defaultConverter));
+	}
+
+	private String executedSql(Specification<Customer> spec, Customer... expectedResult) {
+		HibernateStatementInspector.clearInterceptedStatements();
+
+		assertThat(repository.findAll(spec)).containsOnly(expectedResult);
+
+		List<String> statements = HibernateStatementInspector.getInterceptedStatements();
+		assertThat(statements).hasSize(1);
+		return statements.get(0);
+	}
+}
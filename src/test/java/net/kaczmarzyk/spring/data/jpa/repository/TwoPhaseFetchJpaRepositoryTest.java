@@ -0,0 +1,192 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.repository;
+
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.Query;
+import net.kaczmarzyk.spring.data.jpa.Customer;
+import net.kaczmarzyk.spring.data.jpa.IntegrationTestBase;
+import net.kaczmarzyk.spring.data.jpa.Order;
+import net.kaczmarzyk.spring.data.jpa.domain.Conjunction;
+import net.kaczmarzyk.spring.data.jpa.domain.Equal;
+import net.kaczmarzyk.spring.data.jpa.domain.JoinFetch;
+import net.kaczmarzyk.spring.data.jpa.domain.Like;
+import net.kaczmarzyk.spring.data.jpa.utils.QueryParameters;
+import net.kaczmarzyk.utils.interceptor.HibernateStatementInspector;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static jakarta.persistence.criteria.JoinType.LEFT;
+import static net.kaczmarzyk.spring.data.jpa.CustomerBuilder.customer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TwoPhaseFetchJpaRepositoryTest extends IntegrationTestBase {
+
+	TwoPhaseFetchJpaRepository<Customer, Long> repository;
+
+	@Before
+	public void initData() {
+		repository = new TwoPhaseFetchJpaRepository<>(Customer.class, em);
+
+		customer("Homer", "Simpson").orders("Duff Beer", "Donuts").build(em);
+		customer("Marge", "Simpson").build(em);
+		customer("Bart", "Simpson").orders("Comic Books").build(em);
+		customer("Lisa", "Simpson").orders("Saxophone", "Books").build(em);
+		customer("Moe", "Szyslak").orders("Duff Beer").build(em);
+
+		em.flush();
+		em.clear();
+		HibernateStatementInspector.clearInterceptedStatements();
+	}
+
+	@Test
+	public void selectsIdsOfThePageInSqlAndThenFetchesCollectionsOfTheseEntities() {
+		Specification<Customer> spec = new Conjunction<>(
+				new JoinFetch<>(queryCtx, new String[] { "orders" }, LEFT, true),
+				new Like<>(queryCtx, "lastName", "Simpson"));
+
+		Page<Customer> page = repository.findAll(spec, PageRequest.of(1, 2, Sort.by("firstName")));
+
+		assertThat(page.getContent())
+				.extracting(Customer::getFirstName)
+				.containsExactly("Lisa", "Marge");
+		assertThat(page.getTotalElements()).isEqualTo(4);
+
+		PersistenceUnitUtil persistenceUnitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
+		assertThat(page.getContent())
+				.allMatch(customer -> persistenceUnitUtil.isLoaded(customer, "orders"));
+		assertThat(page.getContent().get(0).getOrders()).hasSize(2);
+
+		List<String> statements = HibernateStatementInspector.getInterceptedStatements();
+		assertThat(statements).hasSize(3); // ids, entities with fetched collections, count
+		assertThat(statements.get(0))
+				.contains("offset")
+				.doesNotContain("item_name");
+	}
+
+	@Test
+	public void filtersByJoinFetchAliasInBothPhases() {
+		Specification<Customer> spec = new Conjunction<>(
+				new JoinFetch<>(queryCtx, new String[] { "orders" }, "o", LEFT, true),
+				new Equal<>(queryCtx, "o.itemName", new String[] { "Duff Beer" }, defaultConverter));
+
+		Page<Customer> page = repository.findAll(spec, PageRequest.of(0, 1, Sort.by("firstName")));
+
+		assertThat(page.getContent())
+				.extracting(Customer::getFirstName)
+				.containsExactly("Homer");
+		assertThat(page.getTotalElements()).isEqualTo(2);
+	}
+
+	@Test
+	public void returnsTheSameResultAsRegularRepository() {
+		Specification<Customer> spec = new Conjunction<>(
+				new JoinFetch<>(queryCtx, new String[] { "orders" }, LEFT, true),
+				new Like<>(queryCtx, "lastName", "S"));
+		PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Order.desc("lastName"), Sort.Order.asc("firstName")));
+
+		assertThat(repository.findAll(spec, pageRequest).getContent())
+				.containsExactlyElementsOf(customerRepo.findAll(spec, pageRequest).getContent());
+	}
+
+	@Test
+	public void executesQueriesWithoutCollectionFetchesAsUsual() {
+		Page<Customer> page = repository.findAll(new Like<>(queryCtx, "lastName", "Simpson"), PageRequest.of(0, 10, Sort.by("firstName")));
+
+		assertThat(page.getContent())
+				.extracting(Customer::getFirstName)
+				.containsExactly("Bart", "Homer", "Lisa", "Marge");
+		assertThat(HibernateStatementInspector.getInterceptedStatements()).hasSize(1);
+	}
+
+	@Test
+	public void rendersSpecificationOnlyOnceIfItDoesNotFetchCollections() {
+		AtomicInteger renderings = new AtomicInteger();
+		Specification<Customer> lastNameLike = new Like<>(queryCtx, "lastName", "Simpson");
+		Specification<Customer> spec = (root, query, cb) -> {
+			if (!Long.class.equals(query.getResultType())) {
+				renderings.incrementAndGet();
+			}
+			return lastNameLike.toPredicate(root, query, cb);
+		};
+
+		repository.findAll(spec, PageRequest.of(0, 10));
+
+		assertThat(renderings).hasValue(1);
+	}
+
+	@Test
+	public void selectsEachIdOnceIfCollectionIsJoinedWithoutDistinct() {
+		Specification<Customer> spec = new Conjunction<>(
+				new JoinFetch<>(queryCtx, new String[] { "orders" }, "o", LEFT, false),
+				new Like<>(queryCtx, "o.itemName", "o"));
+
+		Page<Customer> page = repository.findAll(spec, PageRequest.of(0, 3, Sort.by(Direction.DESC, "firstName")));
+
+		assertThat(page.getContent())
+				.extracting(Customer::getFirstName)
+				.containsExactly("Lisa", "Homer", "Bart");
+	}
+
+	@Test
+	public void selectsEachIdOnceIfSortedByCollectionPath() {
+		Specification<Customer> spec = new Conjunction<>(
+				new JoinFetch<>(queryCtx, new String[] { "orders" }, LEFT, true),
+				new Like<>(queryCtx, "lastName", "Simpson"));
+
+		Page<Customer> page = repository.findAll(spec, PageRequest.of(0, 3, Sort.by(Direction.DESC, "orders.itemName")));
+
+		assertThat(page.getContent())
+				.extracting(Customer::getFirstName)
+				.containsExactly("Lisa", "Homer", "Bart");
+	}
+
+	@Test
+	public void bindsValuesAsParametersInBothPhasesIfCombinedWithParameterBinding() {
+		TwoPhaseFetchJpaRepository<Customer, Long> parameterBindingRepository = new TwoPhaseFetchJpaRepository<>(Customer.class, em) {
+			@Override
+			protected <Q extends Query> Q createQuery(Supplier<Q> queryFactory) {
+				return QueryParameters.bindCollected(queryFactory);
+			}
+		};
+		Specification<Customer> spec = new Conjunction<>(
+				new JoinFetch<>(queryCtx, new String[] { "orders" }, "o", LEFT, true),
+				new Equal<>(queryCtx, "o.itemName", new String[] { "Duff Beer" }, defaultConverter));
+
+		Page<Customer> page = parameterBindingRepository.findAll(spec, PageRequest.of(0, 1, Sort.by("firstName")));
+
+		assertThat(page.getContent())
+				.extracting(Customer::getFirstName)
+				.containsExactly("Homer");
+		assertThat(page.getContent().get(0).getOrders())
+				.extracting(Order::getItemName)
+				.containsExactly("Duff Beer");
+		assertThat(page.getTotalElements()).isEqualTo(2);
+
+		List<String> statements = HibernateStatementInspector.getInterceptedStatements();
+		assertThat(statements).hasSize(3); // ids, entities with fetched collections, count
+		assertThat(statements).allSatisfy(sql -> assertThat(sql).doesNotContain("Duff Beer"));
+	}
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.utils;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EnumIndexTest {
+
+	private static enum Letter {
+		a, A, b, I, İ
+	}
+
+	@Test
+	public void findsConstantByExactName() {
+		EnumIndex index = EnumIndex.of(Letter.class);
+
+		assertThat(index.get("a")).isEqualTo(Letter.a);
+		assertThat(index.get("A")).isEqualTo(Letter.A);
+		assertThat(index.get("B")).isNull();
+	}
+
+	@Test
+	public void findsFirstDeclaredConstantWhenIgnoringCase() {
+		EnumIndex index = EnumIndex.of(Letter.class);
+
+		assertThat(index.getIgnoringCase("A", Locale.ENGLISH)).isEqualTo(Letter.a);
+		assertThat(index.getIgnoringCase("B", Locale.ENGLISH)).isEqualTo(Letter.b);
+		assertThat(index.getIgnoringCase("c", Locale.ENGLISH)).isNull();
+	}
+
+	@Test
+	public void usesSeparateIndexForEachLocale() {
+		EnumIndex index = EnumIndex.of(Letter.class);
+
+		assertThat(index.getIgnoringCase("i", Locale.ENGLISH)).isEqualTo(Letter.I);
+		assertThat(index.getIgnoringCase("i", new Locale("tr"))).isEqualTo(Letter.İ);
+	}
+
+	@Test
+	public void returnsTheSameIndexForTheSameEnumClass() {
+		assertThat(EnumIndex.of(Letter.class)).isSameAs(EnumIndex.of(Letter.class));
+	}
+}
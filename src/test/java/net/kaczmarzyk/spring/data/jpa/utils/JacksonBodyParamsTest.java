@@ -0,0 +1,65 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.kaczmarzyk.spring.data.jpa.utils.ThrowableAssertions.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JacksonBodyParamsTest {
+
+	@Test
+	public void returnsTheSameValuesAsJsonBodyParams() {
+		String json = "{ \"a\": { \"b\": \"value\", \"c\": null }, \"d\": [\"x\", 2, true], \"e\": 1.50, \"f\": 7 }";
+		String[] paths = { "a.b", "a.c", "d", "e", "f", "a.x", "x.y" };
+
+		JacksonBodyParams jackson = JacksonBodyParams.of(json.getBytes(UTF_8));
+		JsonBodyParams gson = JsonBodyParams.parse(json);
+
+		for (String path : paths) {
+			assertThat(jackson.getParamValues(path)).as(path).containsExactlyElementsOf(gson.getParamValues(path));
+		}
+	}
+
+	@Test
+	public void reusesAlreadyParsedTree() throws Exception {
+		JacksonBodyParams bodyParams = JacksonBodyParams.of(new ObjectMapper().readTree("{ \"key\": { \"array\": [\"value1\", \"value2\"] } }"));
+
+		assertThat(bodyParams.getParamValues("key.array")).containsExactly("value1", "value2");
+	}
+
+	@Test
+	public void parsesBytesOnlyWhenValuesAreRequested() {
+		JacksonBodyParams bodyParams = JacksonBodyParams.of("{\"invalidJson: ".getBytes(UTF_8));
+
+		assertThrows(IllegalArgumentException.class, () -> bodyParams.getParamValues("invalidJson"));
+	}
+
+	@Test
+	public void throwsIllegalArgumentExceptionForInvalidPaths() {
+		JacksonBodyParams bodyParams = JacksonBodyParams.of("{ \"key\": { \"inner\": 1 }, \"array\": [{ \"object\": 1 }] }".getBytes(UTF_8));
+
+		assertThrows(IllegalArgumentException.class, () -> bodyParams.getParamValues("key"),
+				"Value by key should be primitive or array primitives. Found: JSON object at key");
+		assertThrows(IllegalArgumentException.class, () -> bodyParams.getParamValues("array"),
+				"Array by key contains not primitives. Path: array");
+		assertThrows(IllegalArgumentException.class, () -> bodyParams.getParamValues("array.object"),
+				"Failed parse JSON node with key object. Should be JSON object");
+	}
+}
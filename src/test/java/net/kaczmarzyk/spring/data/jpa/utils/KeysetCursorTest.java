@@ -0,0 +1,130 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.utils;
+
+import net.kaczmarzyk.spring.data.jpa.Gender;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.OnTypeMismatch;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Locale;
+
+import static java.util.Arrays.asList;
+import static net.kaczmarzyk.spring.data.jpa.utils.ThrowableAssertions.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeysetCursorTest {
+
+	private Converter converter = Converter.withTypeMismatchBehaviour(OnTypeMismatch.EXCEPTION, null, Locale.ENGLISH);
+	private Converter cursorConverter = Converter.forKeysetCursor(OnTypeMismatch.EXCEPTION, null, Locale.ENGLISH);
+
+	@Test
+	public void decodesEncodedValues() {
+		String cursor = KeysetCursor.encode("2014-03-15", "", "a.b/c?d=e&f", "zażółć");
+
+		assertThat(cursor).matches("[A-Za-z0-9_.-]*");
+		assertThat(KeysetCursor.decode(cursor)).containsExactly("2014-03-15", "", "a.b/c?d=e&f", "zażółć");
+	}
+
+	@Test
+	public void rejectsInvalidCursor() {
+		assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor!"), "Invalid keyset cursor: 'not a cursor!'");
+	}
+
+	@Test
+	public void createsCursorFromTheLastRow() {
+		Row homer = new Row(converter.convertToDate("2014-03-15"), Gender.MALE, "Simpson");
+		Row marge = new Row(converter.convertToDate("2014-03-20"), Gender.FEMALE, "Simpson");
+
+		String cursor = KeysetCursor.next(asList(homer, marge), "registrationDate", "gender", "lastName");
+
+		String[] values = KeysetCursor.decode(cursor);
+		assertThat(cursorConverter.convert(values[0], Date.class)).isEqualTo(marge.getRegistrationDate());
+		assertThat(values).endsWith("FEMALE", "Simpson");
+	}
+
+	@Test
+	public void returnsNullIfThereAreNoRows() {
+		assertThat(KeysetCursor.next(Collections.emptyList(), "id")).isNull();
+	}
+
+	@Test
+	public void rejectsNullValuesOfSortKeys() {
+		Row homer = new Row(null, Gender.MALE, "Simpson");
+
+		assertThrows(IllegalArgumentException.class, () -> KeysetCursor.next(asList(homer), "registrationDate"),
+				"Keyset pagination does not support null values of sort keys, but 'registrationDate' is null");
+	}
+
+	@Test
+	public void formatsValuesSoThatCursorConverterCanParseThem() {
+		LocalDate date = LocalDate.of(2014, 3, 15);
+		Date legacyDate = converter.convertToDate("2014-03-15");
+
+		assertThat(KeysetCursor.format(date, LocalDate.class)).isEqualTo("2014-03-15");
+		assertThat(cursorConverter.convert(KeysetCursor.format(legacyDate, Date.class), Date.class)).isEqualTo(legacyDate);
+		assertThat(KeysetCursor.format(42L, Long.class)).isEqualTo("42");
+	}
+
+	@Test
+	public void formatsDatesWithFullPrecision() {
+		Date date = new Date(1394878530123L);
+		Timestamp timestamp = Timestamp.from(Instant.parse("2014-03-15T10:15:30.123456789Z"));
+		LocalDateTime localDateTime = LocalDateTime.of(2014, 3, 15, 10, 15, 30, 123456789);
+		OffsetDateTime offsetDateTime = OffsetDateTime.of(localDateTime, ZoneOffset.ofHours(2));
+		Instant instant = Instant.parse("2014-03-15T10:15:30.123456789Z");
+
+		assertThat(cursorConverter.convert(KeysetCursor.format(date, Date.class), Date.class)).isEqualTo(date);
+		assertThat(cursorConverter.convert(KeysetCursor.format(timestamp, Timestamp.class), Timestamp.class)).isEqualTo(timestamp);
+		assertThat(KeysetCursor.format(localDateTime, LocalDateTime.class)).isEqualTo("2014-03-15T10:15:30.123456789");
+		assertThat(cursorConverter.convert(KeysetCursor.format(localDateTime, LocalDateTime.class), LocalDateTime.class)).isEqualTo(localDateTime);
+		assertThat(cursorConverter.convert(KeysetCursor.format(offsetDateTime, OffsetDateTime.class), OffsetDateTime.class)).isEqualTo(offsetDateTime);
+		assertThat(KeysetCursor.format(instant, Instant.class)).isEqualTo("2014-03-15T10:15:30.123456789Z");
+		assertThat(cursorConverter.convert(KeysetCursor.format(instant, Instant.class), Instant.class)).isEqualTo(instant);
+	}
+
+	public static class Row {
+
+		private final Date registrationDate;
+		private final Gender gender;
+		private final String lastName;
+
+		Row(Date registrationDate, Gender gender, String lastName) {
+			this.registrationDate = registrationDate;
+			this.gender = gender;
+			this.lastName = lastName;
+		}
+
+		public Date getRegistrationDate() {
+			return registrationDate;
+		}
+
+		public Gender getGender() {
+			return gender;
+		}
+
+		public String getLastName() {
+			return lastName;
+		}
+	}
+}
@@ -31,7 +31,6 @@ import org.springframework.data.jpa.domain.Specification;
 
 import jakarta.persistence.criteria.JoinType;
 
-import java.lang.reflect.Proxy;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -237,7 +236,7 @@ public class SpecificationBuilderTest extends IntegrationTestBase {
 
 	private Collection<Specification<Object>> innerSpecs(Specification<?> resolvedSpec) {
 		net.kaczmarzyk.spring.data.jpa.domain.Conjunction<Object> resolvedConjunction =
-				ReflectionUtils.get(Proxy.getInvocationHandler(resolvedSpec), "arg$1");
+				ReflectionUtils.get(resolvedSpec, "targetSpec");
 
 		return ReflectionUtils.get(resolvedConjunction, "innerSpecs");
 	}
@@ -0,0 +1,102 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.utils;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.kaczmarzyk.spring.data.jpa.utils.ThrowableAssertions.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StreamingJsonBodyParamsTest {
+
+	@Test
+	public void capturesValuesOfRequestedPathsOnly() {
+		String json = "{ \"metadata\": { \"tags\": [{ \"a\": 1 }, [2, 3]], \"note\": \"skipped\" },"
+				+ " \"key\": { \"array\": [\"value1\", 2, true], \"value\": 1.50 }, \"flag\": false }";
+
+		StreamingJsonBodyParams bodyParams = parse(json, 0, "key.array", "key.value", "flag", "missing", "key.missing");
+
+		assertThat(bodyParams.getParamValues("key.array")).containsExactly("value1", "2", "true");
+		assertThat(bodyParams.getParamValues("key.value")).containsExactly("1.50");
+		assertThat(bodyParams.getParamValues("flag")).containsExactly("false");
+		assertThat(bodyParams.getParamValues("missing")).isEmpty();
+		assertThat(bodyParams.getParamValues("key.missing")).isEmpty();
+	}
+
+	@Test
+	public void returnsTheSameValuesAsJsonBodyParams() {
+		String json = "{ \"a\": { \"b\": \"value\", \"c\": null }, \"d\": [\"x\", \"y\"], \"e\": 7, \"a\": { \"b\": \"last\" } }";
+		String[] paths = { "a.b", "a.c", "d", "e", "a.x" };
+
+		StreamingJsonBodyParams streaming = parse(json, 0, paths);
+		JsonBodyParams parsed = JsonBodyParams.parse(json);
+
+		for (String path : paths) {
+			assertThat(streaming.getParamValues(path)).as(path).containsExactlyElementsOf(parsed.getParamValues(path));
+		}
+	}
+
+	@Test
+	public void reportsErrorsOfAPathOnlyWhenItsValuesAreRequested() {
+		String json = "{ \"key\": { \"inner\": \"value\" }, \"array\": [{ \"object\": 1 }], \"primitive\": 1 }";
+
+		StreamingJsonBodyParams bodyParams = parse(json, 0, "key", "key.inner", "array", "array.object", "primitive.nested");
+
+		assertThat(bodyParams.getParamValues("key.inner")).containsExactly("value");
+		assertThrows(JsonParseException.class, () -> bodyParams.getParamValues("key"), "Value by key should be primitive or array primitives. Found: JSON object at key");
+		assertThrows(IllegalArgumentException.class, () -> bodyParams.getParamValues("array"), "Array by key contains not primitives. Path: array");
+		assertThrows(JsonParseException.class, () -> bodyParams.getParamValues("array.object"), "Failed parse JSON node with key object. Should be JSON object");
+		assertThrows(JsonParseException.class, () -> bodyParams.getParamValues("primitive.nested"), "Failed parse JSON node with key nested. Should be JSON object");
+	}
+
+	@Test
+	public void throwsJsonSyntaxExceptionWhileParsingInvalidJson() {
+		assertThrows(JsonSyntaxException.class, () -> parse("{\"invalidJson: ", 0, "invalidJson"));
+		assertThrows(JsonSyntaxException.class, () -> parse("{ \"key\": 1 } }", 0, "key"));
+	}
+
+	@Test
+	public void rejectsPathsWhichWereNotRequestedUpFront() {
+		StreamingJsonBodyParams bodyParams = parse("{ \"key\": \"value\" }", 0, "other");
+
+		assertThrows(IllegalArgumentException.class, () -> bodyParams.getParamValues("key"), "Json path 'key' was not read from the request body, available paths: [other]");
+	}
+
+	@Test
+	public void rejectsBodyExceedingMaxSize() {
+		String json = "{ \"key\": \"value\", \"padding\": \"" + "x".repeat(10_000) + "\" }";
+
+		assertThat(parse(json, json.length(), "key").getParamValues("key")).containsExactly("value");
+		assertThrows(IllegalArgumentException.class, () -> parse(json, 1000, "key"), "Request body exceeds the max size of 1000 bytes");
+	}
+
+	@Test
+	public void doesNotReadTheBodyIfNoPathIsRequested() {
+		StreamingJsonBodyParams bodyParams = parse("{\"invalidJson: ", 0);
+
+		assertThrows(IllegalArgumentException.class, () -> bodyParams.getParamValues("invalidJson"));
+	}
+
+	private static StreamingJsonBodyParams parse(String json, long maxBodySize, String... jsonPaths) {
+		return StreamingJsonBodyParams.parse(new ByteArrayInputStream(json.getBytes(UTF_8)), UTF_8, Arrays.asList(jsonPaths), maxBodySize);
+	}
+}
@@ -16,6 +16,7 @@
 package net.kaczmarzyk.spring.data.jpa.utils.converter;
 
 import net.kaczmarzyk.spring.data.jpa.Gender;
+import net.kaczmarzyk.spring.data.jpa.utils.ConversionResult;
 import net.kaczmarzyk.spring.data.jpa.utils.Converter;
 import net.kaczmarzyk.spring.data.jpa.utils.Converter.ValueRejectedException;
 import net.kaczmarzyk.spring.data.jpa.utils.Converter.ValuesRejectedException;
@@ -26,6 +27,7 @@ import org.hamcrest.Matcher;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.springframework.core.convert.ConversionService;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -36,6 +38,11 @@ import java.util.UUID;
 
 import static net.kaczmarzyk.spring.data.jpa.utils.ThrowableAssertions.assertThrows;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 
 public class ConverterTest {
@@ -209,6 +216,119 @@ public class ConverterTest {
 		);
 	}
 	
+	@Test
+	public void convertsToSupertypeOfDateTheSameWayAsToDate() {
+		assertThat(converter.convert("2022-11-24", Object.class)).isInstanceOf(Date.class);
+		assertThat(converter.convert("2022-11-24", Comparable.class)).isInstanceOf(Date.class);
+	}
+
+	@Test
+	public void convertsToPrimitiveTypes() {
+		assertThat(converter.convert("true", boolean.class)).isEqualTo(true);
+		assertThat(converter.convert("143", long.class)).isEqualTo(143L);
+		assertThat(converter.convert("14.3", double.class)).isEqualTo(14.3);
+		assertThat(converter.convert("x", char.class)).isEqualTo('x');
+	}
+
+	@Test
+	public void asksConversionServiceWhetherItCanConvertToTheGivenTypeOnlyOnce() {
+		ConversionService conversionService = mock(ConversionService.class);
+		when(conversionService.canConvert(String.class, Locale.class)).thenReturn(true);
+		when(conversionService.convert("pl", Locale.class)).thenReturn(new Locale("pl"));
+		Converter converterWithConversionService = Converter.withTypeMismatchBehaviour(OnTypeMismatch.EMPTY_RESULT, conversionService, Locale.ENGLISH);
+
+		assertThat(converterWithConversionService.convert(Arrays.asList("pl", "pl", "pl"), Locale.class))
+				.containsExactly(new Locale("pl"), new Locale("pl"), new Locale("pl"));
+
+		verify(conversionService, times(1)).canConvert(String.class, Locale.class);
+	}
+
+	@Test
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public void passesThroughValueOfTypeNotSupportedByConversionService() {
+		ConversionService conversionService = mock(ConversionService.class);
+		Converter converterWithConversionService = Converter.withTypeMismatchBehaviour(OnTypeMismatch.EMPTY_RESULT, conversionService, Locale.ENGLISH);
+		Class unsupportedType = Locale.class;
+
+		assertThat(converterWithConversionService.convert("pl", unsupportedType)).isEqualTo("pl");
+		assertThat(converterWithConversionService.convert("en", unsupportedType)).isEqualTo("en");
+
+		verify(conversionService, times(1)).canConvert(String.class, Locale.class);
+		verify(conversionService, never()).convert("pl", Locale.class);
+	}
+
+	@Test
+	public void returnsRejectionInsteadOfThrowingException() {
+		ConversionResult<Long> result = converter.tryConvert("not a long", Long.class);
+
+		assertThat(result.isRejected()).isTrue();
+		assertThat(result.getRejectedValue()).isEqualTo("not a long");
+		assertThat(result.getRejectionMessage()).isEqualTo("number format exception");
+		assertThat(result.getValue()).isNull();
+	}
+
+	@Test
+	public void returnsConvertedValueFromNonThrowingConversion() {
+		ConversionResult<Long> result = converter.tryConvert("-143", Long.class);
+
+		assertThat(result.isRejected()).isFalse();
+		assertThat(result.getValue()).isEqualTo(-143L);
+	}
+
+	@Test
+	public void throwsValueRejectedExceptionForRejectedNonThrowingConversionResult() {
+		assertThrows(
+				ValueRejectedException.class,
+				() -> converter.tryConvert("+", Long.class).getOrThrow(),
+				"number format exception"
+		);
+	}
+
+	@Test
+	public void rejectsLongOutOfRange() {
+		assertThat(converter.tryConvert("99999999999999999999", Long.class).isRejected()).isTrue();
+	}
+
+	@Test
+	public void convertsToPrimitiveLongArray() {
+		assertThat(converter.convertToArray(Arrays.asList("1", "-2", "3000000000"), Long.class))
+				.isEqualTo(new long[] { 1L, -2L, 3000000000L });
+		assertThat(converter.convertToArray(Arrays.asList("1", "2"), int.class))
+				.isEqualTo(new long[] { 1L, 2L });
+	}
+
+	@Test
+	public void skipsValuesNotConvertibleToArrayElements() {
+		assertThat(converter.convertToArray(Arrays.asList("1", "abc", "3000000000"), Integer.class))
+				.isEqualTo(new long[] { 1L });
+	}
+
+	@Test
+	public void rejectsValuesNotConvertibleToArrayElements() {
+		Converter throwingConverter = Converter.withTypeMismatchBehaviour(OnTypeMismatch.EXCEPTION, null, Locale.ENGLISH);
+
+		Throwable exception = assertThrows(
+				ValuesRejectedException.class,
+				() -> throwingConverter.convertToArray(Arrays.asList("1", "abc", "x"), Long.class)
+		);
+		assertThat(((ValuesRejectedException) exception).getRejectedValues()).containsExactly("abc", "x");
+	}
+
+	@Test
+	public void convertsToUuidAndStringArrays() {
+		UUID uuid = UUID.randomUUID();
+
+		assertThat(converter.convertToArray(Arrays.asList(uuid.toString(), "abc"), UUID.class))
+				.isEqualTo(new UUID[] { uuid });
+		assertThat(converter.convertToArray(Arrays.asList("a", "b"), String.class))
+				.isEqualTo(new String[] { "a", "b" });
+	}
+
+	@Test
+	public void returnsNullIfValuesCannotBeConvertedToArray() {
+		assertThat(converter.convertToArray(Arrays.asList("MALE"), Gender.class)).isNull();
+	}
+
 	private Matcher<?> valuesRejected(final String... values) {
 		return new BaseMatcher<ValuesRejectedException>() {
 
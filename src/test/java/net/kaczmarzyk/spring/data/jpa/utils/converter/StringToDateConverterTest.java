@@ -18,6 +18,8 @@ package net.kaczmarzyk.spring.data.jpa.utils.converter;
 import net.kaczmarzyk.spring.data.jpa.utils.Converter;
 import org.junit.Test;
 
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -210,4 +212,58 @@ public class StringToDateConverterTest {
 				.hasMinute(0)
 				.hasMillisecond(0);
 	}
+
+	@Test
+	public void convertsToTheSameDateAsSimpleDateFormatForCustomFormats() throws Exception {
+		assertConvertsTheSameWayAsSimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", "2022-11-24T10:15:30");
+		assertConvertsTheSameWayAsSimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", "2022-11-24T10:15:30.123+02:00");
+		assertConvertsTheSameWayAsSimpleDateFormat("yyyy-MM-dd hh:mm a", "2022-11-24 10:15 PM");
+		assertConvertsTheSameWayAsSimpleDateFormat("yyyy-MM-dd mm", "2022-11-24 15");
+		assertConvertsTheSameWayAsSimpleDateFormat("MM-dd", "11-24");
+		assertConvertsTheSameWayAsSimpleDateFormat("dd.MM.yy", "24.11.99");
+		assertConvertsTheSameWayAsSimpleDateFormat("yy-MM-dd HH:mm", "22-11-24 10:15");
+		assertConvertsTheSameWayAsSimpleDateFormat("d.M.y", "24.11.99");
+		assertConvertsTheSameWayAsSimpleDateFormat("yyyy-MM-dd G", "2022-11-24 AD");
+		assertConvertsTheSameWayAsSimpleDateFormat("yyyy-MM-dd G", "0044-03-15 BC");
+	}
+
+	@Test
+	public void resolvesDayOfMonthLenientlyTheSameWayAsSimpleDateFormat() throws Exception {
+		assertConvertsTheSameWayAsSimpleDateFormat("yyyy-MM-dd", "2023-02-30");
+
+		Date converted = converterWithDefaultFormats.convert("2023-02-30", Date.class);
+
+		assertThat(converted)
+				.isWithinMonth(3)
+				.isWithinDayOfMonth(2)
+				.isWithinYear(2023);
+	}
+
+	@Test
+	public void convertsToDateRepeatedlyUsingTheSameCustomFormat() {
+		//given
+		Converter converterWithCustomFormat = Converter.withDateFormat("dd.MM.yyyy", EMPTY_RESULT, null);
+
+		//when
+		Date first = converterWithCustomFormat.convert("24.11.2022", Date.class);
+		Date second = converterWithCustomFormat.convert("02.04.2022", Date.class);
+
+		//then
+		assertThat(first)
+				.isWithinMonth(11)
+				.isWithinDayOfMonth(24)
+				.isWithinYear(2022);
+
+		assertThat(second)
+				.isWithinMonth(4)
+				.isWithinDayOfMonth(2)
+				.isWithinYear(2022);
+	}
+
+	private void assertConvertsTheSameWayAsSimpleDateFormat(String dateFormat, String value) throws ParseException {
+		Converter converterWithCustomFormat = Converter.withDateFormat(dateFormat, EXCEPTION, null);
+
+		assertThat(converterWithCustomFormat.convert(value, Date.class))
+				.isEqualTo(new SimpleDateFormat(dateFormat).parse(value));
+	}
 }
@@ -16,8 +16,16 @@
 package net.kaczmarzyk.spring.data.jpa.web;
 
 import com.jparams.verifier.tostring.ToStringVerifier;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
 public class DefaultQueryContextTest {
 
 	@Test
@@ -27,4 +35,58 @@ public class DefaultQueryContextTest {
 				.verify();
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void returnsSemiJoinGroupOnlyForNonCorrelatedRoots() {
+		DefaultQueryContext queryContext = new DefaultQueryContext();
+		Root<?> root = mock(Root.class);
+		Root<?> correlatedRoot = mock(Root.class);
+		when(correlatedRoot.isCorrelated()).thenReturn(true);
+
+		queryContext.putSemiJoin("t", "o");
+
+		assertThat(queryContext.getSemiJoinGroup("t", root)).isEqualTo("o");
+		assertThat(queryContext.getSemiJoinGroup("t", correlatedRoot)).isNull();
+		assertThat(queryContext.getSemiJoinGroup("o", root)).isNull();
+	}
+
+	@Test
+	public void resolvesPathOnlyOncePerRoot() {
+		DefaultQueryContext queryContext = new DefaultQueryContext();
+		Root<?> root = mock(Root.class);
+		Path<?> resolvedPath = mock(Path.class);
+		AtomicInteger resolutions = new AtomicInteger();
+
+		Path<?> first = queryContext.getEvaluatedPath("address.city", root, r -> { resolutions.incrementAndGet(); return resolvedPath; });
+		Path<?> second = queryContext.getEvaluatedPath("address.city", root, r -> { resolutions.incrementAndGet(); return resolvedPath; });
+
+		assertThat(first).isSameAs(resolvedPath);
+		assertThat(second).isSameAs(resolvedPath);
+		assertThat(resolutions).hasValue(1);
+	}
+
+	@Test
+	public void resolvesPathSeparatelyForEachRoot() {
+		DefaultQueryContext queryContext = new DefaultQueryContext();
+		Root<?> dataQueryRoot = mock(Root.class);
+		Root<?> countQueryRoot = mock(Root.class);
+		AtomicInteger resolutions = new AtomicInteger();
+
+		queryContext.getEvaluatedPath("address.city", dataQueryRoot, r -> { resolutions.incrementAndGet(); return mock(Path.class); });
+		queryContext.getEvaluatedPath("address.city", countQueryRoot, r -> { resolutions.incrementAndGet(); return mock(Path.class); });
+
+		assertThat(resolutions).hasValue(2);
+	}
+
+	@Test
+	public void marksFakeAsInitializedOncePerRoot() {
+		DefaultQueryContext queryContext = new DefaultQueryContext();
+		Root<?> dataQueryRoot = mock(Root.class);
+		Root<?> countQueryRoot = mock(Root.class);
+		Object fake = new Object();
+
+		assertThat(queryContext.markFakeInitialized(fake, dataQueryRoot)).isTrue();
+		assertThat(queryContext.markFakeInitialized(fake, dataQueryRoot)).isFalse();
+		assertThat(queryContext.markFakeInitialized(fake, countQueryRoot)).isTrue();
+		assertThat(queryContext.markFakeInitialized(new Object(), dataQueryRoot)).isTrue();
+	}
+}
@@ -15,6 +15,10 @@
  */
 package net.kaczmarzyk.spring.data.jpa.web;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import net.kaczmarzyk.spring.data.jpa.domain.Conjunction;
 import net.kaczmarzyk.spring.data.jpa.domain.Disjunction;
 import net.kaczmarzyk.spring.data.jpa.domain.Equal;
@@ -22,11 +26,14 @@ import net.kaczmarzyk.spring.data.jpa.utils.SimpleSpecificationGenerator;
 import org.junit.Test;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.lang.reflect.Proxy;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static net.kaczmarzyk.spring.data.jpa.utils.SimpleSpecificationGenerator.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class EnhancerUtilTest {
 
@@ -207,6 +214,34 @@ public class EnhancerUtilTest {
 				.isNotNull();
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void delegatesToPredicateToWrappedSpecificationWithoutProxy() {
+		Specification<Object> spec = mock(Specification.class);
+		Root<Object> root = mock(Root.class);
+		CriteriaQuery<?> query = mock(CriteriaQuery.class);
+		CriteriaBuilder cb = mock(CriteriaBuilder.class);
+		Predicate predicate = mock(Predicate.class);
+		when(spec.toPredicate(root, query, cb)).thenReturn(predicate);
+
+		CustomSpecInterface customSpecInterface = EnhancerUtil.wrapWithIfaceImplementation(CustomSpecInterface.class, spec);
+
+		assertThat(customSpecInterface.toPredicate(root, query, cb)).isSameAs(predicate);
+		assertThat(Proxy.isProxyClass(customSpecInterface.getClass())).isFalse();
+		assertThat(EnhancerUtil.wrappedSpec(customSpecInterface)).isSameAs(spec);
+		assertThat(EnhancerUtil.wrappingIface(customSpecInterface)).isEqualTo(CustomSpecInterface.class);
+	}
+
+	@Test
+	public void generatesSingleImplementationClassPerInterface() {
+		CustomSpecInterface first = EnhancerUtil.wrapWithIfaceImplementation(CustomSpecInterface.class, testSpecification(Equal.class, SEED_1));
+		CustomSpecInterface second = EnhancerUtil.wrapWithIfaceImplementation(CustomSpecInterface.class, testSpecification(Equal.class, SEED_2));
+		CustomSpecInterface2 third = EnhancerUtil.wrapWithIfaceImplementation(CustomSpecInterface2.class, testSpecification(Equal.class, SEED_1));
+
+		assertThat(first.getClass()).isSameAs(second.getClass());
+		assertThat(third.getClass()).isNotSameAs(first.getClass());
+	}
+
 	private List<Specification<Object>> testSimpleSpecifications() {
 		return LIST_OF_SIMPLE_SPECIFICATION_TYPES.stream()
 				.map(SimpleSpecificationGenerator::testSpecification)
@@ -26,6 +26,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.web.context.request.NativeWebRequest;
 
 import net.kaczmarzyk.spring.data.jpa.web.annotation.Join;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.JoinStrategy;
 
 
 public class JoinSpecificationResolverTest extends ResolverTestBase {
@@ -42,11 +43,25 @@ public class JoinSpecificationResolverTest extends ResolverTestBase {
         assertThat(resolved).isEqualTo(
         		new net.kaczmarzyk.spring.data.jpa.domain.Join<>(new DefaultQueryContext(), "orders", "o", JoinType.RIGHT, false));
     }
+
+    @Test
+    public void resolvesJoinWithExistsStrategy() throws Exception {
+        MethodParameter param = MethodParameter.forExecutable(testMethod("testMethod2"), 0);
+        NativeWebRequest req = mock(NativeWebRequest.class);
+
+        Specification<?> resolved = (Specification<?>) resolver.resolveArgument(param, null, req, null);
+
+        assertThat(resolved).isEqualTo(
+        		new net.kaczmarzyk.spring.data.jpa.domain.Join<>(new DefaultQueryContext(), "orders", "o", JoinType.LEFT, true, JoinStrategy.EXISTS));
+    }
     
     public static class TestController {
 
         public void testMethod1(@Join(path = "orders", alias = "o", type = JoinType.RIGHT, distinct = false) Specification<Object> spec) {
         }
+
+        public void testMethod2(@Join(path = "orders", alias = "o", strategy = JoinStrategy.EXISTS) Specification<Object> spec) {
+        }
     }
 
 	@Override
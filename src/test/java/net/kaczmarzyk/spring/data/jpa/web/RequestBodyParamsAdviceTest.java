@@ -0,0 +1,127 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import net.kaczmarzyk.spring.data.jpa.domain.Equal;
+import net.kaczmarzyk.spring.data.jpa.utils.BodyParams;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.Spec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static net.kaczmarzyk.spring.data.jpa.utils.ThrowableAssertions.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestBodyParamsAdviceTest {
+
+	private static final String BODY = "{\"firstName\":\"Homer\"}";
+
+	@Before
+	public void initRequest() {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+	}
+
+	@After
+	public void resetRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void buffersBodyForMessageConverterAndJsonPaths() throws Exception {
+		RequestBodyParamsAdvice advice = new RequestBodyParamsAdvice(ResolverOptions.DEFAULT.withMaxBodySize(BODY.length()));
+
+		HttpInputMessage buffered = advice.beforeBodyRead(inputMessage(BODY), null, Object.class, null);
+
+		assertThat(StreamUtils.copyToString(buffered.getBody(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+		assertThat(storedBodyParams().getParamValues("firstName")).containsExactly("Homer");
+	}
+
+	@Test
+	public void bindsBodyParsedOnceForJsonPathsWhenReadByJacksonConverter() throws Exception {
+		RequestBodyParamsAdvice advice = new RequestBodyParamsAdvice();
+		advice.setApplicationContext(contextWithConverter(new MappingJackson2HttpMessageConverter()));
+		MethodParameter parameter = new MethodParameter(Handler.class.getMethod("search", Person.class, Object.class), 0);
+
+		HttpInputMessage placeholder = advice.beforeBodyRead(inputMessage(BODY), parameter, Person.class, MappingJackson2HttpMessageConverter.class);
+		Object body = advice.afterBodyRead(null, placeholder, parameter, Person.class, MappingJackson2HttpMessageConverter.class);
+
+		assertThat(StreamUtils.copyToString(placeholder.getBody(), StandardCharsets.UTF_8)).isEqualTo("null");
+		assertThat(body).isInstanceOf(Person.class);
+		assertThat(((Person) body).firstName).isEqualTo("Homer");
+		assertThat(storedBodyParams().getParamValues("firstName")).containsExactly("Homer");
+	}
+
+	@Test
+	public void rejectsBodyLargerThanMaxSize() {
+		RequestBodyParamsAdvice advice = new RequestBodyParamsAdvice(ResolverOptions.DEFAULT.withMaxBodySize(BODY.length() - 1));
+
+		assertThrows(IllegalArgumentException.class, () -> advice.beforeBodyRead(inputMessage(BODY), null, Object.class, null),
+				"Request body exceeds the max size of " + (BODY.length() - 1) + " bytes");
+	}
+
+	@Test
+	public void rejectsBodyWithDeclaredLengthLargerThanMaxSize() {
+		RequestBodyParamsAdvice advice = new RequestBodyParamsAdvice(ResolverOptions.DEFAULT.withMaxBodySize(BODY.length() - 1));
+		MockHttpInputMessage inputMessage = inputMessage(BODY);
+		inputMessage.getHeaders().setContentLength(BODY.length());
+
+		assertThrows(IllegalArgumentException.class, () -> advice.beforeBodyRead(inputMessage, null, Object.class, null),
+				"Request body exceeds the max size of " + (BODY.length() - 1) + " bytes");
+	}
+
+	private static StaticApplicationContext contextWithConverter(MappingJackson2HttpMessageConverter converter) {
+		RequestMappingHandlerAdapter handlerAdapter = new RequestMappingHandlerAdapter();
+		handlerAdapter.setMessageConverters(List.of(converter));
+		StaticApplicationContext context = new StaticApplicationContext();
+		context.getDefaultListableBeanFactory().registerSingleton("handlerAdapter", handlerAdapter);
+		return context;
+	}
+
+	private static MockHttpInputMessage inputMessage(String body) {
+		return new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static BodyParams storedBodyParams() {
+		return (BodyParams) RequestContextHolder.currentRequestAttributes()
+				.getAttribute(RequestScopedInputs.BODY_PARAMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+	}
+
+	public static class Person {
+
+		public String firstName;
+	}
+
+	public static class Handler {
+
+		public void search(@RequestBody Person body, @Spec(path = "firstName", jsonPaths = "firstName", spec = Equal.class) Object spec) {
+		}
+	}
+}
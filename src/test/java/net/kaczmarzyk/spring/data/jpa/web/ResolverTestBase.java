@@ -22,7 +22,6 @@ import org.springframework.core.MethodParameter;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.lang.reflect.Executable;
-import java.lang.reflect.Proxy;
 import java.util.Collection;
 import java.util.Locale;
 
@@ -65,14 +64,14 @@ public abstract class ResolverTestBase {
 
 	protected Collection<Specification<Object>> proxiedInnerSpecs(Specification<?> resolvedSpec) {
 		net.kaczmarzyk.spring.data.jpa.domain.Conjunction<Object> resolvedConjunction =
-				ReflectionUtils.get(Proxy.getInvocationHandler(resolvedSpec), "arg$1");
+				ReflectionUtils.get(resolvedSpec, "targetSpec");
 
 		return ReflectionUtils.get(resolvedConjunction, "innerSpecs");
 	}
 
 	protected Collection<Specification<Object>> innerSpecsFromDisjunction(Specification<?> resolvedSpec) {
 		net.kaczmarzyk.spring.data.jpa.domain.Disjunction<Object> resolvedDisjunction =
-				ReflectionUtils.get(Proxy.getInvocationHandler(resolvedSpec), "arg$1");
+				ReflectionUtils.get(resolvedSpec, "targetSpec");
 
 		return ReflectionUtils.get(resolvedDisjunction, "innerSpecs");
 	}
@@ -80,10 +79,10 @@ public abstract class ResolverTestBase {
 	protected abstract Class<?> controllerClass();
 
 	protected void assertThatSpecIsProxy(Specification<?> specification) {
-		assertThat(Proxy.isProxyClass(specification.getClass())).isTrue();
+		assertThat(EnhancerUtil.wrappedSpec(specification)).isNotNull();
 	}
 
 	protected void assertThatSpecIsNotProxy(Specification<?> specification) {
-		assertThat(Proxy.isProxyClass(specification.getClass())).isFalse();
+		assertThat(EnhancerUtil.wrappedSpec(specification)).isNull();
 	}
 }
@@ -32,6 +32,7 @@ import jakarta.persistence.criteria.Root;
 
 import static net.kaczmarzyk.spring.data.jpa.web.annotation.OnTypeMismatch.EXCEPTION;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -147,6 +148,40 @@ public class SimpleSpecificationResolverSpecConstructorTest extends ResolverTest
 		assertThat(resolved.config).isEqualTo(new String[] { "yyyyMMdd" });
 	}
 
+	@Test
+	public void resolvesSpecWithTheSameConstructorRepeatedly() throws Exception {
+		MethodParameter param = MethodParameter.forExecutable(testMethod("methodWith4argSpec"), 0);
+		NativeWebRequest req = mock(NativeWebRequest.class);
+		when(req.getParameterValues("theParameter")).thenReturn(new String[] { "theValue" }, new String[] { "anotherValue" });
+
+		SpecWith4ArgConstructor first = (SpecWith4ArgConstructor) resolver.buildSpecification(new WebRequestProcessingContext(param, req), param.getParameterAnnotation(Spec.class));
+		SpecWith4ArgConstructor second = (SpecWith4ArgConstructor) resolver.buildSpecification(new WebRequestProcessingContext(param, req), param.getParameterAnnotation(Spec.class));
+
+		assertThat(first.args).isEqualTo(new String[] { "theValue" });
+		assertThat(second.args).isEqualTo(new String[] { "anotherValue" });
+		assertThat(first).isNotSameAs(second);
+	}
+
+	@Test
+	public void wrapsExceptionThrownBySpecConstructor() throws Exception {
+		MethodParameter param = MethodParameter.forExecutable(testMethod("methodWithFailingSpec"), 0);
+		NativeWebRequest req = mock(NativeWebRequest.class);
+		when(req.getParameterValues("theParameter")).thenReturn(new String[] { "theValue" });
+
+		WebRequestProcessingContext ctx = new WebRequestProcessingContext(param, req);
+
+		assertThatThrownBy(() -> resolver.buildSpecification(ctx, param.getParameterAnnotation(Spec.class)))
+				.isInstanceOf(IllegalStateException.class)
+				.hasRootCauseInstanceOf(UnsupportedOperationException.class);
+	}
+
+	public static class FailingSpec extends DummySpec {
+
+		public FailingSpec(QueryContext queryCtx, String path, String[] args) {
+			throw new UnsupportedOperationException("failing on purpose");
+		}
+	}
+
 	public static class DummySpec implements Specification<Object> {
 		@Override
 		public Predicate toPredicate(Root<Object> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
@@ -173,6 +208,10 @@ public class SimpleSpecificationResolverSpecConstructorTest extends ResolverTest
 				@Spec(path = "thePath", params = "theParameter", spec = SpecWithLegacy3ArgConstructor.class, config = "yyyyMMdd", onTypeMismatch = EXCEPTION) Specification<Object> spec) {
 		}
 
+		public void methodWithFailingSpec(
+				@Spec(path = "thePath", params = "theParameter", spec = FailingSpec.class, onTypeMismatch = EXCEPTION) Specification<Object> spec) {
+		}
+
 		public void methodWith5argSpec(
 				@Spec(path = "thePath", params = "theParameter", spec = SpecWith5ArgConstructor.class, config = "yyyyMMdd", onTypeMismatch = EXCEPTION) Specification<Object> spec) {
 		}
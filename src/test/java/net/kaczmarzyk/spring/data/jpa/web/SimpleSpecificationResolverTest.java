@@ -250,6 +250,21 @@ public class SimpleSpecificationResolverTest extends ResolverTestBase {
         assertThat(resolved).isEqualTo(new In<>(queryCtx, "thePath", new String[] { "val1", "val2", "val3", "val4", "val5", "val6", "val7" }, converter));
     }
 
+    @Test
+    public void skipsEmptyValuesWhenSplittingWebParameterWithParamSeparator() throws Exception {
+        MethodParameter param = MethodParameter.forExecutable(testMethod("testMethod8"), 0);
+        NativeWebRequest req = mock(NativeWebRequest.class);
+        QueryContext queryCtx = new DefaultQueryContext();
+
+        when(req.getParameterValues("theParameter")).thenReturn(new String[] {",val1,,val2,", "", ",", "val3,,", ",,val4"});
+
+	    WebRequestProcessingContext ctx = new WebRequestProcessingContext(param, req);
+
+	    Specification<?> resolved = resolver.buildSpecification(ctx, param.getParameterAnnotation(Spec.class));
+
+        assertThat(resolved).isEqualTo(new In<>(queryCtx, "thePath", new String[] { "val1", "val2", "val3", "val4" }, converter));
+    }
+
     @Test(expected = IllegalStateException.class)
     public void throwsIllegalStateExceptionWhenIncorrectSpecificationTypeClassWasPassed() {
         MethodParameter param = MethodParameter.forExecutable(testMethod("testMethod9"), 0);
@@ -281,6 +296,25 @@ public class SimpleSpecificationResolverTest extends ResolverTestBase {
         resolver.buildSpecification(ctx, param.getParameterAnnotation(Spec.class));
     }
 
+    @Test
+    public void sharesConverterInstanceBetweenSpecsWithTheSameConverterDefinition() {
+        NativeWebRequest req = mock(NativeWebRequest.class);
+        when(req.getParameterValues("theParameter")).thenReturn(new String[] { "val1" });
+
+        MethodParameter param = MethodParameter.forExecutable(testMethod("testMethod3"), 0);
+        MethodParameter otherParam = MethodParameter.forExecutable(testMethod("testMethod7"), 0);
+
+        Specification<Object> first = resolver.buildSpecification(new WebRequestProcessingContext(param, req), param.getParameterAnnotation(Spec.class));
+        Specification<Object> second = resolver.buildSpecification(new WebRequestProcessingContext(param, req), param.getParameterAnnotation(Spec.class));
+        Specification<Object> third = resolver.buildSpecification(new WebRequestProcessingContext(otherParam, req), otherParam.getParameterAnnotation(Spec.class));
+
+        Converter firstConverter = ReflectionUtils.get(first, "converter");
+
+        assertThat(firstConverter).isEqualTo(converter);
+        assertThat((Converter) ReflectionUtils.get(second, "converter")).isSameAs(firstConverter);
+        assertThat((Converter) ReflectionUtils.get(third, "converter")).isSameAs(firstConverter);
+    }
+
     @Test
     public void passesDefaultSystemLocaleToLocaleAwareSpecification() {
     	MethodParameter param = MethodParameter.forExecutable(testMethod("testMethodWithLocaleAwareSpec"), 0);
@@ -333,6 +367,59 @@ public class SimpleSpecificationResolverTest extends ResolverTestBase {
         assertThat(localePassedToSpec).isEqualTo(new Locale("tr", "TR"));
     }
 
+    @Test
+    public void passesGlobalInListOptionsToInListSpecification() {
+        SimpleSpecificationResolver resolver = new SimpleSpecificationResolver(null, null, Locale.getDefault(), InListOptions.of(true, 100));
+        MethodParameter param = MethodParameter.forExecutable(testMethod("testMethodWithInListSpec"), 0);
+        NativeWebRequest req = mock(NativeWebRequest.class);
+
+        when(req.getParameterValues("theParameter")).thenReturn(new String[] {"1", "2", "3"});
+
+        WebRequestProcessingContext ctx = new WebRequestProcessingContext(param, req);
+
+        Specification<Object> builtSpec = resolver.buildSpecification(ctx, param.getParameterAnnotation(Spec.class));
+
+        InListOptions inListOptionsPassedToSpec = ReflectionUtils.getFromPath(builtSpec, "wrappedSpec.inListOptions");
+
+        assertThat(inListOptionsPassedToSpec).isEqualTo(InListOptions.of(true, 100));
+    }
+
+    @Test
+    public void overridesGlobalInListOptionsWithSpecConfigAndDoesNotPassThemToConverter() {
+        SimpleSpecificationResolver resolver = new SimpleSpecificationResolver(null, null, Locale.getDefault(), InListOptions.of(true, 100));
+        MethodParameter param = MethodParameter.forExecutable(testMethod("testMethodWithInListSpecAndInListConfig"), 0);
+        NativeWebRequest req = mock(NativeWebRequest.class);
+
+        when(req.getParameterValues("theParameter")).thenReturn(new String[] {"2023-01-01", "2023-01-02"});
+
+        WebRequestProcessingContext ctx = new WebRequestProcessingContext(param, req);
+
+        Specification<Object> builtSpec = resolver.buildSpecification(ctx, param.getParameterAnnotation(Spec.class));
+
+        InListOptions inListOptionsPassedToSpec = ReflectionUtils.getFromPath(builtSpec, "wrappedSpec.inListOptions");
+        Converter converterPassedToSpec = ReflectionUtils.getFromPath(builtSpec, "wrappedSpec.converter");
+
+        assertThat(inListOptionsPassedToSpec).isEqualTo(InListOptions.of(false, 2));
+        assertThat(converterPassedToSpec).isEqualTo(Converter.withDateFormat("yyyy-MM-dd", OnTypeMismatch.EMPTY_RESULT, null));
+    }
+
+    @Test
+    public void parsesInListOptionsOnlyOncePerSpecConfig() {
+        SimpleSpecificationResolver resolver = new SimpleSpecificationResolver(null, null, Locale.getDefault(), InListOptions.of(true, 100));
+        MethodParameter param = MethodParameter.forExecutable(testMethod("testMethodWithInListSpecAndInListConfig"), 0);
+        NativeWebRequest req = mock(NativeWebRequest.class);
+
+        when(req.getParameterValues("theParameter")).thenReturn(new String[] {"2023-01-01", "2023-01-02"});
+
+        Specification<Object> first = resolver.buildSpecification(new WebRequestProcessingContext(param, req), param.getParameterAnnotation(Spec.class));
+        Specification<Object> second = resolver.buildSpecification(new WebRequestProcessingContext(param, req), param.getParameterAnnotation(Spec.class));
+
+        InListOptions firstOptions = ReflectionUtils.getFromPath(first, "wrappedSpec.inListOptions");
+        InListOptions secondOptions = ReflectionUtils.getFromPath(second, "wrappedSpec.inListOptions");
+
+        assertThat(secondOptions).isSameAs(firstOptions);
+    }
+
     public static class TestController {
 
         public void testMethod1(@Spec(path = "thePath", spec = Like.class, onTypeMismatch = EXCEPTION) Specification<Object> spec) {
@@ -384,6 +471,14 @@ public class SimpleSpecificationResolverTest extends ResolverTestBase {
         		@Spec(path = "thePath", params = "theParameter", spec = EqualIgnoreCase.class, config = "tr_TR") Specification<Object> spec) {
         }
 
+        public void testMethodWithInListSpec(
+        		@Spec(path = "thePath", params = "theParameter", spec = In.class) Specification<Object> spec) {
+        }
+
+        public void testMethodWithInListSpecAndInListConfig(
+        		@Spec(path = "thePath", params = "theParameter", spec = In.class, config = {"yyyy-MM-dd", "inListPadding=false", "inListMaxSize=2"}) Specification<Object> spec) {
+        }
+
         public void testMethodWithConst1(@Spec(path = "thePath", spec = Equal.class, constVal = "constVal1", onTypeMismatch = EXCEPTION) Specification<Object> spec) {
         }
 
@@ -0,0 +1,169 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.expression.StandardBeanExpressionResolver;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static net.kaczmarzyk.spring.data.jpa.utils.ThrowableAssertions.assertThrows;
+import static net.kaczmarzyk.spring.data.jpa.web.annotation.SpELEvaluation.DYNAMIC;
+import static net.kaczmarzyk.spring.data.jpa.web.annotation.SpELEvaluation.STATIC;
+import static net.kaczmarzyk.spring.data.jpa.web.annotation.SpELEvaluation.TIME_BUCKETED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class SpELValueResolverTest {
+
+	private static final String COUNTER_EXPRESSION = "#{@counter.incrementAndGet()}";
+
+	MutableClock clock = new MutableClock(ZoneOffset.UTC);
+	AtomicInteger counter = new AtomicInteger();
+	AtomicReference<String> property = new AtomicReference<>("Homer");
+
+	SpELValueResolver resolver;
+
+	ProcessingContext context = mock(ProcessingContext.class);
+
+	@Before
+	public void initResolver() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.setBeanExpressionResolver(new StandardBeanExpressionResolver());
+		beanFactory.registerSingleton("counter", counter);
+		beanFactory.addEmbeddedValueResolver(value -> value.replace("${name}", property.get()));
+		resolver = new SpELValueResolver(beanFactory, clock);
+	}
+
+	@Test
+	public void evaluatesDynamicExpressionForEachRequest() {
+		assertThat(resolver.resolve(COUNTER_EXPRESSION, DYNAMIC, "", context)).isEqualTo("1");
+		assertThat(resolver.resolve(COUNTER_EXPRESSION, DYNAMIC, "", context)).isEqualTo("2");
+
+		verify(context, times(2)).markNonDeterministic();
+	}
+
+	@Test
+	public void evaluatesStaticExpressionOnce() {
+		assertThat(resolver.resolve(COUNTER_EXPRESSION, STATIC, "", context)).isEqualTo("1");
+		assertThat(resolver.resolve(COUNTER_EXPRESSION, STATIC, "", context)).isEqualTo("1");
+
+		verify(context, never()).markNonDeterministic();
+	}
+
+	@Test
+	public void evaluatesTimeBucketedExpressionOncePerInterval() {
+		long interval = Duration.ofMinutes(10).toMillis();
+		clock.set(3 * interval + 1);
+
+		assertThat(resolver.resolve(COUNTER_EXPRESSION, TIME_BUCKETED, "PT10M", context)).isEqualTo("1");
+		clock.set(4 * interval - 1);
+		assertThat(resolver.resolve(COUNTER_EXPRESSION, TIME_BUCKETED, "PT10M", context)).isEqualTo("1");
+		clock.set(4 * interval);
+		assertThat(resolver.resolve(COUNTER_EXPRESSION, TIME_BUCKETED, "PT10M", context)).isEqualTo("2");
+	}
+
+	@Test
+	public void alignsTimeBucketsToTimeZoneOfTheClock() {
+		clock = new MutableClock(ZoneId.of("Asia/Tokyo")); // UTC+9, so the local midnight is 15:00 UTC
+		initResolver();
+
+		clock.set(Instant.parse("2023-01-01T14:59:59Z").toEpochMilli());
+		assertThat(resolver.resolve(COUNTER_EXPRESSION, TIME_BUCKETED, "P1D", context)).isEqualTo("1");
+		clock.set(Instant.parse("2023-01-01T15:00:00Z").toEpochMilli());
+		assertThat(resolver.resolve(COUNTER_EXPRESSION, TIME_BUCKETED, "P1D", context)).isEqualTo("2");
+		clock.set(Instant.parse("2023-01-02T00:00:00Z").toEpochMilli());
+		assertThat(resolver.resolve(COUNTER_EXPRESSION, TIME_BUCKETED, "P1D", context)).isEqualTo("2");
+		clock.set(Instant.parse("2023-01-02T15:00:00Z").toEpochMilli());
+		assertThat(resolver.resolve(COUNTER_EXPRESSION, TIME_BUCKETED, "P1D", context)).isEqualTo("3");
+	}
+
+	@Test
+	public void doesNotMarkContextAsNonDeterministicForPropertyPlaceholdersOnly() {
+		assertThat(resolver.resolve("constant", DYNAMIC, "", context)).isEqualTo("constant");
+
+		verify(context, never()).markNonDeterministic();
+	}
+
+	@Test
+	public void resolvesPropertyPlaceholdersOfDynamicValueForEachRequest() {
+		assertThat(resolver.resolve("${name}", DYNAMIC, "", context)).isEqualTo("Homer");
+		property.set("Marge");
+		assertThat(resolver.resolve("${name}", DYNAMIC, "", context)).isEqualTo("Marge");
+	}
+
+	@Test
+	public void resolvesPropertyPlaceholdersOfStaticValueOnce() {
+		assertThat(resolver.resolve("${name}", STATIC, "", context)).isEqualTo("Homer");
+		property.set("Marge");
+		assertThat(resolver.resolve("${name}", STATIC, "", context)).isEqualTo("Homer");
+	}
+
+	@Test
+	public void rejectsTimeBucketedExpressionWithoutValidRefreshInterval() {
+		assertThrows(IllegalStateException.class, () -> resolver.resolve(COUNTER_EXPRESSION, TIME_BUCKETED, "", context),
+				"spelRefreshInterval is required for TIME_BUCKETED evaluation of SpEL expression: '" + COUNTER_EXPRESSION + "'");
+		assertThrows(IllegalArgumentException.class, () -> resolver.resolve(COUNTER_EXPRESSION, TIME_BUCKETED, "10 minutes", context),
+				"Invalid spelRefreshInterval: '10 minutes'");
+	}
+
+	@Test
+	public void throwsIllegalArgumentExceptionForInvalidExpression() {
+		assertThrows(IllegalArgumentException.class, () -> resolver.resolve("#{'abc'.concat(}", STATIC, "", context),
+				"Invalid SpEL expression: '#{'abc'.concat(}'");
+	}
+
+	static class MutableClock extends Clock {
+
+		private final AtomicLong millis = new AtomicLong();
+		private final ZoneId zone;
+
+		MutableClock(ZoneId zone) {
+			this.zone = zone;
+		}
+
+		void set(long epochMillis) {
+			millis.set(epochMillis);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return zone;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(millis.get());
+		}
+	}
+}
@@ -18,16 +18,22 @@ package net.kaczmarzyk.spring.data.jpa.web;
 import net.kaczmarzyk.spring.data.jpa.domain.Conjunction;
 import net.kaczmarzyk.spring.data.jpa.domain.Like;
 import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.And;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.Join;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.JoinFetch;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.Spec;
 import org.junit.Test;
 import org.springframework.core.MethodParameter;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import jakarta.persistence.criteria.JoinType;
 
+import java.util.Locale;
+
+import static net.kaczmarzyk.spring.data.jpa.utils.ThrowableAssertions.assertThrows;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -104,6 +110,25 @@ public class SpecificationArgumentResolverTest extends ResolverTestBase {
                 .contains(new net.kaczmarzyk.spring.data.jpa.domain.JoinFetch<Object>(queryCtx, new String[] { "fetch1", "fetch2" }, JoinType.LEFT, true));
     }
     
+    @Test
+    public void resolvesSpecificationWithCurrentRequestValuesWhenDefinitionsForTheParameterAreAlreadyCached() throws Exception {
+        MethodParameter param = MethodParameter.forExecutable(testMethod("testMethodWithCustomSpec", CustomSpec.class), 0);
+        QueryContext queryCtx = new DefaultQueryContext();
+
+        NativeWebRequest firstReq = mock(NativeWebRequest.class);
+        when(firstReq.getParameterValues("path1")).thenReturn(new String[] { "value1" });
+        NativeWebRequest secondReq = mock(NativeWebRequest.class);
+        when(secondReq.getParameterValues("path1")).thenReturn(new String[] { "value2" });
+
+        Specification<?> firstResolved = (Specification<?>) resolver.resolveArgument(param, null, firstReq, null);
+        Specification<?> secondResolved = (Specification<?>) resolver.resolveArgument(param, null, secondReq, null);
+
+        assertThat(proxiedInnerSpecs(firstResolved))
+                .contains(new Like<Object>(queryCtx, "path1", new String[] { "value1" }));
+        assertThat(proxiedInnerSpecs(secondResolved))
+                .contains(new Like<Object>(queryCtx, "path1", new String[] { "value2" }));
+    }
+
     @Test
     public void resolvesRepeatedJoinFetchForAnnotatedInterface() throws Exception {
         MethodParameter param = MethodParameter.forExecutable(testMethod("testMethodWithCustomSpec_repeatedFetch", CustomSpecRepeatedFetch.class), 0);
@@ -123,6 +148,37 @@ public class SpecificationArgumentResolverTest extends ResolverTestBase {
                         new net.kaczmarzyk.spring.data.jpa.domain.JoinFetch<>(queryCtx, new String[]{ "fetch2" }, JoinType.LEFT, true)));
     }
     
+    @Test
+    public void readsJsonPathsOfAllNestedSpecsFromRequestBody() throws Exception {
+        MethodParameter param = MethodParameter.forExecutable(testMethod("testMethod_jsonPaths"), 0);
+        QueryContext queryCtx = new DefaultQueryContext();
+
+        Specification<?> resolved = (Specification<?>) resolver.resolveArgument(param, null,
+                jsonRequest("{ \"metadata\": { \"ignored\": [1, 2, 3] }, \"customer\": { \"firstName\": \"Homer\", \"lastName\": \"Simpson\" } }"), null);
+
+        assertThat(innerSpecs(resolved))
+                .hasSize(2)
+                .contains(new Like<>(queryCtx, "firstName", "Homer"))
+                .contains(new Like<>(queryCtx, "lastName", "Simpson"));
+    }
+
+    @Test
+    public void rejectsRequestBodyExceedingMaxSize() throws Exception {
+        MethodParameter param = MethodParameter.forExecutable(testMethod("testMethod_jsonPaths"), 0);
+        SpecificationArgumentResolver limitedResolver = new SpecificationArgumentResolver(null, null, Locale.getDefault(), ResolverOptions.DEFAULT.withMaxBodySize(16));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> limitedResolver.resolveArgument(param, null, jsonRequest("{ \"customer\": { \"firstName\": \"Homer\" } }"), null),
+                "Request body exceeds the max size of 16 bytes");
+    }
+
+    private static NativeWebRequest jsonRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("application/json");
+        request.setContent(body.getBytes());
+        return new ServletWebRequest(request);
+    }
+
     @Override
     protected Class<?> controllerClass() {
         return TestController.class;
@@ -170,6 +226,13 @@ public class SpecificationArgumentResolverTest extends ResolverTestBase {
                 @Spec(path = "path1", spec = Like.class) Specification<Object> spec) {
         }
         
+        public void testMethod_jsonPaths(
+                @And({
+                    @Spec(path = "firstName", jsonPaths = "customer.firstName", spec = Like.class),
+                    @Spec(path = "lastName", jsonPaths = "customer.lastName", spec = Like.class)
+                }) Specification<Object> spec) {
+        }
+
         public void testMethod_regularAndFetchJoins(
         		@Join(path = "join1", alias = "alias1", type = JoinType.INNER, distinct = true)
             	@Join(path = "join2", alias = "alias2", type = JoinType.LEFT, distinct = false)
@@ -0,0 +1,184 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import net.kaczmarzyk.spring.data.jpa.domain.Like;
+import net.kaczmarzyk.spring.data.jpa.web.annotation.Spec;
+import org.junit.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static net.kaczmarzyk.spring.data.jpa.utils.ThrowableAssertions.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SpecificationCacheTest extends ResolverTestBase {
+
+	SpecificationCache cache = new SpecificationCache(2, Duration.ofMinutes(1));
+
+	SpecificationArgumentResolver resolver = new SpecificationArgumentResolver(null, null, Locale.getDefault(), ResolverOptions.DEFAULT.withSpecificationCache(cache));
+
+	@Test
+	public void returnsCachedSpecificationForTheSameParamValues() throws Exception {
+		MethodParameter param = MethodParameter.forExecutable(testMethod("testMethod"), 0);
+
+		Object firstResolved = resolver.resolveArgument(param, null, requestWithPath1("value1"), null);
+		Object secondResolved = resolver.resolveArgument(param, null, requestWithPath1("value1"), null);
+
+		assertThat(secondResolved).isSameAs(firstResolved);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void buildsNewSpecificationForDifferentParamValues() throws Exception {
+		MethodParameter param = MethodParameter.forExecutable(testMethod("testMethod"), 0);
+
+		Object firstResolved = resolver.resolveArgument(param, null, requestWithPath1("value1"), null);
+		Object secondResolved = resolver.resolveArgument(param, null, requestWithPath1("value2"), null);
+
+		assertThat(firstResolved).isEqualTo(new Like<>(new DefaultQueryContext(), "path1", "value1"));
+		assertThat(secondResolved).isEqualTo(new Like<>(new DefaultQueryContext(), "path1", "value2"));
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		assertThat(cache.getHitCount()).isZero();
+	}
+
+	@Test
+	public void cachesSpecificationsSeparatelyForEachHandlerParameter() throws Exception {
+		MethodParameter param = MethodParameter.forExecutable(testMethod("testMethod"), 0);
+		MethodParameter otherParam = MethodParameter.forExecutable(testMethod("otherTestMethod"), 0);
+
+		Object firstResolved = resolver.resolveArgument(param, null, requestWithPath1("value1"), null);
+		Object secondResolved = resolver.resolveArgument(otherParam, null, requestWithPath1("value1"), null);
+
+		assertThat(secondResolved).isNotSameAs(firstResolved);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedEntryWhenFull() {
+		ProcessingContext context = contextWithDefinitionKey("key");
+
+		Specification<?> first = cache.getOrResolve(withParam(context, "a"), readingParam());
+		cache.getOrResolve(withParam(context, "b"), readingParam());
+		cache.getOrResolve(withParam(context, "a"), readingParam());
+		cache.getOrResolve(withParam(context, "c"), readingParam());
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.getOrResolve(withParam(context, "a"), readingParam())).isSameAs(first);
+		cache.getOrResolve(withParam(context, "b"), readingParam());
+		assertThat(cache.getHitCount()).isEqualTo(2);
+		assertThat(cache.getMissCount()).isEqualTo(4);
+	}
+
+	@Test
+	public void expiresEntriesAfterTimeToLive() {
+		AtomicLong clock = new AtomicLong();
+		SpecificationCache cache = new SpecificationCache(10, Duration.ofNanos(100), clock::get);
+		ProcessingContext context = withParam(contextWithDefinitionKey("key"), "a");
+
+		Specification<?> first = cache.getOrResolve(context, readingParam());
+		clock.set(99);
+		Specification<?> second = cache.getOrResolve(context, readingParam());
+		clock.set(100);
+		Specification<?> third = cache.getOrResolve(context, readingParam());
+
+		assertThat(second).isSameAs(first);
+		assertThat(third).isNotSameAs(first);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void bypassesSpecificationsMarkedAsNonDeterministic() {
+		ProcessingContext context = withParam(contextWithDefinitionKey("key"), "a");
+		Function<ProcessingContext, Specification<?>> nonDeterministicResolver = ctx -> {
+			ctx.markNonDeterministic();
+			return readingParam().apply(ctx);
+		};
+
+		Specification<?> first = cache.getOrResolve(context, nonDeterministicResolver);
+		Specification<?> second = cache.getOrResolve(context, nonDeterministicResolver);
+
+		assertThat(second).isNotSameAs(first);
+		assertThat(cache.size()).isZero();
+		assertThat(cache.getBypassCount()).isEqualTo(2);
+		assertThat(cache.getHitCount()).isZero();
+		assertThat(cache.getMissCount()).isZero();
+	}
+
+	@Test
+	public void bypassesContextsWithoutDefinitionKey() {
+		ProcessingContext context = withParam(contextWithDefinitionKey(null), "a");
+
+		Specification<?> first = cache.getOrResolve(context, readingParam());
+		Specification<?> second = cache.getOrResolve(context, readingParam());
+
+		assertThat(second).isNotSameAs(first);
+		assertThat(cache.getBypassCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void rejectsNonPositiveMaxSizeAndTimeToLive() {
+		assertThrows(IllegalArgumentException.class, () -> new SpecificationCache(0, Duration.ofMinutes(1)));
+		assertThrows(IllegalArgumentException.class, () -> new SpecificationCache(10, Duration.ZERO));
+	}
+
+	private static NativeWebRequest requestWithPath1(String value) {
+		NativeWebRequest req = mock(NativeWebRequest.class);
+		when(req.getParameterValues("path1")).thenReturn(new String[] { value });
+		return req;
+	}
+
+	private static ProcessingContext contextWithDefinitionKey(Object definitionKey) {
+		ProcessingContext context = mock(ProcessingContext.class);
+		when(context.getDefinitionKey()).thenReturn(definitionKey);
+		return context;
+	}
+
+	private static ProcessingContext withParam(ProcessingContext context, String value) {
+		when(context.getParameterValues("param")).thenReturn(new String[] { value });
+		return context;
+	}
+
+	private static Function<ProcessingContext, Specification<?>> readingParam() {
+		return ctx -> {
+			String value = ctx.getParameterValues("param")[0];
+			return new Like<>(null, "path", value);
+		};
+	}
+
+	@Override
+	protected Class<?> controllerClass() {
+		return TestController.class;
+	}
+
+	public static class TestController {
+
+		public void testMethod(@Spec(path = "path1", spec = Like.class) Specification<Object> spec) {
+		}
+
+		public void otherTestMethod(@Spec(path = "path1", spec = Like.class) Specification<Object> spec) {
+		}
+	}
+}
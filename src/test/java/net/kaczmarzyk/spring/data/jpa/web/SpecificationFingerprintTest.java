@@ -0,0 +1,163 @@
+/**
+ * Copyright 2014-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.kaczmarzyk.spring.data.jpa.web;
+
+import net.kaczmarzyk.spring.data.jpa.domain.Conjunction;
+import net.kaczmarzyk.spring.data.jpa.domain.EmptyResultOnTypeMismatch;
+import net.kaczmarzyk.spring.data.jpa.domain.Equal;
+import net.kaczmarzyk.spring.data.jpa.domain.In;
+import net.kaczmarzyk.spring.data.jpa.domain.Join;
+import net.kaczmarzyk.spring.data.jpa.utils.Converter;
+import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.Test;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static jakarta.persistence.criteria.JoinType.LEFT;
+import static net.kaczmarzyk.spring.data.jpa.utils.ThrowableAssertions.assertThrows;
+import static net.kaczmarzyk.spring.data.jpa.web.annotation.OnTypeMismatch.EMPTY_RESULT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpecificationFingerprintTest {
+
+	Converter converter = Converter.withTypeMismatchBehaviour(EMPTY_RESULT, null, Locale.getDefault());
+
+	@Test
+	public void fingerprintDoesNotDependOnQueryContext() {
+		Specification<Object> spec = customersWhoOrdered(new DefaultQueryContext(), "Duff Beer");
+		Specification<Object> specWithAnotherContext = customersWhoOrdered(new DefaultQueryContext(), "Duff Beer");
+
+		SpecificationFingerprint fingerprint = SpecificationFingerprint.of(spec);
+
+		assertThat(fingerprint).isEqualTo(SpecificationFingerprint.of(specWithAnotherContext));
+		assertThat(fingerprint.hashCode()).isEqualTo(SpecificationFingerprint.of(specWithAnotherContext).hashCode());
+		assertThat(fingerprint.asString()).doesNotContain("queryContext");
+	}
+
+	@Test
+	public void fingerprintContainsTypesPathsAndValuesOfSpecs() {
+		SpecificationFingerprint fingerprint = SpecificationFingerprint.of(customersWhoOrdered(new DefaultQueryContext(), "Duff Beer"));
+
+		assertThat(fingerprint.asString())
+				.startsWith(Conjunction.class.getName() + "(innerSpecs=[" + Join.class.getName() + "(")
+				.contains("path='o.itemName'")
+				.contains("expectedValue='Duff Beer'")
+				.contains("allowedValues=['Homer','Marge']");
+	}
+
+	@Test
+	public void differentValuesResultInDifferentFingerprints() {
+		DefaultQueryContext queryContext = new DefaultQueryContext();
+
+		assertThat(SpecificationFingerprint.of(customersWhoOrdered(queryContext, "Duff Beer")))
+				.isNotEqualTo(SpecificationFingerprint.of(customersWhoOrdered(queryContext, "Donuts")));
+		assertThat(SpecificationFingerprint.of(new Equal<>(queryContext, "firstName", new String[] { "a','b" }, converter)))
+				.isNotEqualTo(SpecificationFingerprint.of(new In<>(queryContext, "firstName", new String[] { "a", "b" }, converter)));
+	}
+
+	@Test
+	public void fingerprintOfInterfaceImplementationContainsTheInterface() {
+		Specification<Object> spec = customersWhoOrdered(new DefaultQueryContext(), "Duff Beer");
+
+		SpecificationFingerprint fingerprint = SpecificationFingerprint.of(
+				EnhancerUtil.wrapWithIfaceImplementation(EnhancerUtilTest.CustomSpecInterface.class, spec));
+
+		assertThat(fingerprint.asString())
+				.isEqualTo(EnhancerUtilTest.CustomSpecInterface.class.getName() + "[" + SpecificationFingerprint.of(spec).asString() + "]");
+		assertThat(fingerprint)
+				.isNotEqualTo(SpecificationFingerprint.of(EnhancerUtil.wrapWithIfaceImplementation(EnhancerUtilTest.CustomSpecInterface2.class, spec)));
+	}
+
+	@Test
+	public void digestIsHexEncodedSha256OfCanonicalForm() {
+		SpecificationFingerprint fingerprint = SpecificationFingerprint.of(customersWhoOrdered(new DefaultQueryContext(), "Duff Beer"));
+
+		assertThat(fingerprint.digest())
+				.hasSize(64)
+				.isEqualTo(SpecificationFingerprint.of(customersWhoOrdered(new DefaultQueryContext(), "Duff Beer")).digest());
+	}
+
+	@Test
+	public void rejectsLambdaSpecifications() {
+		Specification<Object> lambda = (root, query, cb) -> null;
+
+		assertThrows(IllegalArgumentException.class, () -> SpecificationFingerprint.of(new Conjunction<>(lambda)));
+	}
+
+	@Test
+	public void keyGeneratorUsesFingerprintsOfSpecifications() throws Exception {
+		SpecificationKeyGenerator keyGenerator = new SpecificationKeyGenerator();
+		Specification<Object> spec = customersWhoOrdered(new DefaultQueryContext(), "Duff Beer");
+
+		Object key = keyGenerator.generate(this, Object.class.getMethod("toString"), spec, "page-1");
+
+		assertThat(key).isEqualTo(new SimpleKey(SpecificationFingerprint.of(spec), "page-1"));
+		assertThat(keyGenerator.generate(this, Object.class.getMethod("toString"), spec))
+				.isEqualTo(SpecificationFingerprint.of(spec));
+	}
+
+	@Test
+	public void fingerprintIsComputedOnceForTheSameSpecification() {
+		Specification<Object> spec = customersWhoOrdered(new DefaultQueryContext(), "Duff Beer");
+
+		assertThat(SpecificationFingerprint.of(spec)).isSameAs(SpecificationFingerprint.of(spec));
+	}
+
+	@Test
+	public void datesAreRepresentedInUtcRegardlessOfDefaultTimeZone() {
+		TimeZone defaultTimeZone = TimeZone.getDefault();
+		try {
+			TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+			SpecificationFingerprint fingerprint = SpecificationFingerprint.of(new CreatedAfter(new Date(0)));
+
+			TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+
+			assertThat(fingerprint.asString()).contains("date='1970-01-01T00:00:00Z'");
+			assertThat(fingerprint).isEqualTo(SpecificationFingerprint.of(new CreatedAfter(new Date(0))));
+		} finally {
+			TimeZone.setDefault(defaultTimeZone);
+		}
+	}
+
+	private Specification<Object> customersWhoOrdered(QueryContext queryContext, String itemName) {
+		return new Conjunction<>(
+				new Join<>(queryContext, "orders", "o", LEFT, true),
+				new EmptyResultOnTypeMismatch<>(new Equal<>(queryContext, "o.itemName", new String[] { itemName }, converter)),
+				new In<>(queryContext, "firstName", new String[] { "Homer", "Marge" }, converter));
+	}
+
+	static class CreatedAfter implements Specification<Object> {
+
+		private final Date date;
+
+		CreatedAfter(Date date) {
+			this.date = date;
+		}
+
+		@Override
+		public Predicate toPredicate(Root<Object> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+			return cb.greaterThan(root.get("created"), date);
+		}
+	}
+}
@@ -41,6 +41,17 @@ public class WebRequestProcessingContextFallbackPathVariableResolverTest extends
 		assertThat(getPathVariableFromContext(context, "customerId")).isEqualTo("888");
 	}
 
+	@Test
+	public void resolvesPathVariableFromPatternNotSupportedByPathPatternParser() {
+		MockWebRequest req = new MockWebRequest("/customers/888/archive/2020/orders/99");
+
+		WebRequestProcessingContext context = new WebRequestProcessingContext(
+				testMethodParameter("testMethodUsingPathVariableAfterDoubleWildcard_requestMapping_path", testController), req);
+
+		assertThat(getPathVariableFromContext(context, "customerId")).isEqualTo("888");
+		assertThat(getPathVariableFromContext(context, "orderId")).isEqualTo("99");
+	}
+
 	@Test
 	public void resolvesPathVariableFromClassLevelRequestMapingAndMethodLevelRequestMappingUsingMethod_empty() {
 		MockWebRequest req = new MockWebRequest("/customers/888");
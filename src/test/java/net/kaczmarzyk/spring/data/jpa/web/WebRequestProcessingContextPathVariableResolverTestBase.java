@@ -72,6 +72,10 @@ public abstract class WebRequestProcessingContextPathVariableResolverTestBase {
 		public void testMethodUsingPathVariable_requestMapping_path(Specification<Object> spec) {
 		}
 
+		@RequestMapping(path = "/**/orders/{orderId}")
+		public void testMethodUsingPathVariableAfterDoubleWildcard_requestMapping_path(Specification<Object> spec) {
+		}
+
 		@RequestMapping(path = "/orders/{orderId:[0-9]+}")
 		public void testMethodUsingPathVariableWithRegexp_requestMapping_path(Specification<Object> spec) {
 		}
@@ -116,6 +120,10 @@ public abstract class WebRequestProcessingContextPathVariableResolverTestBase {
 		public void testMethodUsingPathVariable_requestMapping_path(Specification<Object> spec) {
 		}
 
+		@RequestMapping(path = "/**/orders/{orderId}")
+		public void testMethodUsingPathVariableAfterDoubleWildcard_requestMapping_path(Specification<Object> spec) {
+		}
+
 		@RequestMapping(path = "/orders/{orderId:[0-9]+}")
 		public void testMethodUsingPathVariableWithRegexp_requestMapping_path(Specification<Object> spec) {
 		}
@@ -160,6 +168,10 @@ public abstract class WebRequestProcessingContextPathVariableResolverTestBase {
 		public void testMethodUsingPathVariable_requestMapping_path(Specification<Object> spec) {
 		}
 
+		@RequestMapping(path = "/**/orders/{orderId}")
+		public void testMethodUsingPathVariableAfterDoubleWildcard_requestMapping_path(Specification<Object> spec) {
+		}
+
 		@RequestMapping(path = "/orders/{orderId:[0-9]+}")
 		public void testMethodUsingPathVariableWithRegexp_requestMapping_path(Specification<Object> spec) {
 		}
@@ -204,6 +216,10 @@ public abstract class WebRequestProcessingContextPathVariableResolverTestBase {
 		public void testMethodUsingPathVariable_requestMapping_path(Specification<Object> spec) {
 		}
 
+		@RequestMapping(path = "/**/orders/{orderId}")
+		public void testMethodUsingPathVariableAfterDoubleWildcard_requestMapping_path(Specification<Object> spec) {
+		}
+
 		@RequestMapping(path = "/orders/{orderId:[0-9]+}")
 		public void testMethodUsingPathVariableWithRegexp_requestMapping_path(Specification<Object> spec) {
 		}
@@ -24,6 +24,8 @@ import org.springframework.core.MethodParameter;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.context.request.NativeWebRequest;
 
@@ -245,6 +247,39 @@ public class WebRequestProcessingContextTest {
 		assertThat(getPathVariableFromContext(context, "orderId")).isEqualTo("99");
 	}
 
+	@Test
+	public void resolvesPathVariableValueUsingFallbackMethod_postMapping() {
+		MockWebRequest req = new MockWebRequest("/customers/888/orders/99");
+
+		WebRequestProcessingContext context = new WebRequestProcessingContext(
+				testMethodParameter("testMethodUsingPathVariable_postMapping", TestController.class), req);
+
+		assertThat(getPathVariableFromContext(context, "customerId")).isEqualTo("888");
+		assertThat(getPathVariableFromContext(context, "orderId")).isEqualTo("99");
+	}
+
+	@Test
+	public void resolvesPathVariableValueUsingFallbackMethod_putMapping() {
+		MockWebRequest req = new MockWebRequest("/customers/888/orders/99");
+
+		WebRequestProcessingContext context = new WebRequestProcessingContext(
+				testMethodParameter("testMethodUsingPathVariable_putMapping", TestController.class), req);
+
+		assertThat(getPathVariableFromContext(context, "customerId")).isEqualTo("888");
+		assertThat(getPathVariableFromContext(context, "orderId")).isEqualTo("99");
+	}
+
+	@Test
+	public void resolvesPathVariableValueUsingFallbackMethodWithTheFirstMatchingPath() {
+		WebRequestProcessingContext ordersContext = new WebRequestProcessingContext(
+				testMethodParameter("testMethodUsingPathVariable_multiplePaths", TestController.class), new MockWebRequest("/customers/888/orders/99"));
+		WebRequestProcessingContext clientsContext = new WebRequestProcessingContext(
+				testMethodParameter("testMethodUsingPathVariable_multiplePaths", TestController.class), new MockWebRequest("/clients/777"));
+
+		assertThat(getPathVariableFromContext(ordersContext, "orderId")).isEqualTo("99");
+		assertThat(getPathVariableFromContext(clientsContext, "customerId")).isEqualTo("777");
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void shouldThrowIllegalArgumentExceptionWhenContentTypeIsDifferentThanJson() {
 		NativeWebRequest req = mock(NativeWebRequest.class);
@@ -315,6 +350,18 @@ public class WebRequestProcessingContextTest {
 		@GetMapping(value = "/customers/{customerId:[0-9]+}/orders/{orderId:.*}")
 		public void testMethodUsingPathVariableWithRegexp_getMapping_value(Specification<Object> spec) {
 		}
+
+		@PostMapping("/customers/{customerId}/orders/{orderId}")
+		public void testMethodUsingPathVariable_postMapping(Specification<Object> spec) {
+		}
+
+		@PutMapping(path = "/customers/{customerId}/orders/{orderId}")
+		public void testMethodUsingPathVariable_putMapping(Specification<Object> spec) {
+		}
+
+		@RequestMapping(path = { "/clients/{customerId}", "/customers/{customerId}/orders/{orderId}" })
+		public void testMethodUsingPathVariable_multiplePaths(Specification<Object> spec) {
+		}
 	}
 	
 	private MethodParameter testMethodParameter(String methodName, Class<?> controllerClass) {